@@ -0,0 +1,58 @@
+#!/bin/bash
+
+# Compares request throughput with the access/audit log pipeline on and off.
+#
+# Requires a packaged jar (mvn package -DskipTests), the dev PostgreSQL and
+# Keycloak containers (docker-compose -f docker-compose.dev.yml up -d) and
+# the "hey" load generator (https://github.com/rakyll/hey) on the PATH.
+#
+# Usage: scripts/logging-benchmark.sh [requests] [concurrency]
+
+set -e
+
+REQUESTS=${1:-20000}
+CONCURRENCY=${2:-50}
+PORT=8080
+URL="http://localhost:$PORT/api/products?page=0&size=20"
+JAR=$(ls target/shop-application-*.jar | grep -v original | head -n 1)
+
+if ! command -v hey > /dev/null 2>&1; then
+    echo "hey is required: go install github.com/rakyll/hey@latest"
+    exit 1
+fi
+
+run() {
+    local label=$1
+    shift
+
+    java -jar "$JAR" --server.port=$PORT "$@" > /dev/null 2>&1 &
+    local pid=$!
+    trap "kill $pid 2> /dev/null" EXIT
+
+    until curl -f -s "http://localhost:$PORT/actuator/health" > /dev/null 2>&1; do
+        sleep 1
+    done
+
+    # Warm up the JIT and caches before measuring
+    hey -n 2000 -c "$CONCURRENCY" "$URL" > /dev/null
+    echo "== $label"
+    hey -n "$REQUESTS" -c "$CONCURRENCY" "$URL" | grep -E "Requests/sec|Average|99%"
+
+    kill $pid
+    wait $pid 2> /dev/null || true
+}
+
+# Every request logged, with the application at INFO as in the docker profile
+run "logging on (all requests sampled)" \
+    --logging.level.com.shop=INFO --logging.level.org.hibernate.SQL=WARN \
+    --logging.level.org.springframework.security=WARN \
+    --logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN \
+    --app.logging.access.sample-rate=1 --app.logging.access.endpoint-sample-rates.[GET\ /api/products]=1
+
+run "logging on (default sampling)" \
+    --logging.level.com.shop=INFO --logging.level.org.hibernate.SQL=WARN \
+    --logging.level.org.springframework.security=WARN \
+    --logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN
+
+run "logging off" \
+    --logging.level.root=OFF --app.logging.access.enabled=false
@@ -0,0 +1,74 @@
+#!/bin/bash
+
+# Compares time-to-ready and memory footprint of the regular jar with the
+# fast-start build (Spring AOT + AppCDS archive + fast-start profile), and
+# optionally with a native executable built beforehand with
+# mvn -Pnative clean native:compile -DskipTests (copy target/shop-application
+# aside first, the next build cleans it away).
+#
+# Requires the dev PostgreSQL and Keycloak containers
+# (docker-compose -f docker-compose.dev.yml up -d) with migrations applied,
+# since the fast-start profile does not run Flyway.
+#
+# Usage: scripts/startup-benchmark.sh [runs] [native executable]
+
+set -e
+
+RUNS=${1:-5}
+NATIVE=${2:-}
+PORT=8080
+OUT=target/fast-start
+JAR=target/shop-application-1.0.0.jar
+CLASSPATH="$OUT/application.jar:$OUT/BOOT-INF/lib/*"
+
+now_ms() {
+    date +%s%3N
+}
+
+echo "== Building AOT-processed jar"
+mvn -B -q -Pfast-start package -DskipTests
+
+# CDS only archives classes loaded from plain jars on the class path, so the
+# fat jar is unpacked and the application classes are repackaged as a jar
+rm -rf "$OUT"
+mkdir -p "$OUT"
+unzip -q "$JAR" -d "$OUT"
+jar cf "$OUT/application.jar" -C "$OUT/BOOT-INF/classes" .
+
+echo "== Training CDS archive"
+# Exits right after the context refresh; the fast-start profile needs no database for that
+java -XX:ArchiveClassesAtExit="$OUT/app.jsa" -Xlog:cds=off \
+    -Dspring.aot.enabled=true -Dspring.context.exit=onRefresh \
+    -cp "$CLASSPATH" com.shop.ShopApplication --spring.profiles.active=fast-start > /dev/null
+
+run() {
+    local label=$1
+    shift
+
+    local total=0
+    local rss=0
+    for i in $(seq "$RUNS"); do
+        local start=$(now_ms)
+        "$@" --server.port=$PORT --logging.level.com.shop=INFO > /dev/null 2>&1 &
+        local pid=$!
+        trap "kill $pid 2> /dev/null" EXIT
+
+        until curl -f -s "http://localhost:$PORT/actuator/health" > /dev/null 2>&1; do
+            sleep 0.05
+        done
+        total=$((total + $(now_ms) - start))
+        rss=$((rss + $(ps -o rss= -p $pid)))
+
+        kill $pid
+        wait $pid 2> /dev/null || true
+    done
+    echo "$label: time-to-ready $((total / RUNS)) ms, RSS $((rss / RUNS / 1024)) MB (mean of $RUNS runs)"
+}
+
+run "regular jar" java -jar "$JAR"
+run "fast-start " java -XX:SharedArchiveFile="$OUT/app.jsa" -Xlog:cds=off -Dspring.aot.enabled=true \
+    -cp "$CLASSPATH" com.shop.ShopApplication --spring.profiles.active=fast-start
+
+if [ -n "$NATIVE" ]; then
+    run "native     " "$NATIVE"
+fi
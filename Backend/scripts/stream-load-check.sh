@@ -0,0 +1,32 @@
+#!/bin/bash
+
+# Opens slow catalog streams against a running instance and reports what a
+# normal client gets meanwhile. Each slow reader holds one streamingExecutor
+# thread until it has read everything, so with more slow readers than
+# app.catalog-stream.pool-size plus queue-capacity the normal client gets 503,
+# and with more than pool-size it waits in the queue.
+#
+# Requires the application on localhost (scripts/start-dev.sh) with a catalog
+# large enough that the stream does not fit into the socket buffers.
+#
+# Usage: scripts/stream-load-check.sh [slow readers] [bytes per second]
+
+set -e
+
+SLOW_READERS=${1:-32}
+RATE=${2:-1k}
+PORT=8080
+URL="http://localhost:$PORT/api/products/stream"
+
+pids=()
+trap 'kill "${pids[@]}" 2> /dev/null' EXIT
+
+echo "== Opening $SLOW_READERS streams read at $RATE/s"
+for i in $(seq "$SLOW_READERS"); do
+    curl -s --limit-rate "$RATE" -o /dev/null "$URL" &
+    pids+=($!)
+done
+sleep 2
+
+echo "== Normal client"
+curl -s -o /dev/null -w "status %{http_code}, first byte after %{time_starttransfer} s, done after %{time_total} s\n" "$URL"
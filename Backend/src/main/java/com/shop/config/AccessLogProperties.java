@@ -0,0 +1,57 @@
+package com.shop.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Request log sampling, bound from {@code app.logging.access}. Sample rates
+ * are fractions between 0 and 1; per-endpoint rates are keyed by method and
+ * handler pattern, e.g. {@code "[GET /api/products/{id}]": 0.01}.
+ */
+@ConfigurationProperties(prefix = "app.logging.access")
+public class AccessLogProperties {
+    
+    private boolean enabled = true;
+    
+    private double sampleRate = 0.05;
+    
+    private Map<String, Double> endpointSampleRates = new LinkedHashMap<>();
+    
+    // Requests at least this slow, and server errors, are always logged
+    private Duration slowThreshold = Duration.ofSeconds(1);
+    
+    public boolean isEnabled() {
+        return enabled;
+    }
+    
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+    
+    public double getSampleRate() {
+        return sampleRate;
+    }
+    
+    public void setSampleRate(double sampleRate) {
+        this.sampleRate = sampleRate;
+    }
+    
+    public Map<String, Double> getEndpointSampleRates() {
+        return endpointSampleRates;
+    }
+    
+    public void setEndpointSampleRates(Map<String, Double> endpointSampleRates) {
+        this.endpointSampleRates = endpointSampleRates;
+    }
+    
+    public Duration getSlowThreshold() {
+        return slowThreshold;
+    }
+    
+    public void setSlowThreshold(Duration slowThreshold) {
+        this.slowThreshold = slowThreshold;
+    }
+}
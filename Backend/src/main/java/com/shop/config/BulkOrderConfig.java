@@ -0,0 +1,28 @@
+package com.shop.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class BulkOrderConfig {
+    
+    /**
+     * Runs bulk order chunks. The pool size caps how many chunk transactions,
+     * and therefore database connections, a bulk job holds at once; chunks that
+     * do not fit in the queue are recorded as failed and picked up on resume.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor bulkOrderExecutor(@Value("${app.bulk-orders.parallelism:4}") int parallelism,
+                                                    @Value("${app.bulk-orders.queue-capacity:1000}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(parallelism);
+        executor.setMaxPoolSize(parallelism);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("bulk-order-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        return executor;
+    }
+}
@@ -0,0 +1,49 @@
+package com.shop.config;
+
+import org.ehcache.config.builders.CacheConfigurationBuilder;
+import org.ehcache.config.builders.ConfigurationBuilder;
+import org.ehcache.config.builders.ExpiryPolicyBuilder;
+import org.ehcache.config.builders.ResourcePoolsBuilder;
+import org.ehcache.jsr107.EhcacheCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.util.UUID;
+
+@Configuration
+@EnableConfigurationProperties(SecondLevelCacheProperties.class)
+public class CacheConfig {
+    
+    /**
+     * Builds the JCache manager backing Hibernate's second-level cache from
+     * {@code app.cache.regions}. Hibernate owns its lifecycle and closes it
+     * together with the session factory.
+     */
+    @Bean
+    public CacheManager hibernateCacheManager(SecondLevelCacheProperties properties) {
+        ConfigurationBuilder configuration = ConfigurationBuilder.newConfigurationBuilder();
+        for (var entry : properties.getRegions().entrySet()) {
+            SecondLevelCacheProperties.Region region = entry.getValue();
+            configuration = configuration.withCache(entry.getKey(), CacheConfigurationBuilder
+                    .newCacheConfigurationBuilder(Object.class, Object.class, ResourcePoolsBuilder.heap(region.getMaxEntries()))
+                    .withExpiry(region.getTimeToLive() != null
+                            ? ExpiryPolicyBuilder.timeToLiveExpiration(region.getTimeToLive())
+                            : ExpiryPolicyBuilder.noExpiration()));
+        }
+        
+        EhcacheCachingProvider provider = (EhcacheCachingProvider) Caching.getCachingProvider(EhcacheCachingProvider.class.getName());
+        // One manager per application context, so test contexts never share cached entities
+        return provider.getCacheManager(URI.create("urn:shop:hibernate-l2:" + UUID.randomUUID()), configuration.build());
+    }
+    
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager hibernateCacheManager) {
+        return hibernateProperties -> hibernateProperties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+    }
+}
@@ -0,0 +1,118 @@
+package com.shop.config;
+
+import com.shop.support.PoolRoutingDataSource;
+import com.shop.support.ReportingWorkload;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Role;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+
+/**
+ * Two Hikari pools against the same database: {@code oltp} for customer
+ * requests and {@code reporting} for exports and other long-running reads,
+ * so that reports queue for their own connections instead of taking the
+ * ones checkout needs. The primary {@link DataSource} routes between them.
+ */
+@Configuration
+@EnableConfigurationProperties(DataSourcePoolProperties.class)
+public class DataSourceConfig {
+    
+    private static final Logger logger = LoggerFactory.getLogger(DataSourceConfig.class);
+    
+    public static final String OLTP_POOL = "oltp";
+    public static final String REPORTING_POOL = "reporting";
+    
+    @Bean
+    public DataSource oltpDataSource(DataSourceProperties dataSourceProperties,
+                                     DataSourcePoolProperties poolProperties,
+                                     Environment environment,
+                                     ObjectProvider<MeterRegistry> meterRegistry) {
+        return createPool(OLTP_POOL, poolProperties.getOltp(), dataSourceProperties, poolProperties, environment, meterRegistry);
+    }
+    
+    @Bean
+    public DataSource reportingDataSource(DataSourceProperties dataSourceProperties,
+                                          DataSourcePoolProperties poolProperties,
+                                          Environment environment,
+                                          ObjectProvider<MeterRegistry> meterRegistry) {
+        return createPool(REPORTING_POOL, poolProperties.getReporting(), dataSourceProperties, poolProperties, environment, meterRegistry);
+    }
+    
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("oltpDataSource") DataSource oltpDataSource,
+                                 @Qualifier("reportingDataSource") DataSource reportingDataSource) {
+        return new PoolRoutingDataSource(oltpDataSource, reportingDataSource);
+    }
+    
+    /**
+     * Switches {@link ReportingWorkload} methods to the reporting pool. Ordered
+     * first so the pool is chosen before the transaction interceptor acquires
+     * a connection.
+     */
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    public static Advisor reportingWorkloadAdvisor() {
+        MethodInterceptor interceptor = invocation -> {
+            PoolRoutingDataSource.Pool previous = PoolRoutingDataSource.use(PoolRoutingDataSource.Pool.REPORTING);
+            try {
+                return invocation.proceed();
+            } finally {
+                PoolRoutingDataSource.restore(previous);
+            }
+        };
+        DefaultPointcutAdvisor advisor = new DefaultPointcutAdvisor(
+                AnnotationMatchingPointcut.forMethodAnnotation(ReportingWorkload.class), interceptor);
+        advisor.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return advisor;
+    }
+    
+    private HikariDataSource createPool(String name,
+                                        DataSourcePoolProperties.Pool pool,
+                                        DataSourceProperties dataSourceProperties,
+                                        DataSourcePoolProperties poolProperties,
+                                        Environment environment,
+                                        ObjectProvider<MeterRegistry> meterRegistry) {
+        HikariDataSource dataSource = dataSourceProperties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        dataSource.setPoolName(name);
+        Binder.get(environment).bind("app.datasource." + name + ".hikari", Bindable.ofInstance(dataSource));
+        
+        if (dataSource.getMaximumPoolSize() < 1) {
+            dataSource.setMaximumPoolSize(defaultPoolSize(poolProperties.getDatabaseCores(), pool.getExpectedConcurrency()));
+        }
+        meterRegistry.ifAvailable(registry -> dataSource.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry)));
+        
+        logger.info("Connection pool {}: up to {} connections, connection timeout {} ms, leak detection {} ms",
+                name, dataSource.getMaximumPoolSize(), dataSource.getConnectionTimeout(), dataSource.getLeakDetectionThreshold());
+        return dataSource;
+    }
+    
+    // HikariCP's guideline of cores * 2 plus one spindle saturates the database without queueing inside it;
+    // a pool larger than its number of concurrent callers only holds idle connections
+    static int defaultPoolSize(int databaseCores, int expectedConcurrency) {
+        int saturating = databaseCores * 2 + 1;
+        return Math.max(2, expectedConcurrency > 0 ? Math.min(saturating, expectedConcurrency) : saturating);
+    }
+}
@@ -0,0 +1,70 @@
+package com.shop.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Sizing inputs for the OLTP and reporting connection pools, bound from
+ * {@code app.datasource}. Hikari settings of each pool live under
+ * {@code app.datasource.<pool>.hikari}; a pool without an explicit
+ * {@code maximum-pool-size} is sized from {@code database-cores} and the
+ * pool's {@code expected-concurrency}.
+ */
+@ConfigurationProperties(prefix = "app.datasource")
+public class DataSourcePoolProperties {
+    
+    /**
+     * CPU cores of the database server; 0 uses the cores of this host.
+     */
+    private int databaseCores = 0;
+    
+    private Pool oltp = new Pool(200);
+    
+    private Pool reporting = new Pool(4);
+    
+    public int getDatabaseCores() {
+        return databaseCores > 0 ? databaseCores : Runtime.getRuntime().availableProcessors();
+    }
+    
+    public void setDatabaseCores(int databaseCores) {
+        this.databaseCores = databaseCores;
+    }
+    
+    public Pool getOltp() {
+        return oltp;
+    }
+    
+    public void setOltp(Pool oltp) {
+        this.oltp = oltp;
+    }
+    
+    public Pool getReporting() {
+        return reporting;
+    }
+    
+    public void setReporting(Pool reporting) {
+        this.reporting = reporting;
+    }
+    
+    public static class Pool {
+        
+        /**
+         * Most callers expected to need a connection at the same time, e.g.
+         * the request threads served by the pool.
+         */
+        private int expectedConcurrency;
+        
+        public Pool() {}
+        
+        public Pool(int expectedConcurrency) {
+            this.expectedConcurrency = expectedConcurrency;
+        }
+        
+        public int getExpectedConcurrency() {
+            return expectedConcurrency;
+        }
+        
+        public void setExpectedConcurrency(int expectedConcurrency) {
+            this.expectedConcurrency = expectedConcurrency;
+        }
+    }
+}
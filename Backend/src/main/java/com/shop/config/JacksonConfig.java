@@ -0,0 +1,59 @@
+package com.shop.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import com.shop.dto.CategoryDto;
+import com.shop.dto.OrderDto;
+import com.shop.dto.OrderItemDto;
+import com.shop.dto.OrderSummaryDto;
+import com.shop.dto.ProductDto;
+import com.shop.dto.UserDto;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.NativeDetector;
+
+import java.util.List;
+
+@Configuration
+public class JacksonConfig {
+    
+    private static final Logger logger = LoggerFactory.getLogger(JacksonConfig.class);
+    
+    private static final List<Class<?>> RESPONSE_DTOS = List.of(
+            ProductDto.class, CategoryDto.class, OrderDto.class, OrderItemDto.class, OrderSummaryDto.class, UserDto.class);
+    
+    /**
+     * Replaces reflective getter calls in bean serializers with generated
+     * lambdas. Skipped in a native image, which cannot define classes at
+     * runtime.
+     */
+    @Bean
+    public Jackson2ObjectMapperBuilderCustomizer blackbirdCustomizer() {
+        return builder -> {
+            if (!NativeDetector.inNativeImage()) {
+                builder.modulesToInstall(modules -> modules.add(new BlackbirdModule()));
+            }
+        };
+    }
+    
+    /**
+     * Builds and caches the serializers of the response DTOs at startup, so the
+     * first catalog and order requests do not pay for introspection and
+     * accessor generation.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUpSerializers(ApplicationReadyEvent event) {
+        ObjectMapper objectMapper = event.getApplicationContext().getBean(ObjectMapper.class);
+        for (Class<?> dto : RESPONSE_DTOS) {
+            if (!objectMapper.canSerialize(dto)) {
+                logger.warn("No JSON serializer available for {}", dto.getName());
+            }
+        }
+        logger.debug("Prepared JSON serializers for {} response types", RESPONSE_DTOS.size());
+    }
+}
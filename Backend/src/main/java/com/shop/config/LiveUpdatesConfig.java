@@ -0,0 +1,62 @@
+package com.shop.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.shop.support.SseHub;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.time.Duration;
+
+@Configuration
+public class LiveUpdatesConfig {
+    
+    /**
+     * Writes buffered events to live update subscribers. Only subscribers with
+     * pending events occupy a thread, so a handful of threads serve any number
+     * of idle streams. The queue holds at most one task per subscriber.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor liveUpdatesExecutor(@Value("${app.live-updates.delivery-threads:4}") int deliveryThreads) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(deliveryThreads);
+        executor.setMaxPoolSize(deliveryThreads);
+        executor.setThreadNamePrefix("live-updates-");
+        return executor;
+    }
+    
+    /**
+     * Performs the blocking servlet writes for the delivery threads. Healthy
+     * writes return at once; a write to a stalled client keeps its thread
+     * until the container's write timeout, so the pool has room for
+     * {@code max-stalled-sends} of them next to the delivery threads. Beyond
+     * that, writes are rejected and their subscribers evicted.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor liveUpdatesSendExecutor(@Value("${app.live-updates.delivery-threads:4}") int deliveryThreads,
+                                                          @Value("${app.live-updates.max-stalled-sends:64}") int maxStalledSends) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(deliveryThreads);
+        executor.setMaxPoolSize(deliveryThreads + maxStalledSends);
+        executor.setQueueCapacity(0);
+        executor.setThreadNamePrefix("live-updates-send-");
+        return executor;
+    }
+    
+    @Bean
+    public SseHub sseHub(@Qualifier("liveUpdatesExecutor") TaskExecutor liveUpdatesExecutor,
+                         @Qualifier("liveUpdatesSendExecutor") TaskExecutor liveUpdatesSendExecutor,
+                         ObjectMapper objectMapper,
+                         MeterRegistry meterRegistry,
+                         @Value("${app.live-updates.send-timeout:2s}") Duration sendTimeout,
+                         @Value("${app.live-updates.buffer-size:64}") int bufferSize,
+                         @Value("${app.live-updates.max-subscribers:20000}") int maxSubscribers,
+                         @Value("${app.live-updates.stream-timeout:30m}") Duration streamTimeout) {
+        return new SseHub(liveUpdatesExecutor, liveUpdatesSendExecutor, sendTimeout, objectMapper,
+                bufferSize, maxSubscribers, streamTimeout, meterRegistry);
+    }
+}
@@ -0,0 +1,52 @@
+package com.shop.config;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+@Configuration
+public class LoggingConfig {
+    
+    /**
+     * Publishes the fill level of every async log appender, so dropped events
+     * under backpressure can be correlated with a queue running full.
+     */
+    @Bean
+    public MeterBinder asyncAppenderMetrics() {
+        return registry -> {
+            if (!(LoggerFactory.getILoggerFactory() instanceof LoggerContext context)) {
+                return;
+            }
+            Map<AsyncAppender, Boolean> appenders = new IdentityHashMap<>();
+            for (Logger logger : context.getLoggerList()) {
+                Iterator<Appender<ILoggingEvent>> iterator = logger.iteratorForAppenders();
+                while (iterator.hasNext()) {
+                    if (iterator.next() instanceof AsyncAppender async) {
+                        appenders.put(async, Boolean.TRUE);
+                    }
+                }
+            }
+            for (AsyncAppender appender : appenders.keySet()) {
+                Gauge.builder("logging.async.queue.size", appender, AsyncAppender::getNumberOfElementsInQueue)
+                        .tag("appender", appender.getName())
+                        .description("Log events waiting to be written")
+                        .register(registry);
+                Gauge.builder("logging.async.queue.remaining", appender, AsyncAppender::getRemainingCapacity)
+                        .tag("appender", appender.getName())
+                        .description("Free slots before events are discarded")
+                        .register(registry);
+            }
+        };
+    }
+}
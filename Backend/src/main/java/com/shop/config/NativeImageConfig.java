@@ -0,0 +1,62 @@
+package com.shop.config;
+
+import com.shop.repository.OrderItemRepository;
+import net.ttddyy.dsproxy.proxy.ProxyJdbcObject;
+import org.springframework.aop.SpringProxy;
+import org.springframework.aop.framework.Advised;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+import org.springframework.core.DecoratingProxy;
+import org.springframework.core.NativeDetector;
+import org.springframework.data.projection.TargetAware;
+
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+/**
+ * Native image support beyond what Spring AOT derives on its own. Entities,
+ * MapStruct mappers, controllers and Flyway's default migration location are
+ * covered by the framework; the hints here are for proxies created at runtime.
+ */
+@Configuration
+@ImportRuntimeHints(NativeImageConfig.ShopRuntimeHints.class)
+public class NativeImageConfig {
+    
+    /**
+     * Entities are bytecode-enhanced at build time in the native profile, and
+     * Hibernate cannot generate proxy classes inside a native image.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer nativeBytecodeCustomizer() {
+        return properties -> {
+            if (NativeDetector.inNativeImage()) {
+                properties.put("hibernate.bytecode.provider", "none");
+            }
+        };
+    }
+    
+    static class ShopRuntimeHints implements RuntimeHintsRegistrar {
+        
+        @Override
+        public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+            // JDK proxies created by datasource-proxy around every JDBC object
+            for (Class<?> jdbcType : new Class<?>[]{Connection.class, Statement.class, PreparedStatement.class,
+                    CallableStatement.class, ResultSet.class}) {
+                hints.proxies().registerJdkProxy(ProxyJdbcObject.class, jdbcType);
+            }
+            
+            // Interface projections returned inside collections by repository queries
+            hints.proxies().registerJdkProxy(OrderItemRepository.ProductQuantity.class, TargetAware.class,
+                    SpringProxy.class, DecoratingProxy.class);
+            hints.proxies().registerJdkProxy(OrderItemRepository.ProductQuantity.class, TargetAware.class,
+                    SpringProxy.class, Advised.class, DecoratingProxy.class);
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.shop.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Per-client request budgets and the concurrency limit for expensive
+ * endpoints, bound from {@code app.rate-limit}. Endpoints are keyed by method
+ * and handler pattern, e.g. {@code "[GET /api/products/all]"}; unlisted
+ * endpoints cost {@code default-cost} tokens and are not concurrency limited.
+ */
+@ConfigurationProperties(prefix = "app.rate-limit")
+public class RateLimitProperties {
+    
+    private boolean enabled = true;
+    
+    private int capacity = 100;
+    
+    private double refillPerSecond = 20;
+    
+    private int defaultCost = 1;
+    
+    private int maxConcurrentExpensive = 6;
+    
+    private Map<String, Endpoint> endpoints = new LinkedHashMap<>();
+    
+    public boolean isEnabled() {
+        return enabled;
+    }
+    
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+    
+    public int getCapacity() {
+        return capacity;
+    }
+    
+    public void setCapacity(int capacity) {
+        this.capacity = capacity;
+    }
+    
+    public double getRefillPerSecond() {
+        return refillPerSecond;
+    }
+    
+    public void setRefillPerSecond(double refillPerSecond) {
+        this.refillPerSecond = refillPerSecond;
+    }
+    
+    public int getDefaultCost() {
+        return defaultCost;
+    }
+    
+    public void setDefaultCost(int defaultCost) {
+        this.defaultCost = defaultCost;
+    }
+    
+    public int getMaxConcurrentExpensive() {
+        return maxConcurrentExpensive;
+    }
+    
+    public void setMaxConcurrentExpensive(int maxConcurrentExpensive) {
+        this.maxConcurrentExpensive = maxConcurrentExpensive;
+    }
+    
+    public Map<String, Endpoint> getEndpoints() {
+        return endpoints;
+    }
+    
+    public void setEndpoints(Map<String, Endpoint> endpoints) {
+        this.endpoints = endpoints;
+    }
+    
+    public int cost(String endpoint) {
+        Endpoint settings = endpoints.get(endpoint);
+        return settings != null && settings.getCost() != null ? settings.getCost() : defaultCost;
+    }
+    
+    public boolean isExpensive(String endpoint) {
+        Endpoint settings = endpoints.get(endpoint);
+        return settings != null && settings.isExpensive();
+    }
+    
+    public static class Endpoint {
+        
+        private Integer cost;
+        
+        private boolean expensive;
+        
+        public Integer getCost() {
+            return cost;
+        }
+        
+        public void setCost(Integer cost) {
+            this.cost = cost;
+        }
+        
+        public boolean isExpensive() {
+            return expensive;
+        }
+        
+        public void setExpensive(boolean expensive) {
+            this.expensive = expensive;
+        }
+    }
+}
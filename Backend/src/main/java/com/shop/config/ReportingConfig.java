@@ -0,0 +1,30 @@
+package com.shop.config;
+
+import com.shop.support.PoolRoutingDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class ReportingConfig {
+    
+    /**
+     * Runs admin reports off the request threads and on the reporting
+     * connection pool. Reports beyond the pool and queue are rejected with 503
+     * rather than queued behind each other indefinitely; keep the parallelism
+     * at or below the reporting pool size so running reports never wait for a
+     * connection.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor reportingExecutor(@Value("${app.reporting.parallelism:4}") int parallelism,
+                                                    @Value("${app.reporting.queue-capacity:20}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(parallelism);
+        executor.setMaxPoolSize(parallelism);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("reporting-");
+        executor.setTaskDecorator(PoolRoutingDataSource::onReportingPool);
+        return executor;
+    }
+}
@@ -0,0 +1,34 @@
+package com.shop.config;
+
+import com.shop.support.ConflictRetryInterceptor;
+import com.shop.support.RetryOnConflict;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
+import org.springframework.core.Ordered;
+
+@Configuration
+public class RetryConfig {
+    
+    /**
+     * Retries {@link RetryOnConflict} methods. Ordered after the pool routing
+     * of {@code @ReportingWorkload} but before the transaction interceptor, so
+     * each attempt gets a transaction of its own. The meter registry is looked
+     * up on first use, since advisors are created before it.
+     */
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    public static Advisor retryOnConflictAdvisor(ObjectProvider<MeterRegistry> meterRegistry) {
+        ConflictRetryInterceptor interceptor = new ConflictRetryInterceptor(meterRegistry::getObject);
+        DefaultPointcutAdvisor advisor = new DefaultPointcutAdvisor(
+                AnnotationMatchingPointcut.forMethodAnnotation(RetryOnConflict.class), interceptor);
+        advisor.setOrder(Ordered.HIGHEST_PRECEDENCE + 1);
+        return advisor;
+    }
+}
@@ -0,0 +1,49 @@
+package com.shop.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Sizing and expiry of the Hibernate second-level cache regions, bound from
+ * {@code app.cache.regions.<region-name>} so each profile can tune them.
+ */
+@ConfigurationProperties(prefix = "app.cache")
+public class SecondLevelCacheProperties {
+    
+    private Map<String, Region> regions = new LinkedHashMap<>();
+    
+    public Map<String, Region> getRegions() {
+        return regions;
+    }
+    
+    public void setRegions(Map<String, Region> regions) {
+        this.regions = regions;
+    }
+    
+    public static class Region {
+        
+        private long maxEntries = 1000;
+        
+        // Null means entries never expire; required for the update-timestamps region
+        private Duration timeToLive;
+        
+        public long getMaxEntries() {
+            return maxEntries;
+        }
+        
+        public void setMaxEntries(long maxEntries) {
+            this.maxEntries = maxEntries;
+        }
+        
+        public Duration getTimeToLive() {
+            return timeToLive;
+        }
+        
+        public void setTimeToLive(Duration timeToLive) {
+            this.timeToLive = timeToLive;
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.shop.config;
+
+import com.shop.support.SqlStatistics;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.List;
+
+@Configuration
+@EnableConfigurationProperties(SqlMonitoringProperties.class)
+public class SqlMonitoringConfig {
+    
+    private static final Logger logger = LoggerFactory.getLogger(SqlMonitoringConfig.class);
+    
+    private static final int MAX_LOGGED_QUERY_LENGTH = 500;
+    
+    /**
+     * Wraps the application's data sources in a datasource-proxy that feeds
+     * {@link SqlStatistics} and logs statements slower than
+     * {@code app.sql.slow-query-threshold}. Only statement text is logged,
+     * never bound parameter values.
+     */
+    @Bean
+    public static BeanPostProcessor sqlMonitoringDataSourcePostProcessor(
+            @Value("${app.sql.slow-query-threshold:500ms}") Duration slowQueryThreshold) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                // Routing data sources only delegate to pools that are wrapped themselves
+                if (!(bean instanceof DataSource dataSource) || bean instanceof ProxyDataSource
+                        || bean instanceof AbstractRoutingDataSource) {
+                    return bean;
+                }
+                return ProxyDataSourceBuilder.create(dataSource)
+                        .name(beanName)
+                        .listener(new StatisticsListener(slowQueryThreshold.toMillis()))
+                        .build();
+            }
+        };
+    }
+    
+    private static class StatisticsListener implements QueryExecutionListener {
+        
+        private final long slowQueryThresholdMillis;
+        
+        StatisticsListener(long slowQueryThresholdMillis) {
+            this.slowQueryThresholdMillis = slowQueryThresholdMillis;
+        }
+        
+        @Override
+        public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        }
+        
+        @Override
+        public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+            long millis = execInfo.getElapsedTime();
+            String query = queryText(queryInfoList);
+            SqlStatistics.record(query, millis);
+            if (millis >= slowQueryThresholdMillis) {
+                logger.warn("Slow SQL on {} ({} ms): {}", execInfo.getDataSourceName(), millis, query);
+            }
+        }
+        
+        private String queryText(List<QueryInfo> queryInfoList) {
+            if (queryInfoList.isEmpty()) {
+                return "";
+            }
+            String query = queryInfoList.get(0).getQuery();
+            if (queryInfoList.size() > 1) {
+                query = query + " (+" + (queryInfoList.size() - 1) + " more)";
+            }
+            return query.length() > MAX_LOGGED_QUERY_LENGTH ? query.substring(0, MAX_LOGGED_QUERY_LENGTH) + "..." : query;
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.shop.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Slow statement threshold and per-request SQL budgets, bound from
+ * {@code app.sql}. Endpoint budgets are keyed by method and handler pattern,
+ * e.g. {@code "[GET /api/orders]"}; unset limits fall back to the defaults.
+ */
+@ConfigurationProperties(prefix = "app.sql")
+public class SqlMonitoringProperties {
+    
+    private Duration slowQueryThreshold = Duration.ofMillis(500);
+    
+    private final Budget budget = new Budget();
+    
+    public Duration getSlowQueryThreshold() {
+        return slowQueryThreshold;
+    }
+    
+    public void setSlowQueryThreshold(Duration slowQueryThreshold) {
+        this.slowQueryThreshold = slowQueryThreshold;
+    }
+    
+    public Budget getBudget() {
+        return budget;
+    }
+    
+    public static class Budget {
+        
+        private boolean enabled = true;
+        
+        private int defaultMaxQueries = 10;
+        
+        private Duration defaultMaxTime = Duration.ofMillis(500);
+        
+        private Map<String, Limit> endpoints = new LinkedHashMap<>();
+        
+        public boolean isEnabled() {
+            return enabled;
+        }
+        
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+        
+        public int getDefaultMaxQueries() {
+            return defaultMaxQueries;
+        }
+        
+        public void setDefaultMaxQueries(int defaultMaxQueries) {
+            this.defaultMaxQueries = defaultMaxQueries;
+        }
+        
+        public Duration getDefaultMaxTime() {
+            return defaultMaxTime;
+        }
+        
+        public void setDefaultMaxTime(Duration defaultMaxTime) {
+            this.defaultMaxTime = defaultMaxTime;
+        }
+        
+        public Map<String, Limit> getEndpoints() {
+            return endpoints;
+        }
+        
+        public void setEndpoints(Map<String, Limit> endpoints) {
+            this.endpoints = endpoints;
+        }
+        
+        public int maxQueries(String endpoint) {
+            Limit limit = endpoints.get(endpoint);
+            return limit != null && limit.getMaxQueries() != null ? limit.getMaxQueries() : defaultMaxQueries;
+        }
+        
+        public Duration maxTime(String endpoint) {
+            Limit limit = endpoints.get(endpoint);
+            return limit != null && limit.getMaxTime() != null ? limit.getMaxTime() : defaultMaxTime;
+        }
+    }
+    
+    public static class Limit {
+        
+        private Integer maxQueries;
+        
+        private Duration maxTime;
+        
+        public Integer getMaxQueries() {
+            return maxQueries;
+        }
+        
+        public void setMaxQueries(Integer maxQueries) {
+            this.maxQueries = maxQueries;
+        }
+        
+        public Duration getMaxTime() {
+            return maxTime;
+        }
+        
+        public void setMaxTime(Duration maxTime) {
+            this.maxTime = maxTime;
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.shop.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import java.util.List;
+
+@Configuration
+public class StartupConfig {
+    
+    private static final Logger logger = LoggerFactory.getLogger(StartupConfig.class);
+    
+    /**
+     * Defers creation of the beans listed in {@code app.startup.lazy-beans} to
+     * their first use. Meant for admin-only endpoints that a freshly scaled-out
+     * instance rarely serves; a listed bean injected by an eager bean is still
+     * created at startup.
+     */
+    @Bean
+    public static BeanFactoryPostProcessor lazyStartupBeans(Environment environment) {
+        List<String> beanNames = Binder.get(environment)
+                .bind("app.startup.lazy-beans", Bindable.listOf(String.class))
+                .orElse(List.of());
+        return beanFactory -> {
+            for (String beanName : beanNames) {
+                if (beanFactory.containsBeanDefinition(beanName)) {
+                    beanFactory.getBeanDefinition(beanName).setLazyInit(true);
+                } else {
+                    logger.warn("Bean '{}' listed in app.startup.lazy-beans does not exist", beanName);
+                }
+            }
+        };
+    }
+}
@@ -1,9 +1,15 @@
 package com.shop.config;
 
+import com.shop.filter.AdmissionControlInterceptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.web.PageableHandlerMethodArgumentResolver;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 import java.util.List;
@@ -11,6 +17,24 @@ import java.util.List;
 @Configuration
 public class WebConfig implements WebMvcConfigurer {
     
+    @Value("${app.catalog-stream.pool-size:16}")
+    private int streamPoolSize;
+    
+    @Value("${app.catalog-stream.queue-capacity:200}")
+    private int streamQueueCapacity;
+    
+    private final AdmissionControlInterceptor admissionControlInterceptor;
+    
+    @Autowired
+    public WebConfig(AdmissionControlInterceptor admissionControlInterceptor) {
+        this.admissionControlInterceptor = admissionControlInterceptor;
+    }
+    
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(admissionControlInterceptor).addPathPatterns("/api/**");
+    }
+    
     @Override
     public void addArgumentResolvers(List<HandlerMethodArgumentResolver> resolvers) {
         PageableHandlerMethodArgumentResolver pageableResolver = new PageableHandlerMethodArgumentResolver();
@@ -18,4 +42,21 @@ public class WebConfig implements WebMvcConfigurer {
         pageableResolver.setMaxPageSize(100);
         resolvers.add(pageableResolver);
     }
-}
\ No newline at end of file
+    
+    /**
+     * Writes the catalog streams of {@link com.shop.service.CatalogStreamService},
+     * so slow clients release the request thread instead of holding one of
+     * Tomcat's workers. Each stream holds one of these threads until it is fully
+     * read; streams beyond pool and queue capacity are rejected with 503. Streams read on the OLTP pool, one short
+     * transaction per chunk, so they never queue behind admin reports.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor streamingExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(streamPoolSize);
+        executor.setMaxPoolSize(streamPoolSize);
+        executor.setQueueCapacity(streamQueueCapacity);
+        executor.setThreadNamePrefix("catalog-stream-");
+        return executor;
+    }
+}
@@ -0,0 +1,49 @@
+package com.shop.controller;
+
+import com.shop.dto.BulkOrderJobDto;
+import com.shop.dto.BulkOrderRequestDto;
+import com.shop.service.BulkOrderService;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/orders/bulk")
+@CrossOrigin(origins = "${app.cors.allowed-origins}")
+@PreAuthorize("hasRole('ADMIN')")
+public class BulkOrderController {
+    
+    private final BulkOrderService bulkOrderService;
+    
+    @Autowired
+    public BulkOrderController(BulkOrderService bulkOrderService) {
+        this.bulkOrderService = bulkOrderService;
+    }
+    
+    @PostMapping("/cancel")
+    public ResponseEntity<BulkOrderJobDto> cancelOrders(@Valid @RequestBody BulkOrderRequestDto request) {
+        BulkOrderJobDto job = bulkOrderService.startCancellation(request.getOrderIds());
+        return new ResponseEntity<>(job, HttpStatus.ACCEPTED);
+    }
+    
+    @PostMapping("/status")
+    public ResponseEntity<BulkOrderJobDto> updateOrderStatuses(@Valid @RequestBody BulkOrderRequestDto request) {
+        BulkOrderJobDto job = bulkOrderService.startStatusUpdate(request.getOrderIds(), request.getStatus());
+        return new ResponseEntity<>(job, HttpStatus.ACCEPTED);
+    }
+    
+    @GetMapping("/{jobId}")
+    public ResponseEntity<BulkOrderJobDto> getJob(@PathVariable Long jobId) {
+        BulkOrderJobDto job = bulkOrderService.findJob(jobId);
+        return ResponseEntity.ok(job);
+    }
+    
+    @PostMapping("/{jobId}/resume")
+    public ResponseEntity<BulkOrderJobDto> resumeJob(@PathVariable Long jobId) {
+        BulkOrderJobDto job = bulkOrderService.resume(jobId);
+        return new ResponseEntity<>(job, HttpStatus.ACCEPTED);
+    }
+}
@@ -0,0 +1,80 @@
+package com.shop.controller;
+
+import com.shop.dto.CartDto;
+import com.shop.dto.CheckoutRequestDto;
+import com.shop.dto.OrderDto;
+import com.shop.service.CartService;
+import com.shop.service.UserService;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/carts")
+@CrossOrigin(origins = "${app.cors.allowed-origins}")
+public class CartController {
+    
+    private final CartService cartService;
+    private final UserService userService;
+    
+    @Autowired
+    public CartController(CartService cartService, UserService userService) {
+        this.cartService = cartService;
+        this.userService = userService;
+    }
+    
+    @PostMapping
+    public ResponseEntity<CartDto> createCart() {
+        CartDto cart = cartService.createCart();
+        return new ResponseEntity<>(cart, HttpStatus.CREATED);
+    }
+    
+    @GetMapping("/{cartId}")
+    public ResponseEntity<CartDto> getCart(@PathVariable String cartId) {
+        CartDto cart = cartService.findById(cartId);
+        return ResponseEntity.ok(cart);
+    }
+    
+    @PutMapping("/{cartId}/items/{productId}")
+    public ResponseEntity<CartDto> setItemQuantity(@PathVariable String cartId,
+                                                   @PathVariable Long productId,
+                                                   @RequestBody Map<String, Integer> request) {
+        Integer quantity = request.get("quantity");
+        if (quantity == null) {
+            throw new IllegalArgumentException("Quantity is required");
+        }
+        CartDto cart = cartService.setItemQuantity(cartId, productId, quantity);
+        return ResponseEntity.ok(cart);
+    }
+    
+    @DeleteMapping("/{cartId}/items/{productId}")
+    public ResponseEntity<CartDto> removeItem(@PathVariable String cartId, @PathVariable Long productId) {
+        CartDto cart = cartService.removeItem(cartId, productId);
+        return ResponseEntity.ok(cart);
+    }
+    
+    @DeleteMapping("/{cartId}")
+    public ResponseEntity<Void> deleteCart(@PathVariable String cartId) {
+        cartService.deleteCart(cartId);
+        return ResponseEntity.noContent().build();
+    }
+    
+    @PostMapping("/{cartId}/checkout")
+    @PreAuthorize("hasRole('CUSTOMER') or hasRole('ADMIN')")
+    public ResponseEntity<OrderDto> checkout(@PathVariable String cartId,
+                                             @Valid @RequestBody CheckoutRequestDto request,
+                                             Authentication authentication) {
+        Jwt jwt = (Jwt) authentication.getPrincipal();
+        Long userId = userService.findByKeycloakId(jwt.getSubject()).getId();
+        
+        OrderDto order = cartService.checkout(cartId, userId, request);
+        return new ResponseEntity<>(order, HttpStatus.CREATED);
+    }
+}
@@ -1,15 +1,18 @@
 package com.shop.controller;
 
 import com.shop.dto.CategoryDto;
+import com.shop.service.CatalogReadCoalescer;
+import com.shop.service.CatalogStreamService;
 import com.shop.service.CategoryService;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.WebAsyncTask;
 
 import java.util.List;
 
@@ -18,32 +21,37 @@ import java.util.List;
 @CrossOrigin(origins = "${app.cors.allowed-origins}")
 public class CategoryController {
     
-    private static final Logger logger = LoggerFactory.getLogger(CategoryController.class);
-    
     private final CategoryService categoryService;
+    private final CatalogStreamService catalogStreamService;
+    private final CatalogReadCoalescer catalogReadCoalescer;
     
     @Autowired
-    public CategoryController(CategoryService categoryService) {
+    public CategoryController(CategoryService categoryService, CatalogStreamService catalogStreamService,
+                              CatalogReadCoalescer catalogReadCoalescer) {
         this.categoryService = categoryService;
+        this.catalogStreamService = catalogStreamService;
+        this.catalogReadCoalescer = catalogReadCoalescer;
     }
     
     @GetMapping
     public ResponseEntity<List<CategoryDto>> getAllCategories() {
-        logger.info("GET /api/categories - Retrieving all categories");
         List<CategoryDto> categories = categoryService.findAll();
         return ResponseEntity.ok(categories);
     }
     
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public WebAsyncTask<Void> streamCategories(HttpServletResponse response) {
+        return catalogStreamService.streamCategories(response);
+    }
+    
     @GetMapping("/{id}")
     public ResponseEntity<CategoryDto> getCategoryById(@PathVariable Long id) {
-        logger.info("GET /api/categories/{} - Retrieving category", id);
-        CategoryDto category = categoryService.findById(id);
+        CategoryDto category = catalogReadCoalescer.findCategory(id);
         return ResponseEntity.ok(category);
     }
     
     @GetMapping("/search")
     public ResponseEntity<List<CategoryDto>> searchCategories(@RequestParam String keyword) {
-        logger.info("GET /api/categories/search - Searching categories with keyword: {}", keyword);
         List<CategoryDto> categories = categoryService.findByKeyword(keyword);
         return ResponseEntity.ok(categories);
     }
@@ -51,7 +59,6 @@ public class CategoryController {
     @PostMapping
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<CategoryDto> createCategory(@Valid @RequestBody CategoryDto categoryDto) {
-        logger.info("POST /api/categories - Creating new category: {}", categoryDto.getName());
         CategoryDto savedCategory = categoryService.save(categoryDto);
         return new ResponseEntity<>(savedCategory, HttpStatus.CREATED);
     }
@@ -60,7 +67,6 @@ public class CategoryController {
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<CategoryDto> updateCategory(@PathVariable Long id, 
                                                      @Valid @RequestBody CategoryDto categoryDto) {
-        logger.info("PUT /api/categories/{} - Updating category", id);
         CategoryDto updatedCategory = categoryService.update(id, categoryDto);
         return ResponseEntity.ok(updatedCategory);
     }
@@ -68,14 +74,12 @@ public class CategoryController {
     @DeleteMapping("/{id}")
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<Void> deleteCategory(@PathVariable Long id) {
-        logger.info("DELETE /api/categories/{} - Deleting category", id);
         categoryService.deleteById(id);
         return ResponseEntity.noContent().build();
     }
     
     @GetMapping("/exists/{id}")
     public ResponseEntity<Boolean> existsById(@PathVariable Long id) {
-        logger.info("GET /api/categories/exists/{} - Checking if category exists", id);
         boolean exists = categoryService.existsById(id);
         return ResponseEntity.ok(exists);
     }
@@ -0,0 +1,71 @@
+package com.shop.controller;
+
+import com.shop.dto.ConnectionPoolDto;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Live state of the application's connection pools at
+ * {@code /actuator/pools}, restricted to administrators.
+ */
+@Component
+@Endpoint(id = "pools")
+public class ConnectionPoolEndpoint {
+    
+    private final Map<String, HikariDataSource> pools = new LinkedHashMap<>();
+    
+    @Autowired
+    public ConnectionPoolEndpoint(List<DataSource> dataSources) throws SQLException {
+        // Data sources may be proxies or routers around the same pool, so pools are collected by name
+        for (DataSource dataSource : dataSources) {
+            if (dataSource.isWrapperFor(HikariDataSource.class)) {
+                HikariDataSource pool = dataSource.unwrap(HikariDataSource.class);
+                pools.putIfAbsent(pool.getPoolName(), pool);
+            }
+        }
+    }
+    
+    @ReadOperation
+    public List<ConnectionPoolDto> pools() {
+        List<ConnectionPoolDto> states = new ArrayList<>(pools.size());
+        pools.values().forEach(pool -> states.add(toDto(pool)));
+        return states;
+    }
+    
+    @ReadOperation
+    public ConnectionPoolDto pool(@Selector String name) {
+        HikariDataSource pool = pools.get(name);
+        return pool != null ? toDto(pool) : null;
+    }
+    
+    private ConnectionPoolDto toDto(HikariDataSource pool) {
+        ConnectionPoolDto dto = new ConnectionPoolDto(pool.getPoolName());
+        dto.setMaximumPoolSize(pool.getMaximumPoolSize());
+        dto.setMinimumIdle(pool.getMinimumIdle());
+        dto.setConnectionTimeoutMs(pool.getConnectionTimeout());
+        dto.setLeakDetectionThresholdMs(pool.getLeakDetectionThreshold());
+        
+        // Pools start on their first connection request
+        HikariPoolMXBean stats = pool.getHikariPoolMXBean();
+        if (stats != null) {
+            dto.setRunning(pool.isRunning());
+            dto.setActiveConnections(stats.getActiveConnections());
+            dto.setIdleConnections(stats.getIdleConnections());
+            dto.setTotalConnections(stats.getTotalConnections());
+            dto.setPendingThreads(stats.getThreadsAwaitingConnection());
+        }
+        return dto;
+    }
+}
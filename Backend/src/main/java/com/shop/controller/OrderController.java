@@ -1,9 +1,14 @@
 package com.shop.controller;
 
 import com.shop.dto.OrderDto;
+import com.shop.dto.OrderHistoryPage;
 import com.shop.dto.OrderItemDto;
+import com.shop.dto.OrderSummaryDto;
 import com.shop.entity.Order;
+import com.shop.service.LiveUpdateService;
 import com.shop.service.OrderService;
+import com.shop.service.ReportingService;
+import com.shop.service.UserService;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -14,15 +19,18 @@ import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/api/orders")
@@ -32,41 +40,64 @@ public class OrderController {
     private static final Logger logger = LoggerFactory.getLogger(OrderController.class);
     
     private final OrderService orderService;
+    private final ReportingService reportingService;
+    private final UserService userService;
+    private final LiveUpdateService liveUpdateService;
     
     @Autowired
-    public OrderController(OrderService orderService) {
+    public OrderController(OrderService orderService, ReportingService reportingService, UserService userService,
+                           LiveUpdateService liveUpdateService) {
         this.orderService = orderService;
+        this.reportingService = reportingService;
+        this.userService = userService;
+        this.liveUpdateService = liveUpdateService;
     }
     
     @GetMapping
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<Page<OrderDto>> getAllOrders(
+            @RequestParam(required = false) String include,
             @PageableDefault(size = 20, sort = "orderDate", direction = Sort.Direction.DESC) Pageable pageable) {
-        logger.info("GET /api/orders - Retrieving all orders with pagination");
-        Page<OrderDto> orders = orderService.findAll(pageable);
+        Page<OrderDto> orders = orderService.findAll(pageable, includesItems(include));
         return ResponseEntity.ok(orders);
     }
     
-    @GetMapping("/all")
+    @GetMapping(params = "view=summary")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<List<OrderDto>> getAllOrdersList() {
-        logger.info("GET /api/orders/all - Retrieving all orders as list");
-        List<OrderDto> orders = orderService.findAll();
+    public ResponseEntity<Page<OrderSummaryDto>> getAllOrderSummaries(
+            @PageableDefault(size = 20, sort = "orderDate", direction = Sort.Direction.DESC) Pageable pageable) {
+        Page<OrderSummaryDto> orders = orderService.findAllSummaries(pageable);
         return ResponseEntity.ok(orders);
     }
     
+    @GetMapping("/all")
+    @PreAuthorize("hasRole('ADMIN')")
+    public CompletableFuture<ResponseEntity<List<OrderDto>>> getAllOrdersList() {
+        return reportingService.findAllOrders().thenApply(ResponseEntity::ok);
+    }
+    
     @GetMapping("/{id}")
     @PreAuthorize("hasRole('ADMIN') or (hasRole('CUSTOMER') and @orderController.isOrderOwner(#id, authentication))")
     public ResponseEntity<OrderDto> getOrderById(@PathVariable Long id, Authentication authentication) {
-        logger.info("GET /api/orders/{} - Retrieving order", id);
         OrderDto order = orderService.findById(id);
         return ResponseEntity.ok(order);
     }
     
+    @GetMapping(value = "/{id}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("hasRole('ADMIN') or (hasRole('CUSTOMER') and @orderController.isOrderOwner(#id, authentication))")
+    public SseEmitter streamOrderEvents(@PathVariable Long id, Authentication authentication) {
+        return liveUpdateService.subscribeToOrder(id);
+    }
+    
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("hasRole('ADMIN')")
+    public SseEmitter streamAllOrderEvents(@RequestParam(required = false) Order.OrderStatus status) {
+        return liveUpdateService.subscribeToOrders(status);
+    }
+    
     @GetMapping("/number/{orderNumber}")
     @PreAuthorize("hasRole('ADMIN') or (hasRole('CUSTOMER') and @orderController.isOrderOwnerByNumber(#orderNumber, authentication))")
     public ResponseEntity<OrderDto> getOrderByNumber(@PathVariable String orderNumber, Authentication authentication) {
-        logger.info("GET /api/orders/number/{} - Retrieving order by number", orderNumber);
         OrderDto order = orderService.findByOrderNumber(orderNumber);
         return ResponseEntity.ok(order);
     }
@@ -74,54 +105,62 @@ public class OrderController {
     @GetMapping("/user/{userId}")
     @PreAuthorize("hasRole('ADMIN') or (hasRole('CUSTOMER') and @orderController.isUserOwner(#userId, authentication))")
     public ResponseEntity<Page<OrderDto>> getOrdersByUser(
+            @PathVariable Long userId,
+            @RequestParam(required = false) String include,
+            @PageableDefault(size = 20, sort = "orderDate", direction = Sort.Direction.DESC) Pageable pageable,
+            Authentication authentication) {
+        Page<OrderDto> orders = orderService.findByUserId(userId, pageable, includesItems(include));
+        return ResponseEntity.ok(orders);
+    }
+    
+    @GetMapping(value = "/user/{userId}", params = "view=summary")
+    @PreAuthorize("hasRole('ADMIN') or (hasRole('CUSTOMER') and @orderController.isUserOwner(#userId, authentication))")
+    public ResponseEntity<Page<OrderSummaryDto>> getOrderSummariesByUser(
             @PathVariable Long userId,
             @PageableDefault(size = 20, sort = "orderDate", direction = Sort.Direction.DESC) Pageable pageable,
             Authentication authentication) {
-        logger.info("GET /api/orders/user/{} - Retrieving orders for user", userId);
-        Page<OrderDto> orders = orderService.findByUserId(userId, pageable);
+        Page<OrderSummaryDto> orders = orderService.findSummariesByUserId(userId, pageable);
         return ResponseEntity.ok(orders);
     }
     
     @GetMapping("/my-orders")
     @PreAuthorize("hasRole('CUSTOMER')")
-    public ResponseEntity<Page<OrderDto>> getMyOrders(
-            @PageableDefault(size = 20, sort = "orderDate", direction = Sort.Direction.DESC) Pageable pageable,
+    public ResponseEntity<OrderHistoryPage> getMyOrders(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
             Authentication authentication) {
-        logger.info("GET /api/orders/my-orders - Retrieving current user's orders");
-        
-        // Get user ID from JWT token
         Jwt jwt = (Jwt) authentication.getPrincipal();
-        String username = jwt.getClaimAsString("preferred_username");
-        
-        // For simplicity, we'll need to get user ID from the username or keycloak ID
-        // This would require a user service call to get the user by keycloak ID
-        // For now, we'll assume the user ID is passed as a claim or we get it from the service
+        Long userId = userService.findByKeycloakId(jwt.getSubject()).getId();
         
-        // This is a simplified version - in real implementation, you'd get the user ID properly
-        Long userId = 1L; // This should be retrieved from the authentication context
-        
-        Page<OrderDto> orders = orderService.findByUserId(userId, pageable);
+        OrderHistoryPage orders = orderService.findOrderHistory(userId, cursor, size);
         return ResponseEntity.ok(orders);
     }
     
     @GetMapping("/status/{status}")
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<Page<OrderDto>> getOrdersByStatus(
+            @PathVariable Order.OrderStatus status,
+            @RequestParam(required = false) String include,
+            @PageableDefault(size = 20, sort = "orderDate", direction = Sort.Direction.DESC) Pageable pageable) {
+        Page<OrderDto> orders = orderService.findByStatus(status, pageable, includesItems(include));
+        return ResponseEntity.ok(orders);
+    }
+    
+    @GetMapping(value = "/status/{status}", params = "view=summary")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Page<OrderSummaryDto>> getOrderSummariesByStatus(
             @PathVariable Order.OrderStatus status,
             @PageableDefault(size = 20, sort = "orderDate", direction = Sort.Direction.DESC) Pageable pageable) {
-        logger.info("GET /api/orders/status/{} - Retrieving orders by status", status);
-        Page<OrderDto> orders = orderService.findByStatus(status, pageable);
+        Page<OrderSummaryDto> orders = orderService.findSummariesByStatus(status, pageable);
         return ResponseEntity.ok(orders);
     }
     
     @GetMapping("/date-range")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<List<OrderDto>> getOrdersByDateRange(
+    public CompletableFuture<ResponseEntity<List<OrderDto>>> getOrdersByDateRange(
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate) {
-        logger.info("GET /api/orders/date-range - Retrieving orders between {} and {}", startDate, endDate);
-        List<OrderDto> orders = orderService.findByDateRange(startDate, endDate);
-        return ResponseEntity.ok(orders);
+        return reportingService.findOrdersByDateRange(startDate, endDate).thenApply(ResponseEntity::ok);
     }
     
     @GetMapping("/search")
@@ -129,7 +168,6 @@ public class OrderController {
     public ResponseEntity<Page<OrderDto>> searchOrders(
             @RequestParam String keyword,
             @PageableDefault(size = 20, sort = "orderDate", direction = Sort.Direction.DESC) Pageable pageable) {
-        logger.info("GET /api/orders/search - Searching orders with keyword: {}", keyword);
         Page<OrderDto> orders = orderService.findByKeyword(keyword, pageable);
         return ResponseEntity.ok(orders);
     }
@@ -137,7 +175,6 @@ public class OrderController {
     @PostMapping
     @PreAuthorize("hasRole('CUSTOMER') or hasRole('ADMIN')")
     public ResponseEntity<OrderDto> createOrder(@Valid @RequestBody OrderDto orderDto) {
-        logger.info("POST /api/orders - Creating new order for user: {}", orderDto.getUserId());
         OrderDto savedOrder = orderService.createOrder(orderDto);
         return new ResponseEntity<>(savedOrder, HttpStatus.CREATED);
     }
@@ -147,7 +184,6 @@ public class OrderController {
     public ResponseEntity<OrderDto> addOrderItem(@PathVariable Long id, 
                                                  @Valid @RequestBody OrderItemDto orderItemDto,
                                                  Authentication authentication) {
-        logger.info("POST /api/orders/{}/items - Adding item to order", id);
         OrderDto updatedOrder = orderService.addOrderItem(id, orderItemDto);
         return ResponseEntity.ok(updatedOrder);
     }
@@ -157,7 +193,6 @@ public class OrderController {
     public ResponseEntity<OrderDto> updateOrder(@PathVariable Long id, 
                                                @Valid @RequestBody OrderDto orderDto,
                                                Authentication authentication) {
-        logger.info("PUT /api/orders/{} - Updating order", id);
         OrderDto updatedOrder = orderService.update(id, orderDto);
         return ResponseEntity.ok(updatedOrder);
     }
@@ -166,7 +201,6 @@ public class OrderController {
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<OrderDto> updateOrderStatus(@PathVariable Long id, 
                                                       @RequestBody Map<String, String> request) {
-        logger.info("PATCH /api/orders/{}/status - Updating order status", id);
         String status = request.get("status");
         if (status == null) {
             throw new IllegalArgumentException("Status is required");
@@ -178,7 +212,6 @@ public class OrderController {
     @PatchMapping("/{id}/cancel")
     @PreAuthorize("hasRole('ADMIN') or (hasRole('CUSTOMER') and @orderController.isOrderOwner(#id, authentication))")
     public ResponseEntity<OrderDto> cancelOrder(@PathVariable Long id, Authentication authentication) {
-        logger.info("PATCH /api/orders/{}/cancel - Cancelling order", id);
         OrderDto cancelledOrder = orderService.cancelOrder(id);
         return ResponseEntity.ok(cancelledOrder);
     }
@@ -186,7 +219,6 @@ public class OrderController {
     @DeleteMapping("/{id}")
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<Void> deleteOrder(@PathVariable Long id) {
-        logger.info("DELETE /api/orders/{} - Deleting order", id);
         orderService.deleteById(id);
         return ResponseEntity.noContent().build();
     }
@@ -194,7 +226,6 @@ public class OrderController {
     @GetMapping("/exists/{id}")
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<Boolean> existsById(@PathVariable Long id) {
-        logger.info("GET /api/orders/exists/{} - Checking if order exists", id);
         boolean exists = orderService.existsById(id);
         return ResponseEntity.ok(exists);
     }
@@ -202,11 +233,14 @@ public class OrderController {
     @GetMapping("/count/user/{userId}")
     @PreAuthorize("hasRole('ADMIN') or (hasRole('CUSTOMER') and @orderController.isUserOwner(#userId, authentication))")
     public ResponseEntity<Long> countOrdersByUser(@PathVariable Long userId, Authentication authentication) {
-        logger.info("GET /api/orders/count/user/{} - Counting orders for user", userId);
         Long count = orderService.countByUserId(userId);
         return ResponseEntity.ok(count);
     }
     
+    private boolean includesItems(String include) {
+        return include != null && List.of(include.split(",")).contains("items");
+    }
+    
     // Helper methods for authorization
     public boolean isOrderOwner(Long orderId, Authentication authentication) {
         try {
@@ -1,49 +1,81 @@
 package com.shop.controller;
 
+import com.shop.dto.LowStockAlertDto;
 import com.shop.dto.ProductDto;
+import com.shop.service.CatalogReadCoalescer;
+import com.shop.service.CatalogStreamService;
+import com.shop.service.LiveUpdateService;
+import com.shop.service.LowStockMonitor;
+import com.shop.service.ProductSalesService;
 import com.shop.service.ProductService;
+import com.shop.service.ReportingService;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.WebAsyncTask;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.math.BigDecimal;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/api/products")
 @CrossOrigin(origins = "${app.cors.allowed-origins}")
 public class ProductController {
     
-    private static final Logger logger = LoggerFactory.getLogger(ProductController.class);
-    
     private final ProductService productService;
+    private final ProductSalesService productSalesService;
+    private final CatalogStreamService catalogStreamService;
+    private final CatalogReadCoalescer catalogReadCoalescer;
+    private final ReportingService reportingService;
+    private final LowStockMonitor lowStockMonitor;
+    private final LiveUpdateService liveUpdateService;
     
     @Autowired
-    public ProductController(ProductService productService) {
+    public ProductController(ProductService productService, ProductSalesService productSalesService,
+                             CatalogStreamService catalogStreamService, CatalogReadCoalescer catalogReadCoalescer,
+                             ReportingService reportingService, LowStockMonitor lowStockMonitor,
+                             LiveUpdateService liveUpdateService) {
         this.productService = productService;
+        this.productSalesService = productSalesService;
+        this.catalogStreamService = catalogStreamService;
+        this.catalogReadCoalescer = catalogReadCoalescer;
+        this.reportingService = reportingService;
+        this.lowStockMonitor = lowStockMonitor;
+        this.liveUpdateService = liveUpdateService;
     }
     
     @GetMapping
     public ResponseEntity<Page<ProductDto>> getAllProducts(
             @PageableDefault(size = 20, sort = "name", direction = Sort.Direction.ASC) Pageable pageable) {
-        logger.info("GET /api/products - Retrieving all products with pagination");
         Page<ProductDto> products = productService.findAll(pageable);
         return ResponseEntity.ok(products);
     }
     
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public WebAsyncTask<Void> streamProducts(@RequestParam(defaultValue = "false") boolean activeOnly,
+                                             HttpServletResponse response) {
+        return catalogStreamService.streamProducts(response, activeOnly);
+    }
+    
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamStockEvents(@RequestParam(required = false) List<Long> ids) {
+        return liveUpdateService.subscribeToStock(ids);
+    }
+    
     @GetMapping("/all")
     public ResponseEntity<List<ProductDto>> getAllProductsList() {
-        logger.info("GET /api/products/all - Retrieving all products as list");
         List<ProductDto> products = productService.findAll();
         return ResponseEntity.ok(products);
     }
@@ -51,24 +83,33 @@ public class ProductController {
     @GetMapping("/active")
     public ResponseEntity<Page<ProductDto>> getActiveProducts(
             @PageableDefault(size = 20, sort = "name", direction = Sort.Direction.ASC) Pageable pageable) {
-        logger.info("GET /api/products/active - Retrieving active products");
         Page<ProductDto> products = productService.findActiveProducts(pageable);
         return ResponseEntity.ok(products);
     }
     
+    @GetMapping("/popular")
+    public ResponseEntity<Page<ProductDto>> getPopularProducts(@PageableDefault(size = 20) Pageable pageable) {
+        Page<ProductDto> products = productService.findPopularProducts(pageable);
+        return ResponseEntity.ok(products);
+    }
+    
     @GetMapping("/{id}")
     public ResponseEntity<ProductDto> getProductById(@PathVariable Long id) {
-        logger.info("GET /api/products/{} - Retrieving product", id);
-        ProductDto product = productService.findById(id);
+        ProductDto product = catalogReadCoalescer.findProduct(id);
         return ResponseEntity.ok(product);
     }
     
+    @GetMapping("/{id}/sold-count")
+    public ResponseEntity<Long> getSoldCount(@PathVariable Long id) {
+        long soldCount = productSalesService.getQuantitySold(id);
+        return ResponseEntity.ok(soldCount);
+    }
+    
     @GetMapping("/category/{categoryId}")
     public ResponseEntity<Page<ProductDto>> getProductsByCategory(
             @PathVariable Long categoryId,
             @PageableDefault(size = 20, sort = "name", direction = Sort.Direction.ASC) Pageable pageable) {
-        logger.info("GET /api/products/category/{} - Retrieving products by category", categoryId);
-        Page<ProductDto> products = productService.findByCategoryId(categoryId, pageable);
+        Page<ProductDto> products = catalogReadCoalescer.findProductsByCategory(categoryId, pageable);
         return ResponseEntity.ok(products);
     }
     
@@ -76,7 +117,6 @@ public class ProductController {
     public ResponseEntity<Page<ProductDto>> searchProducts(
             @RequestParam String keyword,
             @PageableDefault(size = 20, sort = "name", direction = Sort.Direction.ASC) Pageable pageable) {
-        logger.info("GET /api/products/search - Searching products with keyword: {}", keyword);
         Page<ProductDto> products = productService.findByKeyword(keyword, pageable);
         return ResponseEntity.ok(products);
     }
@@ -85,33 +125,47 @@ public class ProductController {
     public ResponseEntity<List<ProductDto>> getProductsByPriceRange(
             @RequestParam BigDecimal minPrice,
             @RequestParam BigDecimal maxPrice) {
-        logger.info("GET /api/products/price-range - Retrieving products by price range: {} - {}", minPrice, maxPrice);
         List<ProductDto> products = productService.findByPriceRange(minPrice, maxPrice);
         return ResponseEntity.ok(products);
     }
     
     @GetMapping("/low-stock")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<List<ProductDto>> getLowStockProducts(
+    public CompletableFuture<ResponseEntity<List<ProductDto>>> getLowStockProducts(
             @RequestParam(defaultValue = "10") Integer threshold) {
-        logger.info("GET /api/products/low-stock - Retrieving low stock products with threshold: {}", threshold);
-        List<ProductDto> products = productService.findLowStockProducts(threshold);
-        return ResponseEntity.ok(products);
+        return reportingService.findLowStockProducts(threshold).thenApply(ResponseEntity::ok);
+    }
+    
+    @GetMapping("/low-stock/alerts")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<List<LowStockAlertDto>> getLowStockAlerts() {
+        return ResponseEntity.ok(lowStockMonitor.currentAlerts());
+    }
+    
+    @GetMapping(value = "/low-stock/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("hasRole('ADMIN')")
+    public SseEmitter streamLowStockAlerts() {
+        return lowStockMonitor.subscribe();
     }
     
     @PostMapping
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<ProductDto> createProduct(@Valid @RequestBody ProductDto productDto) {
-        logger.info("POST /api/products - Creating new product: {}", productDto.getName());
         ProductDto savedProduct = productService.save(productDto);
         return new ResponseEntity<>(savedProduct, HttpStatus.CREATED);
     }
     
+    @PostMapping("/sales-counters/rebuild")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Void> rebuildSalesCounters() {
+        productSalesService.rebuild();
+        return ResponseEntity.noContent().build();
+    }
+    
     @PutMapping("/{id}")
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<ProductDto> updateProduct(@PathVariable Long id, 
                                                    @Valid @RequestBody ProductDto productDto) {
-        logger.info("PUT /api/products/{} - Updating product", id);
         ProductDto updatedProduct = productService.update(id, productDto);
         return ResponseEntity.ok(updatedProduct);
     }
@@ -120,7 +174,6 @@ public class ProductController {
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<ProductDto> updateStock(@PathVariable Long id, 
                                                  @RequestBody Map<String, Integer> request) {
-        logger.info("PATCH /api/products/{}/stock - Updating product stock", id);
         Integer quantity = request.get("quantity");
         if (quantity == null) {
             throw new IllegalArgumentException("Quantity is required");
@@ -133,7 +186,6 @@ public class ProductController {
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<ProductDto> increaseStock(@PathVariable Long id, 
                                                    @RequestBody Map<String, Integer> request) {
-        logger.info("PATCH /api/products/{}/stock/increase - Increasing product stock", id);
         Integer quantity = request.get("quantity");
         if (quantity == null) {
             throw new IllegalArgumentException("Quantity is required");
@@ -146,7 +198,6 @@ public class ProductController {
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<ProductDto> decreaseStock(@PathVariable Long id, 
                                                    @RequestBody Map<String, Integer> request) {
-        logger.info("PATCH /api/products/{}/stock/decrease - Decreasing product stock", id);
         Integer quantity = request.get("quantity");
         if (quantity == null) {
             throw new IllegalArgumentException("Quantity is required");
@@ -158,14 +209,12 @@ public class ProductController {
     @DeleteMapping("/{id}")
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<Void> deleteProduct(@PathVariable Long id) {
-        logger.info("DELETE /api/products/{} - Deleting product", id);
         productService.deleteById(id);
         return ResponseEntity.noContent().build();
     }
     
     @GetMapping("/exists/{id}")
     public ResponseEntity<Boolean> existsById(@PathVariable Long id) {
-        logger.info("GET /api/products/exists/{} - Checking if product exists", id);
         boolean exists = productService.existsById(id);
         return ResponseEntity.ok(exists);
     }
@@ -1,5 +1,6 @@
 package com.shop.controller;
 
+import com.shop.dto.CursorPage;
 import com.shop.dto.UserDto;
 import com.shop.entity.User;
 import com.shop.service.UserService;
@@ -7,6 +8,10 @@ import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -14,8 +19,6 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
-
 @RestController
 @RequestMapping("/api/users")
 @CrossOrigin(origins = "${app.cors.allowed-origins}")
@@ -32,32 +35,57 @@ public class UserController {
     
     @GetMapping
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<List<UserDto>> getAllUsers() {
-        logger.info("GET /api/users - Retrieving all users");
-        List<UserDto> users = userService.findAll();
+    public ResponseEntity<Page<UserDto>> getAllUsers(
+            @PageableDefault(size = 20, sort = "id", direction = Sort.Direction.ASC) Pageable pageable) {
+        Page<UserDto> users = userService.findAll(pageable);
+        return ResponseEntity.ok(users);
+    }
+    
+    @GetMapping("/scroll")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<CursorPage<UserDto>> scrollUsers(@RequestParam(required = false) Long afterId,
+                                                           @RequestParam(defaultValue = "20") int size) {
+        CursorPage<UserDto> users = userService.scroll(afterId, size);
         return ResponseEntity.ok(users);
     }
     
     @GetMapping("/active")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<List<UserDto>> getActiveUsers() {
-        logger.info("GET /api/users/active - Retrieving active users");
-        List<UserDto> users = userService.findActiveUsers();
+    public ResponseEntity<Page<UserDto>> getActiveUsers(
+            @PageableDefault(size = 20, sort = "id", direction = Sort.Direction.ASC) Pageable pageable) {
+        Page<UserDto> users = userService.findActiveUsers(pageable);
+        return ResponseEntity.ok(users);
+    }
+    
+    @GetMapping("/active/scroll")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<CursorPage<UserDto>> scrollActiveUsers(@RequestParam(required = false) Long afterId,
+                                                                 @RequestParam(defaultValue = "20") int size) {
+        CursorPage<UserDto> users = userService.scrollActiveUsers(afterId, size);
         return ResponseEntity.ok(users);
     }
     
     @GetMapping("/role/{role}")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<List<UserDto>> getUsersByRole(@PathVariable User.Role role) {
-        logger.info("GET /api/users/role/{} - Retrieving users by role", role);
-        List<UserDto> users = userService.findByRole(role);
+    public ResponseEntity<Page<UserDto>> getUsersByRole(
+            @PathVariable User.Role role,
+            @PageableDefault(size = 20, sort = "id", direction = Sort.Direction.ASC) Pageable pageable) {
+        Page<UserDto> users = userService.findByRole(role, pageable);
+        return ResponseEntity.ok(users);
+    }
+    
+    @GetMapping("/role/{role}/scroll")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<CursorPage<UserDto>> scrollUsersByRole(@PathVariable User.Role role,
+                                                                 @RequestParam(required = false) Long afterId,
+                                                                 @RequestParam(defaultValue = "20") int size) {
+        CursorPage<UserDto> users = userService.scrollByRole(role, afterId, size);
         return ResponseEntity.ok(users);
     }
     
     @GetMapping("/{id}")
     @PreAuthorize("hasRole('ADMIN') or (hasRole('CUSTOMER') and @userController.isOwner(#id, authentication))")
     public ResponseEntity<UserDto> getUserById(@PathVariable Long id, Authentication authentication) {
-        logger.info("GET /api/users/{} - Retrieving user", id);
         UserDto user = userService.findById(id);
         return ResponseEntity.ok(user);
     }
@@ -65,7 +93,6 @@ public class UserController {
     @GetMapping("/me")
     @PreAuthorize("hasRole('CUSTOMER') or hasRole('ADMIN')")
     public ResponseEntity<UserDto> getCurrentUser(Authentication authentication) {
-        logger.info("GET /api/users/me - Retrieving current user");
         
         Jwt jwt = (Jwt) authentication.getPrincipal();
         String keycloakId = jwt.getSubject();
@@ -76,16 +103,25 @@ public class UserController {
     
     @GetMapping("/search")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<List<UserDto>> searchUsers(@RequestParam String keyword) {
-        logger.info("GET /api/users/search - Searching users with keyword: {}", keyword);
-        List<UserDto> users = userService.findByKeyword(keyword);
+    public ResponseEntity<Page<UserDto>> searchUsers(
+            @RequestParam String keyword,
+            @PageableDefault(size = 20, sort = "id", direction = Sort.Direction.ASC) Pageable pageable) {
+        Page<UserDto> users = userService.findByKeyword(keyword, pageable);
+        return ResponseEntity.ok(users);
+    }
+    
+    @GetMapping("/search/scroll")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<CursorPage<UserDto>> scrollSearchUsers(@RequestParam String keyword,
+                                                                 @RequestParam(required = false) Long afterId,
+                                                                 @RequestParam(defaultValue = "20") int size) {
+        CursorPage<UserDto> users = userService.scrollByKeyword(keyword, afterId, size);
         return ResponseEntity.ok(users);
     }
     
     @PostMapping
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<UserDto> createUser(@Valid @RequestBody UserDto userDto) {
-        logger.info("POST /api/users - Creating new user: {}", userDto.getUsername());
         UserDto savedUser = userService.save(userDto);
         return new ResponseEntity<>(savedUser, HttpStatus.CREATED);
     }
@@ -95,7 +131,6 @@ public class UserController {
     public ResponseEntity<UserDto> updateUser(@PathVariable Long id, 
                                              @Valid @RequestBody UserDto userDto,
                                              Authentication authentication) {
-        logger.info("PUT /api/users/{} - Updating user", id);
         UserDto updatedUser = userService.update(id, userDto);
         return ResponseEntity.ok(updatedUser);
     }
@@ -103,7 +138,6 @@ public class UserController {
     @PatchMapping("/{id}/deactivate")
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<UserDto> deactivateUser(@PathVariable Long id) {
-        logger.info("PATCH /api/users/{}/deactivate - Deactivating user", id);
         UserDto deactivatedUser = userService.deactivateUser(id);
         return ResponseEntity.ok(deactivatedUser);
     }
@@ -111,7 +145,6 @@ public class UserController {
     @PatchMapping("/{id}/activate")
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<UserDto> activateUser(@PathVariable Long id) {
-        logger.info("PATCH /api/users/{}/activate - Activating user", id);
         UserDto activatedUser = userService.activateUser(id);
         return ResponseEntity.ok(activatedUser);
     }
@@ -119,7 +152,6 @@ public class UserController {
     @DeleteMapping("/{id}")
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<Void> deleteUser(@PathVariable Long id) {
-        logger.info("DELETE /api/users/{} - Deleting user", id);
         userService.deleteById(id);
         return ResponseEntity.noContent().build();
     }
@@ -127,21 +159,18 @@ public class UserController {
     @GetMapping("/exists/{id}")
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<Boolean> existsById(@PathVariable Long id) {
-        logger.info("GET /api/users/exists/{} - Checking if user exists", id);
         boolean exists = userService.existsById(id);
         return ResponseEntity.ok(exists);
     }
     
     @GetMapping("/exists/username/{username}")
     public ResponseEntity<Boolean> existsByUsername(@PathVariable String username) {
-        logger.info("GET /api/users/exists/username/{} - Checking if username exists", username);
         boolean exists = userService.existsByUsername(username);
         return ResponseEntity.ok(exists);
     }
     
     @GetMapping("/exists/email/{email}")
     public ResponseEntity<Boolean> existsByEmail(@PathVariable String email) {
-        logger.info("GET /api/users/exists/email/{} - Checking if email exists", email);
         boolean exists = userService.existsByEmail(email);
         return ResponseEntity.ok(exists);
     }
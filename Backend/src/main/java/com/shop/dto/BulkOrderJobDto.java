@@ -0,0 +1,122 @@
+package com.shop.dto;
+
+import com.shop.entity.BulkOrderJob;
+import com.shop.entity.Order;
+
+import java.time.LocalDateTime;
+
+public class BulkOrderJobDto {
+    
+    private Long id;
+    private BulkOrderJob.Operation operation;
+    private Order.OrderStatus targetStatus;
+    private BulkOrderJob.JobStatus status;
+    private Integer totalOrders;
+    private Integer processedOrders;
+    private Integer skippedOrders;
+    private Integer failedChunks;
+    private String lastError;
+    private LocalDateTime startedAt;
+    private LocalDateTime completedAt;
+    private LocalDateTime createdAt;
+    
+    // Constructors
+    public BulkOrderJobDto() {}
+    
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+    
+    public void setId(Long id) {
+        this.id = id;
+    }
+    
+    public BulkOrderJob.Operation getOperation() {
+        return operation;
+    }
+    
+    public void setOperation(BulkOrderJob.Operation operation) {
+        this.operation = operation;
+    }
+    
+    public Order.OrderStatus getTargetStatus() {
+        return targetStatus;
+    }
+    
+    public void setTargetStatus(Order.OrderStatus targetStatus) {
+        this.targetStatus = targetStatus;
+    }
+    
+    public BulkOrderJob.JobStatus getStatus() {
+        return status;
+    }
+    
+    public void setStatus(BulkOrderJob.JobStatus status) {
+        this.status = status;
+    }
+    
+    public Integer getTotalOrders() {
+        return totalOrders;
+    }
+    
+    public void setTotalOrders(Integer totalOrders) {
+        this.totalOrders = totalOrders;
+    }
+    
+    public Integer getProcessedOrders() {
+        return processedOrders;
+    }
+    
+    public void setProcessedOrders(Integer processedOrders) {
+        this.processedOrders = processedOrders;
+    }
+    
+    public Integer getSkippedOrders() {
+        return skippedOrders;
+    }
+    
+    public void setSkippedOrders(Integer skippedOrders) {
+        this.skippedOrders = skippedOrders;
+    }
+    
+    public Integer getFailedChunks() {
+        return failedChunks;
+    }
+    
+    public void setFailedChunks(Integer failedChunks) {
+        this.failedChunks = failedChunks;
+    }
+    
+    public String getLastError() {
+        return lastError;
+    }
+    
+    public void setLastError(String lastError) {
+        this.lastError = lastError;
+    }
+    
+    public LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+    
+    public void setStartedAt(LocalDateTime startedAt) {
+        this.startedAt = startedAt;
+    }
+    
+    public LocalDateTime getCompletedAt() {
+        return completedAt;
+    }
+    
+    public void setCompletedAt(LocalDateTime completedAt) {
+        this.completedAt = completedAt;
+    }
+    
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+    
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+}
@@ -0,0 +1,42 @@
+package com.shop.dto;
+
+import com.shop.entity.Order;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public class BulkOrderRequestDto {
+    
+    @NotEmpty(message = "Order ids are required")
+    @Size(max = 100000, message = "At most 100000 orders can be processed per job")
+    private List<Long> orderIds;
+    
+    // Target status for status transitions, ignored by bulk cancellation
+    private Order.OrderStatus status;
+    
+    // Constructors
+    public BulkOrderRequestDto() {}
+    
+    public BulkOrderRequestDto(List<Long> orderIds, Order.OrderStatus status) {
+        this.orderIds = orderIds;
+        this.status = status;
+    }
+    
+    // Getters and Setters
+    public List<Long> getOrderIds() {
+        return orderIds;
+    }
+    
+    public void setOrderIds(List<Long> orderIds) {
+        this.orderIds = orderIds;
+    }
+    
+    public Order.OrderStatus getStatus() {
+        return status;
+    }
+    
+    public void setStatus(Order.OrderStatus status) {
+        this.status = status;
+    }
+}
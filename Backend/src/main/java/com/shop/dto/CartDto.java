@@ -0,0 +1,55 @@
+package com.shop.dto;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+public class CartDto {
+    
+    private String id;
+    private List<CartItemDto> items;
+    private BigDecimal totalAmount;
+    private Integer totalItems;
+    
+    // Constructors
+    public CartDto() {}
+    
+    public CartDto(String id, List<CartItemDto> items) {
+        this.id = id;
+        this.items = items;
+        this.totalAmount = items.stream().map(CartItemDto::getSubtotal).reduce(BigDecimal.ZERO, BigDecimal::add);
+        this.totalItems = items.stream().mapToInt(CartItemDto::getQuantity).sum();
+    }
+    
+    // Getters and Setters
+    public String getId() {
+        return id;
+    }
+    
+    public void setId(String id) {
+        this.id = id;
+    }
+    
+    public List<CartItemDto> getItems() {
+        return items;
+    }
+    
+    public void setItems(List<CartItemDto> items) {
+        this.items = items;
+    }
+    
+    public BigDecimal getTotalAmount() {
+        return totalAmount;
+    }
+    
+    public void setTotalAmount(BigDecimal totalAmount) {
+        this.totalAmount = totalAmount;
+    }
+    
+    public Integer getTotalItems() {
+        return totalItems;
+    }
+    
+    public void setTotalItems(Integer totalItems) {
+        this.totalItems = totalItems;
+    }
+}
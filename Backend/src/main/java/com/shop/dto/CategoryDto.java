@@ -1,5 +1,6 @@
 package com.shop.dto;
 
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
 
@@ -16,6 +17,9 @@ public class CategoryDto {
     @Size(max = 500, message = "Description must not exceed 500 characters")
     private String description;
     
+    @Min(value = 0, message = "Low stock threshold cannot be negative")
+    private Integer lowStockThreshold;
+    
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
     
@@ -27,6 +31,14 @@ public class CategoryDto {
         this.description = description;
     }
     
+    public Integer getLowStockThreshold() {
+        return lowStockThreshold;
+    }
+    
+    public void setLowStockThreshold(Integer lowStockThreshold) {
+        this.lowStockThreshold = lowStockThreshold;
+    }
+    
     // Getters and Setters
     public Long getId() {
         return id;
@@ -0,0 +1,47 @@
+package com.shop.dto;
+
+import jakarta.validation.constraints.Size;
+
+public class CheckoutRequestDto {
+    
+    @Size(max = 500, message = "Shipping address must not exceed 500 characters")
+    private String shippingAddress;
+    
+    @Size(max = 500, message = "Billing address must not exceed 500 characters")
+    private String billingAddress;
+    
+    @Size(max = 1000, message = "Notes must not exceed 1000 characters")
+    private String notes;
+    
+    // Constructors
+    public CheckoutRequestDto() {}
+    
+    public CheckoutRequestDto(String shippingAddress) {
+        this.shippingAddress = shippingAddress;
+    }
+    
+    // Getters and Setters
+    public String getShippingAddress() {
+        return shippingAddress;
+    }
+    
+    public void setShippingAddress(String shippingAddress) {
+        this.shippingAddress = shippingAddress;
+    }
+    
+    public String getBillingAddress() {
+        return billingAddress;
+    }
+    
+    public void setBillingAddress(String billingAddress) {
+        this.billingAddress = billingAddress;
+    }
+    
+    public String getNotes() {
+        return notes;
+    }
+    
+    public void setNotes(String notes) {
+        this.notes = notes;
+    }
+}
@@ -0,0 +1,103 @@
+package com.shop.dto;
+
+public class ConnectionPoolDto {
+    
+    private String name;
+    private boolean running;
+    private int activeConnections;
+    private int idleConnections;
+    private int totalConnections;
+    private int pendingThreads;
+    private int maximumPoolSize;
+    private int minimumIdle;
+    private long connectionTimeoutMs;
+    private long leakDetectionThresholdMs;
+    
+    // Constructors
+    public ConnectionPoolDto() {}
+    
+    public ConnectionPoolDto(String name) {
+        this.name = name;
+    }
+    
+    // Getters and Setters
+    public String getName() {
+        return name;
+    }
+    
+    public void setName(String name) {
+        this.name = name;
+    }
+    
+    public boolean isRunning() {
+        return running;
+    }
+    
+    public void setRunning(boolean running) {
+        this.running = running;
+    }
+    
+    public int getActiveConnections() {
+        return activeConnections;
+    }
+    
+    public void setActiveConnections(int activeConnections) {
+        this.activeConnections = activeConnections;
+    }
+    
+    public int getIdleConnections() {
+        return idleConnections;
+    }
+    
+    public void setIdleConnections(int idleConnections) {
+        this.idleConnections = idleConnections;
+    }
+    
+    public int getTotalConnections() {
+        return totalConnections;
+    }
+    
+    public void setTotalConnections(int totalConnections) {
+        this.totalConnections = totalConnections;
+    }
+    
+    public int getPendingThreads() {
+        return pendingThreads;
+    }
+    
+    public void setPendingThreads(int pendingThreads) {
+        this.pendingThreads = pendingThreads;
+    }
+    
+    public int getMaximumPoolSize() {
+        return maximumPoolSize;
+    }
+    
+    public void setMaximumPoolSize(int maximumPoolSize) {
+        this.maximumPoolSize = maximumPoolSize;
+    }
+    
+    public int getMinimumIdle() {
+        return minimumIdle;
+    }
+    
+    public void setMinimumIdle(int minimumIdle) {
+        this.minimumIdle = minimumIdle;
+    }
+    
+    public long getConnectionTimeoutMs() {
+        return connectionTimeoutMs;
+    }
+    
+    public void setConnectionTimeoutMs(long connectionTimeoutMs) {
+        this.connectionTimeoutMs = connectionTimeoutMs;
+    }
+    
+    public long getLeakDetectionThresholdMs() {
+        return leakDetectionThresholdMs;
+    }
+    
+    public void setLeakDetectionThresholdMs(long leakDetectionThresholdMs) {
+        this.leakDetectionThresholdMs = leakDetectionThresholdMs;
+    }
+}
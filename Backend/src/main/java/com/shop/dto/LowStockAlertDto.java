@@ -0,0 +1,85 @@
+package com.shop.dto;
+
+import java.time.LocalDateTime;
+
+public class LowStockAlertDto {
+    
+    private Long productId;
+    private String productName;
+    private String sku;
+    private Long categoryId;
+    private Integer stockQuantity;
+    private Integer threshold;
+    private LocalDateTime since;
+    
+    // Constructors
+    public LowStockAlertDto() {}
+    
+    public LowStockAlertDto(Long productId, String productName, String sku, Long categoryId,
+                            Integer stockQuantity, Integer threshold, LocalDateTime since) {
+        this.productId = productId;
+        this.productName = productName;
+        this.sku = sku;
+        this.categoryId = categoryId;
+        this.stockQuantity = stockQuantity;
+        this.threshold = threshold;
+        this.since = since;
+    }
+    
+    // Getters and Setters
+    public Long getProductId() {
+        return productId;
+    }
+    
+    public void setProductId(Long productId) {
+        this.productId = productId;
+    }
+    
+    public String getProductName() {
+        return productName;
+    }
+    
+    public void setProductName(String productName) {
+        this.productName = productName;
+    }
+    
+    public String getSku() {
+        return sku;
+    }
+    
+    public void setSku(String sku) {
+        this.sku = sku;
+    }
+    
+    public Long getCategoryId() {
+        return categoryId;
+    }
+    
+    public void setCategoryId(Long categoryId) {
+        this.categoryId = categoryId;
+    }
+    
+    public Integer getStockQuantity() {
+        return stockQuantity;
+    }
+    
+    public void setStockQuantity(Integer stockQuantity) {
+        this.stockQuantity = stockQuantity;
+    }
+    
+    public Integer getThreshold() {
+        return threshold;
+    }
+    
+    public void setThreshold(Integer threshold) {
+        this.threshold = threshold;
+    }
+    
+    public LocalDateTime getSince() {
+        return since;
+    }
+    
+    public void setSince(LocalDateTime since) {
+        this.since = since;
+    }
+}
@@ -0,0 +1,49 @@
+package com.shop.dto;
+
+import java.util.List;
+
+/**
+ * One page of a customer's order history. Like {@link CursorPage}, clients
+ * pass {@code nextCursor} back to get the following page, but the cursor is
+ * an opaque token because the history is ordered by date and id.
+ */
+public class OrderHistoryPage {
+    
+    private List<OrderSummaryDto> content;
+    private String nextCursor;
+    private boolean hasNext;
+    
+    // Constructors
+    public OrderHistoryPage() {}
+    
+    public OrderHistoryPage(List<OrderSummaryDto> content, String nextCursor) {
+        this.content = content;
+        this.nextCursor = nextCursor;
+        this.hasNext = nextCursor != null;
+    }
+    
+    // Getters and Setters
+    public List<OrderSummaryDto> getContent() {
+        return content;
+    }
+    
+    public void setContent(List<OrderSummaryDto> content) {
+        this.content = content;
+    }
+    
+    public String getNextCursor() {
+        return nextCursor;
+    }
+    
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+    
+    public boolean isHasNext() {
+        return hasNext;
+    }
+    
+    public void setHasNext(boolean hasNext) {
+        this.hasNext = hasNext;
+    }
+}
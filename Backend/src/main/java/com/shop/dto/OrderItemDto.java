@@ -20,6 +20,7 @@ public class OrderItemDto {
     private Long orderId;
     private Long productId;
     private String productName;
+    private String productSku;
     
     // Constructors
     public OrderItemDto() {}
@@ -87,4 +88,12 @@ public class OrderItemDto {
     public void setProductName(String productName) {
         this.productName = productName;
     }
+    
+    public String getProductSku() {
+        return productSku;
+    }
+    
+    public void setProductSku(String productSku) {
+        this.productSku = productSku;
+    }
 }
\ No newline at end of file
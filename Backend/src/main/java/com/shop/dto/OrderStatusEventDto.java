@@ -0,0 +1,46 @@
+package com.shop.dto;
+
+import com.shop.entity.Order;
+
+import java.time.LocalDateTime;
+
+public class OrderStatusEventDto {
+    
+    private Long orderId;
+    private Order.OrderStatus status;
+    private LocalDateTime changedAt;
+    
+    // Constructors
+    public OrderStatusEventDto() {}
+    
+    public OrderStatusEventDto(Long orderId, Order.OrderStatus status, LocalDateTime changedAt) {
+        this.orderId = orderId;
+        this.status = status;
+        this.changedAt = changedAt;
+    }
+    
+    // Getters and Setters
+    public Long getOrderId() {
+        return orderId;
+    }
+    
+    public void setOrderId(Long orderId) {
+        this.orderId = orderId;
+    }
+    
+    public Order.OrderStatus getStatus() {
+        return status;
+    }
+    
+    public void setStatus(Order.OrderStatus status) {
+        this.status = status;
+    }
+    
+    public LocalDateTime getChangedAt() {
+        return changedAt;
+    }
+    
+    public void setChangedAt(LocalDateTime changedAt) {
+        this.changedAt = changedAt;
+    }
+}
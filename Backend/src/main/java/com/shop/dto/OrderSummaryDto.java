@@ -0,0 +1,100 @@
+package com.shop.dto;
+
+import com.shop.entity.Order;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public class OrderSummaryDto {
+
+    private Long id;
+    private String orderNumber;
+    private LocalDateTime orderDate;
+    private Order.OrderStatus status;
+    private BigDecimal totalAmount;
+    private Integer totalItems;
+    private String userName;
+
+    // Constructors
+    public OrderSummaryDto() {}
+
+    // Used by JPQL constructor expressions; SUM over an empty join yields null
+    public OrderSummaryDto(Long id, String orderNumber, LocalDateTime orderDate, Order.OrderStatus status,
+                           BigDecimal totalAmount, Long totalItems, String userName) {
+        this.id = id;
+        this.orderNumber = orderNumber;
+        this.orderDate = orderDate;
+        this.status = status;
+        this.totalAmount = totalAmount;
+        this.totalItems = totalItems != null ? totalItems.intValue() : 0;
+        this.userName = userName;
+    }
+
+    // Used for customer order history rows, which belong to the requesting user
+    public OrderSummaryDto(Long id, String orderNumber, LocalDateTime orderDate, Order.OrderStatus status,
+                           BigDecimal totalAmount, Integer totalItems) {
+        this.id = id;
+        this.orderNumber = orderNumber;
+        this.orderDate = orderDate;
+        this.status = status;
+        this.totalAmount = totalAmount;
+        this.totalItems = totalItems;
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getOrderNumber() {
+        return orderNumber;
+    }
+
+    public void setOrderNumber(String orderNumber) {
+        this.orderNumber = orderNumber;
+    }
+
+    public LocalDateTime getOrderDate() {
+        return orderDate;
+    }
+
+    public void setOrderDate(LocalDateTime orderDate) {
+        this.orderDate = orderDate;
+    }
+
+    public Order.OrderStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(Order.OrderStatus status) {
+        this.status = status;
+    }
+
+    public BigDecimal getTotalAmount() {
+        return totalAmount;
+    }
+
+    public void setTotalAmount(BigDecimal totalAmount) {
+        this.totalAmount = totalAmount;
+    }
+
+    public Integer getTotalItems() {
+        return totalItems;
+    }
+
+    public void setTotalItems(Integer totalItems) {
+        this.totalItems = totalItems;
+    }
+
+    public String getUserName() {
+        return userName;
+    }
+
+    public void setUserName(String userName) {
+        this.userName = userName;
+    }
+}
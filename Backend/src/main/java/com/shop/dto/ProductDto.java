@@ -28,6 +28,10 @@ public class ProductDto {
     private String sku;
     private String imageUrl;
     private Boolean isActive;
+    
+    @Min(value = 0, message = "Low stock threshold cannot be negative")
+    private Integer lowStockThreshold;
+    
     private Long categoryId;
     private String categoryName;
     private LocalDateTime createdAt;
@@ -108,6 +112,14 @@ public class ProductDto {
         this.isActive = isActive;
     }
     
+    public Integer getLowStockThreshold() {
+        return lowStockThreshold;
+    }
+    
+    public void setLowStockThreshold(Integer lowStockThreshold) {
+        this.lowStockThreshold = lowStockThreshold;
+    }
+    
     public Long getCategoryId() {
         return categoryId;
     }
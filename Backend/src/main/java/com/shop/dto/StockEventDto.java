@@ -0,0 +1,42 @@
+package com.shop.dto;
+
+public class StockEventDto {
+    
+    private Long productId;
+    private Integer stockQuantity;
+    private Boolean inStock;
+    
+    // Constructors
+    public StockEventDto() {}
+    
+    public StockEventDto(Long productId, Integer stockQuantity, Boolean inStock) {
+        this.productId = productId;
+        this.stockQuantity = stockQuantity;
+        this.inStock = inStock;
+    }
+    
+    // Getters and Setters
+    public Long getProductId() {
+        return productId;
+    }
+    
+    public void setProductId(Long productId) {
+        this.productId = productId;
+    }
+    
+    public Integer getStockQuantity() {
+        return stockQuantity;
+    }
+    
+    public void setStockQuantity(Integer stockQuantity) {
+        this.stockQuantity = stockQuantity;
+    }
+    
+    public Boolean getInStock() {
+        return inStock;
+    }
+    
+    public void setInStock(Boolean inStock) {
+        this.inStock = inStock;
+    }
+}
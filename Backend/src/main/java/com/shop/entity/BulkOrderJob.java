@@ -0,0 +1,145 @@
+package com.shop.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "bulk_order_jobs")
+public class BulkOrderJob extends BaseEntity {
+    
+    @Enumerated(EnumType.STRING)
+    @Column(name = "operation", nullable = false)
+    private Operation operation;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(name = "target_status")
+    private Order.OrderStatus targetStatus;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false)
+    private JobStatus status = JobStatus.PENDING;
+    
+    @Column(name = "total_orders", nullable = false)
+    private Integer totalOrders = 0;
+    
+    @Column(name = "processed_orders", nullable = false)
+    private Integer processedOrders = 0;
+    
+    @Column(name = "skipped_orders", nullable = false)
+    private Integer skippedOrders = 0;
+    
+    @Column(name = "failed_chunks", nullable = false)
+    private Integer failedChunks = 0;
+    
+    @Column(name = "last_error")
+    private String lastError;
+    
+    @Column(name = "started_at")
+    private LocalDateTime startedAt;
+    
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+    
+    // Constructors
+    public BulkOrderJob() {}
+    
+    public BulkOrderJob(Operation operation, Order.OrderStatus targetStatus, Integer totalOrders) {
+        this.operation = operation;
+        this.targetStatus = targetStatus;
+        this.totalOrders = totalOrders;
+    }
+    
+    // Getters and Setters
+    public Operation getOperation() {
+        return operation;
+    }
+    
+    public void setOperation(Operation operation) {
+        this.operation = operation;
+    }
+    
+    public Order.OrderStatus getTargetStatus() {
+        return targetStatus;
+    }
+    
+    public void setTargetStatus(Order.OrderStatus targetStatus) {
+        this.targetStatus = targetStatus;
+    }
+    
+    public JobStatus getStatus() {
+        return status;
+    }
+    
+    public void setStatus(JobStatus status) {
+        this.status = status;
+    }
+    
+    public Integer getTotalOrders() {
+        return totalOrders;
+    }
+    
+    public void setTotalOrders(Integer totalOrders) {
+        this.totalOrders = totalOrders;
+    }
+    
+    public Integer getProcessedOrders() {
+        return processedOrders;
+    }
+    
+    public void setProcessedOrders(Integer processedOrders) {
+        this.processedOrders = processedOrders;
+    }
+    
+    public Integer getSkippedOrders() {
+        return skippedOrders;
+    }
+    
+    public void setSkippedOrders(Integer skippedOrders) {
+        this.skippedOrders = skippedOrders;
+    }
+    
+    public Integer getFailedChunks() {
+        return failedChunks;
+    }
+    
+    public void setFailedChunks(Integer failedChunks) {
+        this.failedChunks = failedChunks;
+    }
+    
+    public String getLastError() {
+        return lastError;
+    }
+    
+    public void setLastError(String lastError) {
+        this.lastError = lastError;
+    }
+    
+    public LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+    
+    public void setStartedAt(LocalDateTime startedAt) {
+        this.startedAt = startedAt;
+    }
+    
+    public LocalDateTime getCompletedAt() {
+        return completedAt;
+    }
+    
+    public void setCompletedAt(LocalDateTime completedAt) {
+        this.completedAt = completedAt;
+    }
+    
+    public enum Operation {
+        CANCEL,
+        UPDATE_STATUS
+    }
+    
+    public enum JobStatus {
+        PENDING,
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+}
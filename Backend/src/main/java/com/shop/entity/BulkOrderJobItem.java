@@ -0,0 +1,87 @@
+package com.shop.entity;
+
+import jakarta.persistence.*;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * An order targeted by a {@link BulkOrderJob}. Rows are inserted in JDBC
+ * batches by {@link com.shop.service.BulkOrderService}; the processed flag
+ * lets a resumed job skip orders whose chunk already committed.
+ */
+@Entity
+@Table(name = "bulk_order_job_items")
+@IdClass(BulkOrderJobItem.Key.class)
+public class BulkOrderJobItem {
+    
+    @Id
+    @Column(name = "job_id")
+    private Long jobId;
+    
+    @Id
+    @Column(name = "order_id")
+    private Long orderId;
+    
+    @Column(name = "processed", nullable = false)
+    private Boolean processed = false;
+    
+    // Constructors
+    public BulkOrderJobItem() {}
+    
+    public BulkOrderJobItem(Long jobId, Long orderId) {
+        this.jobId = jobId;
+        this.orderId = orderId;
+    }
+    
+    // Getters and Setters
+    public Long getJobId() {
+        return jobId;
+    }
+    
+    public void setJobId(Long jobId) {
+        this.jobId = jobId;
+    }
+    
+    public Long getOrderId() {
+        return orderId;
+    }
+    
+    public void setOrderId(Long orderId) {
+        this.orderId = orderId;
+    }
+    
+    public Boolean getProcessed() {
+        return processed;
+    }
+    
+    public void setProcessed(Boolean processed) {
+        this.processed = processed;
+    }
+    
+    public static class Key implements Serializable {
+        
+        private Long jobId;
+        private Long orderId;
+        
+        public Key() {}
+        
+        public Key(Long jobId, Long orderId) {
+            this.jobId = jobId;
+            this.orderId = orderId;
+        }
+        
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            Key key = (Key) o;
+            return Objects.equals(jobId, key.jobId) && Objects.equals(orderId, key.orderId);
+        }
+        
+        @Override
+        public int hashCode() {
+            return Objects.hash(jobId, orderId);
+        }
+    }
+}
@@ -1,6 +1,9 @@
 package com.shop.entity;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
 
@@ -8,6 +11,8 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "categories")
 @Table(name = "categories")
 public class Category extends BaseEntity {
     
@@ -20,6 +25,10 @@ public class Category extends BaseEntity {
     @Column(name = "description")
     private String description;
     
+    @Min(value = 0, message = "Low stock threshold cannot be negative")
+    @Column(name = "low_stock_threshold")
+    private Integer lowStockThreshold;
+    
     @OneToMany(mappedBy = "category", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private List<Product> products = new ArrayList<>();
     
@@ -48,6 +57,14 @@ public class Category extends BaseEntity {
         this.description = description;
     }
     
+    public Integer getLowStockThreshold() {
+        return lowStockThreshold;
+    }
+    
+    public void setLowStockThreshold(Integer lowStockThreshold) {
+        this.lowStockThreshold = lowStockThreshold;
+    }
+    
     public List<Product> getProducts() {
         return products;
     }
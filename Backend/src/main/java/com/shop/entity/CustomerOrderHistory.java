@@ -0,0 +1,121 @@
+package com.shop.entity;
+
+import jakarta.persistence.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Read model row summarizing one order for its customer's order history.
+ * Written by {@link com.shop.service.OrderService} alongside the order itself.
+ */
+@Entity
+@Table(name = "customer_order_history",
+       indexes = @Index(name = "idx_customer_order_history_user_date", columnList = "user_id, order_date DESC, order_id DESC"))
+public class CustomerOrderHistory {
+    
+    @Id
+    @Column(name = "order_id")
+    private Long orderId;
+    
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+    
+    @Column(name = "order_number", nullable = false)
+    private String orderNumber;
+    
+    @Column(name = "order_date", nullable = false)
+    private LocalDateTime orderDate;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false)
+    private Order.OrderStatus status;
+    
+    @Column(name = "total_amount", nullable = false, precision = 10, scale = 2)
+    private BigDecimal totalAmount;
+    
+    @Column(name = "total_items", nullable = false)
+    private Integer totalItems;
+    
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+    
+    // Constructors
+    public CustomerOrderHistory() {}
+    
+    public CustomerOrderHistory(Order order) {
+        this.orderId = order.getId();
+        this.userId = order.getUser().getId();
+        this.orderNumber = order.getOrderNumber();
+        this.orderDate = order.getOrderDate();
+        this.status = order.getStatus();
+        this.totalAmount = order.getTotalAmount();
+        this.totalItems = order.getTotalItems();
+        this.updatedAt = LocalDateTime.now();
+    }
+    
+    // Getters and Setters
+    public Long getOrderId() {
+        return orderId;
+    }
+    
+    public void setOrderId(Long orderId) {
+        this.orderId = orderId;
+    }
+    
+    public Long getUserId() {
+        return userId;
+    }
+    
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+    
+    public String getOrderNumber() {
+        return orderNumber;
+    }
+    
+    public void setOrderNumber(String orderNumber) {
+        this.orderNumber = orderNumber;
+    }
+    
+    public LocalDateTime getOrderDate() {
+        return orderDate;
+    }
+    
+    public void setOrderDate(LocalDateTime orderDate) {
+        this.orderDate = orderDate;
+    }
+    
+    public Order.OrderStatus getStatus() {
+        return status;
+    }
+    
+    public void setStatus(Order.OrderStatus status) {
+        this.status = status;
+    }
+    
+    public BigDecimal getTotalAmount() {
+        return totalAmount;
+    }
+    
+    public void setTotalAmount(BigDecimal totalAmount) {
+        this.totalAmount = totalAmount;
+    }
+    
+    public Integer getTotalItems() {
+        return totalItems;
+    }
+    
+    public void setTotalItems(Integer totalItems) {
+        this.totalItems = totalItems;
+    }
+    
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+    
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
@@ -6,7 +6,12 @@ import jakarta.validation.constraints.NotNull;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 @Entity
 @Table(name = "orders")
@@ -151,6 +156,11 @@ public class Order extends BaseEntity {
                 .sum();
     }
     
+    /**
+     * Order lifecycle: PENDING, CONFIRMED, PROCESSING, SHIPPED, DELIVERED.
+     * Orders can be cancelled until they ship and refunded once delivered;
+     * CANCELLED and REFUNDED are final.
+     */
     public enum OrderStatus {
         PENDING,
         CONFIRMED,
@@ -158,6 +168,33 @@ public class Order extends BaseEntity {
         SHIPPED,
         DELIVERED,
         CANCELLED,
-        REFUNDED
+        REFUNDED;
+        
+        private static final Map<OrderStatus, Set<OrderStatus>> PREDECESSORS = new EnumMap<>(OrderStatus.class);
+        
+        static {
+            allow(PENDING, CONFIRMED, CANCELLED);
+            allow(CONFIRMED, PROCESSING, CANCELLED);
+            allow(PROCESSING, SHIPPED, CANCELLED);
+            allow(SHIPPED, DELIVERED);
+            allow(DELIVERED, REFUNDED);
+        }
+        
+        private static void allow(OrderStatus from, OrderStatus... targets) {
+            for (OrderStatus target : targets) {
+                PREDECESSORS.computeIfAbsent(target, status -> EnumSet.noneOf(OrderStatus.class)).add(from);
+            }
+        }
+        
+        /**
+         * Returns the statuses an order may move to this status from; empty for PENDING.
+         */
+        public Set<OrderStatus> predecessors() {
+            return Collections.unmodifiableSet(PREDECESSORS.getOrDefault(this, EnumSet.noneOf(OrderStatus.class)));
+        }
+        
+        public boolean canTransitionTo(OrderStatus target) {
+            return target.predecessors().contains(this);
+        }
     }
 }
\ No newline at end of file
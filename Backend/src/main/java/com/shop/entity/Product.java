@@ -1,6 +1,8 @@
 package com.shop.entity;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import jakarta.validation.constraints.*;
 
 import java.math.BigDecimal;
@@ -8,6 +10,8 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "products")
 @Table(name = "products")
 public class Product extends BaseEntity {
     
@@ -40,6 +44,10 @@ public class Product extends BaseEntity {
     @Column(name = "is_active", nullable = false)
     private Boolean isActive = true;
     
+    @Min(value = 0, message = "Low stock threshold cannot be negative")
+    @Column(name = "low_stock_threshold")
+    private Integer lowStockThreshold;
+    
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "category_id")
     private Category category;
@@ -114,6 +122,14 @@ public class Product extends BaseEntity {
         this.isActive = isActive;
     }
     
+    public Integer getLowStockThreshold() {
+        return lowStockThreshold;
+    }
+    
+    public void setLowStockThreshold(Integer lowStockThreshold) {
+        this.lowStockThreshold = lowStockThreshold;
+    }
+    
     public Category getCategory() {
         return category;
     }
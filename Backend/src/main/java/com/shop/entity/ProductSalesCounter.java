@@ -0,0 +1,58 @@
+package com.shop.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Running total of units sold per product. Rows are written in batches by
+ * {@link com.shop.service.ProductSalesService}, never through this entity.
+ */
+@Entity
+@Table(name = "product_sales_counters")
+public class ProductSalesCounter {
+    
+    @Id
+    @Column(name = "product_id")
+    private Long productId;
+    
+    @Column(name = "quantity_sold", nullable = false)
+    private Long quantitySold = 0L;
+    
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+    
+    // Constructors
+    public ProductSalesCounter() {}
+    
+    public ProductSalesCounter(Long productId, Long quantitySold) {
+        this.productId = productId;
+        this.quantitySold = quantitySold;
+        this.updatedAt = LocalDateTime.now();
+    }
+    
+    // Getters and Setters
+    public Long getProductId() {
+        return productId;
+    }
+    
+    public void setProductId(Long productId) {
+        this.productId = productId;
+    }
+    
+    public Long getQuantitySold() {
+        return quantitySold;
+    }
+    
+    public void setQuantitySold(Long quantitySold) {
+        this.quantitySold = quantitySold;
+    }
+    
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+    
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
@@ -0,0 +1,22 @@
+package com.shop.exception;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+/**
+ * Thrown at checkout when products no longer cost what the customer was
+ * shown. Carries the current prices so the cart can be updated for review.
+ */
+public class PriceChangedException extends IllegalArgumentException {
+    
+    private final Map<Long, BigDecimal> currentPrices;
+    
+    public PriceChangedException(Map<Long, BigDecimal> currentPrices) {
+        super("Prices changed for products " + currentPrices.keySet() + ", please review the cart");
+        this.currentPrices = currentPrices;
+    }
+    
+    public Map<Long, BigDecimal> getCurrentPrices() {
+        return currentPrices;
+    }
+}
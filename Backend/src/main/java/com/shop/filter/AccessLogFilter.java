@@ -0,0 +1,111 @@
+package com.shop.filter;
+
+import com.shop.config.AccessLogProperties;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.core.annotation.Order;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.context.RequestAttributeSecurityContextRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static net.logstash.logback.argument.StructuredArguments.kv;
+
+/**
+ * Writes structured request logs in place of per-method controller logging.
+ * <p>
+ * Reads are sampled per endpoint, keyed by the handler pattern so ids and
+ * query strings (which may carry search terms) never reach the log. Slow
+ * requests and server errors are always logged. Successful writes go to the
+ * {@code com.shop.audit} logger unsampled, with the caller's subject.
+ * <p>
+ * Runs ahead of the security filter chain so that requests it rejects with
+ * 401 or 403 are logged too. The security context is cleared by the time the
+ * chain returns, so the subject is read from the request attribute the bearer
+ * token filter stores it in.
+ */
+@Component
+@Order(SecurityProperties.DEFAULT_FILTER_ORDER - 1)
+@EnableConfigurationProperties(AccessLogProperties.class)
+@ConditionalOnProperty(prefix = "app.logging.access", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class AccessLogFilter extends OncePerRequestFilter {
+    
+    private static final Logger accessLogger = LoggerFactory.getLogger("com.shop.access");
+    private static final Logger auditLogger = LoggerFactory.getLogger("com.shop.audit");
+    
+    private static final Set<String> WRITE_METHODS = Set.of("POST", "PUT", "PATCH", "DELETE");
+    
+    private final AccessLogProperties properties;
+    
+    @Autowired
+    public AccessLogFilter(AccessLogProperties properties) {
+        this.properties = properties;
+    }
+    
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        long start = System.nanoTime();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            long durationMs = (System.nanoTime() - start) / 1_000_000;
+            log(request, response.getStatus(), durationMs);
+        }
+    }
+    
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return request.getRequestURI().startsWith("/actuator");
+    }
+    
+    private void log(HttpServletRequest request, int status, long durationMs) {
+        String method = request.getMethod();
+        String endpoint = endpoint(request);
+        
+        if (WRITE_METHODS.contains(method) && status < 400) {
+            auditLogger.info("{} {} {} {}",
+                    kv("method", method), kv("path", request.getRequestURI()), kv("status", status), kv("subject", subject(request)));
+            return;
+        }
+        
+        if (status >= 500 || durationMs >= properties.getSlowThreshold().toMillis() || sampled(method, endpoint)) {
+            accessLogger.info("{} {} {} {}",
+                    kv("method", method), kv("endpoint", endpoint), kv("status", status), kv("durationMs", durationMs));
+        }
+    }
+    
+    private boolean sampled(String method, String endpoint) {
+        double rate = properties.getEndpointSampleRates().getOrDefault(method + " " + endpoint, properties.getSampleRate());
+        return rate > 0 && (rate >= 1 || ThreadLocalRandom.current().nextDouble() < rate);
+    }
+    
+    private String endpoint(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern != null ? pattern.toString() : "unmapped";
+    }
+    
+    private String subject(HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null
+                && request.getAttribute(RequestAttributeSecurityContextRepository.DEFAULT_REQUEST_ATTR_NAME) instanceof SecurityContext saved) {
+            authentication = saved.getAuthentication();
+        }
+        return authentication != null ? authentication.getName() : "anonymous";
+    }
+}
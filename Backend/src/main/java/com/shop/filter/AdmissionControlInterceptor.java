@@ -0,0 +1,106 @@
+package com.shop.filter;
+
+import com.shop.config.RateLimitProperties;
+import com.shop.exception.TooManyRequestsException;
+import com.shop.support.TokenBucketLimiter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Admits or rejects requests before they reach a controller. Each client,
+ * identified by JWT subject or else by remote address, has a token bucket
+ * from which every request takes the endpoint's cost. Endpoints marked
+ * expensive additionally share a fixed number of slots, kept below the
+ * connection pool size so that scans are shed with 429 before they queue for
+ * connections.
+ */
+@Component
+@EnableConfigurationProperties(RateLimitProperties.class)
+public class AdmissionControlInterceptor implements HandlerInterceptor {
+    
+    private static final String PERMIT_ATTRIBUTE = AdmissionControlInterceptor.class.getName() + ".permit";
+    
+    private final RateLimitProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final TokenBucketLimiter limiter;
+    private final Semaphore expensiveSlots;
+    
+    @Autowired
+    public AdmissionControlInterceptor(RateLimitProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.limiter = new TokenBucketLimiter(properties.getCapacity(), properties.getRefillPerSecond());
+        this.expensiveSlots = new Semaphore(properties.getMaxConcurrentExpensive());
+        int maxConcurrent = properties.getMaxConcurrentExpensive();
+        meterRegistry.gauge("http.server.requests.rate-limit.clients", limiter, TokenBucketLimiter::size);
+        meterRegistry.gauge("http.server.requests.expensive.active", expensiveSlots,
+                slots -> maxConcurrent - slots.availablePermits());
+    }
+    
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        // Async dispatches of streaming responses were admitted with the original request
+        if (!properties.isEnabled() || request.getDispatcherType() != DispatcherType.REQUEST) {
+            return true;
+        }
+        
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "unmapped";
+        String endpoint = request.getMethod() + " " + uri;
+        
+        long waitNanos = limiter.tryAcquire(clientKey(request), properties.cost(endpoint));
+        if (waitNanos > 0) {
+            reject(request, uri, "rate");
+            throw new TooManyRequestsException("Request rate limit exceeded", Duration.ofNanos(waitNanos));
+        }
+        
+        if (properties.isExpensive(endpoint)) {
+            if (!expensiveSlots.tryAcquire()) {
+                reject(request, uri, "concurrency");
+                throw new TooManyRequestsException("Too many concurrent requests for this endpoint", Duration.ofSeconds(1));
+            }
+            request.setAttribute(PERMIT_ATTRIBUTE, Boolean.TRUE);
+        }
+        return true;
+    }
+    
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        if (request.getAttribute(PERMIT_ATTRIBUTE) != null) {
+            request.removeAttribute(PERMIT_ATTRIBUTE);
+            expensiveSlots.release();
+        }
+    }
+    
+    @Scheduled(fixedDelayString = "${app.rate-limit.eviction-interval-ms:60000}")
+    public void evictIdleClients() {
+        limiter.evictIdle();
+    }
+    
+    private String clientKey(HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication instanceof JwtAuthenticationToken jwt) {
+            return "sub:" + jwt.getName();
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+    
+    private void reject(HttpServletRequest request, String uri, String reason) {
+        meterRegistry.counter("http.server.requests.rejected",
+                "method", request.getMethod(), "uri", uri, "reason", reason).increment();
+    }
+}
@@ -0,0 +1,92 @@
+package com.shop.filter;
+
+import com.shop.config.SqlMonitoringProperties;
+import com.shop.support.SqlStatistics;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * Measures the SQL issued while serving each request and checks it against
+ * the endpoint's budget from {@code app.sql.budget}. Every request records
+ * {@code http.server.requests.sql.*} metrics; requests over budget log a
+ * warning naming the slowest statement and increment {@code sql.budget.exceeded}.
+ * The measured {@link SqlStatistics} are left on the request under
+ * {@link #STATISTICS_ATTRIBUTE} for tests.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class SqlBudgetFilter extends OncePerRequestFilter {
+    
+    public static final String STATISTICS_ATTRIBUTE = SqlBudgetFilter.class.getName() + ".statistics";
+    
+    private static final Logger logger = LoggerFactory.getLogger(SqlBudgetFilter.class);
+    
+    private final SqlMonitoringProperties properties;
+    private final MeterRegistry meterRegistry;
+    
+    @Autowired
+    public SqlBudgetFilter(SqlMonitoringProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+    
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        SqlStatistics statistics = SqlStatistics.begin();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            SqlStatistics.end();
+            request.setAttribute(STATISTICS_ATTRIBUTE, statistics);
+            check(request, statistics);
+        }
+    }
+    
+    private void check(HttpServletRequest request, SqlStatistics statistics) {
+        if (statistics.getQueryCount() == 0) {
+            return;
+        }
+        
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "unmapped";
+        Tags tags = Tags.of("method", request.getMethod(), "uri", uri);
+        
+        DistributionSummary.builder("http.server.requests.sql.queries")
+                .description("SQL statements executed per request")
+                .tags(tags)
+                .register(meterRegistry)
+                .record(statistics.getQueryCount());
+        meterRegistry.timer("http.server.requests.sql.time", tags).record(statistics.getTotalTime());
+        
+        SqlMonitoringProperties.Budget budget = properties.getBudget();
+        if (!budget.isEnabled()) {
+            return;
+        }
+        String endpoint = request.getMethod() + " " + uri;
+        int maxQueries = budget.maxQueries(endpoint);
+        Duration maxTime = budget.maxTime(endpoint);
+        if (statistics.getQueryCount() > maxQueries || statistics.getTotalTime().compareTo(maxTime) > 0) {
+            meterRegistry.counter("sql.budget.exceeded", tags).increment();
+            logger.warn("SQL budget exceeded for {}: {} queries (budget {}), {} ms (budget {} ms), slowest {} ms: {}",
+                    endpoint, statistics.getQueryCount(), maxQueries, statistics.getTotalTime().toMillis(),
+                    maxTime.toMillis(), statistics.getSlowestTime().toMillis(), statistics.getSlowestQuery());
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.shop.mapper;
+
+import com.shop.dto.BulkOrderJobDto;
+import com.shop.entity.BulkOrderJob;
+import org.mapstruct.Mapper;
+
+@Mapper(componentModel = "spring")
+public interface BulkOrderJobMapper {
+    
+    BulkOrderJobDto toDto(BulkOrderJob job);
+}
@@ -15,6 +15,7 @@ public interface OrderItemMapper {
     @Mapping(source = "order.id", target = "orderId")
     @Mapping(source = "product.id", target = "productId")
     @Mapping(source = "product.name", target = "productName")
+    @Mapping(source = "product.sku", target = "productSku")
     OrderItemDto toDto(OrderItem orderItem);
     
     @Mapping(source = "orderId", target = "order.id")
@@ -5,11 +5,12 @@ import com.shop.entity.Order;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import org.mapstruct.MappingTarget;
+import org.mapstruct.Named;
 import org.mapstruct.NullValuePropertyMappingStrategy;
 
 import java.util.List;
 
-@Mapper(componentModel = "spring", nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
+@Mapper(componentModel = "spring", uses = OrderItemMapper.class, nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
 public interface OrderMapper {
     
     @Mapping(source = "user.id", target = "userId")
@@ -17,6 +18,13 @@ public interface OrderMapper {
     @Mapping(target = "orderItems", ignore = true)
     OrderDto toDto(Order order);
     
+    // Only call on orders whose user, items and item products are already loaded, either fetched with
+    // OrderRepository.findDetailById or created in the current transaction; anything else loads lazily per item
+    @Named("withItems")
+    @Mapping(source = "user.id", target = "userId")
+    @Mapping(source = "user.username", target = "userName")
+    OrderDto toDetailDto(Order order);
+    
     @Mapping(source = "userId", target = "user.id")
     @Mapping(target = "version", ignore = true)
     @Mapping(target = "orderItems", ignore = true)
@@ -26,8 +34,16 @@ public interface OrderMapper {
     
     List<Order> toEntityList(List<OrderDto> orderDtos);
     
+    // Status changes go through OrderService.updateOrderStatus and cancelOrder
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "orderNumber", ignore = true)
+    @Mapping(target = "orderDate", ignore = true)
+    @Mapping(target = "status", ignore = true)
+    @Mapping(target = "totalAmount", ignore = true)
     @Mapping(target = "user", ignore = true)
     @Mapping(target = "orderItems", ignore = true)
+    @Mapping(target = "createdAt", ignore = true)
+    @Mapping(target = "updatedAt", ignore = true)
     @Mapping(target = "version", ignore = true)
     void updateEntityFromDto(OrderDto orderDto, @MappingTarget Order order);
 }
\ No newline at end of file
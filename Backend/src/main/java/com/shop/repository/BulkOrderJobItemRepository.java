@@ -0,0 +1,22 @@
+package com.shop.repository;
+
+import com.shop.entity.BulkOrderJobItem;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface BulkOrderJobItemRepository extends JpaRepository<BulkOrderJobItem, BulkOrderJobItem.Key> {
+    
+    @Query("SELECT i.orderId FROM BulkOrderJobItem i WHERE i.jobId = :jobId AND i.processed = false ORDER BY i.orderId")
+    List<Long> findPendingOrderIds(@Param("jobId") Long jobId);
+    
+    @Modifying
+    @Query("UPDATE BulkOrderJobItem i SET i.processed = true WHERE i.jobId = :jobId AND i.orderId IN :orderIds")
+    int markProcessed(@Param("jobId") Long jobId, @Param("orderIds") Collection<Long> orderIds);
+}
@@ -0,0 +1,41 @@
+package com.shop.repository;
+
+import com.shop.entity.BulkOrderJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+@Repository
+public interface BulkOrderJobRepository extends JpaRepository<BulkOrderJob, Long> {
+    
+    /**
+     * Moves the job to RUNNING unless another run holds it, so that only one
+     * caller starts chunks for it. A RUNNING job whose chunks have committed
+     * nothing since {@code staleBefore} is taken to be interrupted by a restart.
+     */
+    @Modifying
+    @Query("UPDATE BulkOrderJob j SET j.status = :running, j.failedChunks = 0, j.lastError = NULL, j.completedAt = NULL, " +
+           "j.startedAt = COALESCE(j.startedAt, :now), j.updatedAt = :now, j.version = j.version + 1 " +
+           "WHERE j.id = :id AND (j.status IN :claimable OR (j.status = :running AND j.updatedAt < :staleBefore))")
+    int claim(@Param("id") Long id,
+              @Param("running") BulkOrderJob.JobStatus running,
+              @Param("claimable") Collection<BulkOrderJob.JobStatus> claimable,
+              @Param("now") LocalDateTime now,
+              @Param("staleBefore") LocalDateTime staleBefore);
+    
+    // Counters are incremented in SQL because chunks of the same job commit concurrently
+    @Modifying
+    @Query("UPDATE BulkOrderJob j SET j.processedOrders = j.processedOrders + :processed, " +
+           "j.skippedOrders = j.skippedOrders + :skipped, j.updatedAt = LOCAL_DATETIME WHERE j.id = :id")
+    int incrementProgress(@Param("id") Long id, @Param("processed") int processed, @Param("skipped") int skipped);
+    
+    @Modifying
+    @Query("UPDATE BulkOrderJob j SET j.failedChunks = j.failedChunks + 1, j.lastError = :error, " +
+           "j.updatedAt = LOCAL_DATETIME WHERE j.id = :id")
+    int recordFailedChunk(@Param("id") Long id, @Param("error") String error);
+}
@@ -0,0 +1,37 @@
+package com.shop.repository;
+
+import com.shop.dto.OrderSummaryDto;
+import com.shop.entity.CustomerOrderHistory;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface CustomerOrderHistoryRepository extends JpaRepository<CustomerOrderHistory, Long> {
+    
+    @Query("SELECT new com.shop.dto.OrderSummaryDto(h.orderId, h.orderNumber, h.orderDate, h.status, h.totalAmount, h.totalItems) " +
+           "FROM CustomerOrderHistory h WHERE h.userId = :userId ORDER BY h.orderDate DESC, h.orderId DESC")
+    List<OrderSummaryDto> findLatestByUserId(@Param("userId") Long userId, Limit limit);
+    
+    // Keyset page after (orderDate, orderId), in the order of idx_customer_order_history_user_date
+    @Query("SELECT new com.shop.dto.OrderSummaryDto(h.orderId, h.orderNumber, h.orderDate, h.status, h.totalAmount, h.totalItems) " +
+           "FROM CustomerOrderHistory h WHERE h.userId = :userId " +
+           "AND (h.orderDate < :orderDate OR (h.orderDate = :orderDate AND h.orderId < :orderId)) " +
+           "ORDER BY h.orderDate DESC, h.orderId DESC")
+    List<OrderSummaryDto> findByUserIdBefore(@Param("userId") Long userId,
+                                             @Param("orderDate") LocalDateTime orderDate,
+                                             @Param("orderId") Long orderId,
+                                             Limit limit);
+    
+    @Modifying
+    @Query("UPDATE CustomerOrderHistory h SET h.status = (SELECT o.status FROM Order o WHERE o.id = h.orderId), " +
+           "h.updatedAt = :now WHERE h.orderId IN :orderIds")
+    int syncStatusByOrderIdIn(@Param("orderIds") Collection<Long> orderIds, @Param("now") LocalDateTime now);
+}
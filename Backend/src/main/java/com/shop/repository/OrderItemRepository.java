@@ -6,6 +6,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -21,9 +22,22 @@ public interface OrderItemRepository extends JpaRepository<OrderItem, Long> {
     @Query("SELECT oi FROM OrderItem oi LEFT JOIN FETCH oi.product WHERE oi.order.id = :orderId")
     List<OrderItem> findByOrderIdWithProduct(@Param("orderId") Long orderId);
     
+    @Query("SELECT oi FROM OrderItem oi JOIN FETCH oi.product WHERE oi.order.id IN :orderIds ORDER BY oi.order.id, oi.id")
+    List<OrderItem> findByOrderIdInWithProduct(@Param("orderIds") Collection<Long> orderIds);
+    
     @Query("SELECT COUNT(oi) FROM OrderItem oi WHERE oi.order.id = :orderId")
     Long countByOrderId(@Param("orderId") Long orderId);
     
     @Query("SELECT SUM(oi.quantity) FROM OrderItem oi WHERE oi.product.id = :productId")
     Long getTotalQuantitySoldForProduct(@Param("productId") Long productId);
-}
\ No newline at end of file
+    
+    @Query("SELECT oi.product.id AS productId, SUM(oi.quantity) AS quantity FROM OrderItem oi " +
+           "WHERE oi.order.id IN :orderIds GROUP BY oi.product.id ORDER BY oi.product.id")
+    List<ProductQuantity> sumQuantityByProductForOrders(@Param("orderIds") Collection<Long> orderIds);
+    
+    interface ProductQuantity {
+        Long getProductId();
+        
+        Long getQuantity();
+    }
+}
@@ -1,19 +1,22 @@
 package com.shop.repository;
 
+import com.shop.dto.OrderSummaryDto;
 import com.shop.entity.Order;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface OrderRepository extends JpaRepository<Order, Long> {
+public interface OrderRepository extends JpaRepository<Order, Long>, OrderRepositoryCustom {
     
     List<Order> findByUserId(Long userId);
     
@@ -38,11 +41,51 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
     @Query("SELECT o FROM Order o LEFT JOIN FETCH o.user LEFT JOIN FETCH o.orderItems WHERE o.id = :id")
     Optional<Order> findByIdWithUserAndOrderItems(@Param("id") Long id);
     
+    @Query("SELECT DISTINCT o FROM Order o JOIN FETCH o.user LEFT JOIN FETCH o.orderItems oi LEFT JOIN FETCH oi.product WHERE o.id = :id")
+    Optional<Order> findDetailById(@Param("id") Long id);
+    
     @Query("SELECT COUNT(o) FROM Order o WHERE o.user.id = :userId")
     Long countByUserId(@Param("userId") Long userId);
     
     boolean existsByOrderNumber(String orderNumber);
     
-    @Query("SELECT o FROM Order o WHERE o.orderNumber LIKE %:keyword% OR o.user.username LIKE %:keyword% OR o.user.email LIKE %:keyword%")
-    Page<Order> findByKeyword(@Param("keyword") String keyword, Pageable pageable);
-}
\ No newline at end of file
+    @Query(value = "SELECT new com.shop.dto.OrderSummaryDto(o.id, o.orderNumber, o.orderDate, o.status, o.totalAmount, SUM(oi.quantity), u.username) " +
+                   "FROM Order o JOIN o.user u LEFT JOIN o.orderItems oi " +
+                   "GROUP BY o.id, o.orderNumber, o.orderDate, o.status, o.totalAmount, u.username",
+           countQuery = "SELECT COUNT(o) FROM Order o")
+    Page<OrderSummaryDto> findAllSummaries(Pageable pageable);
+    
+    @Query(value = "SELECT new com.shop.dto.OrderSummaryDto(o.id, o.orderNumber, o.orderDate, o.status, o.totalAmount, SUM(oi.quantity), u.username) " +
+                   "FROM Order o JOIN o.user u LEFT JOIN o.orderItems oi WHERE u.id = :userId " +
+                   "GROUP BY o.id, o.orderNumber, o.orderDate, o.status, o.totalAmount, u.username",
+           countQuery = "SELECT COUNT(o) FROM Order o WHERE o.user.id = :userId")
+    Page<OrderSummaryDto> findSummariesByUserId(@Param("userId") Long userId, Pageable pageable);
+    
+    @Query(value = "SELECT new com.shop.dto.OrderSummaryDto(o.id, o.orderNumber, o.orderDate, o.status, o.totalAmount, SUM(oi.quantity), u.username) " +
+                   "FROM Order o JOIN o.user u LEFT JOIN o.orderItems oi WHERE o.status = :status " +
+                   "GROUP BY o.id, o.orderNumber, o.orderDate, o.status, o.totalAmount, u.username",
+           countQuery = "SELECT COUNT(o) FROM Order o WHERE o.status = :status")
+    Page<OrderSummaryDto> findSummariesByStatus(@Param("status") Order.OrderStatus status, Pageable pageable);
+    
+    // Row locks are taken in id order so concurrent bulk chunks cannot deadlock each other
+    @Query(value = "SELECT o.id FROM orders o WHERE o.id IN (:ids) AND o.status IN (:statuses) " +
+                   "ORDER BY o.id FOR UPDATE", nativeQuery = true)
+    List<Long> lockIdsWithStatusIn(@Param("ids") Collection<Long> ids, @Param("statuses") Collection<String> statuses);
+    
+    // SKIP LOCKED lets reapers on several instances claim disjoint batches instead of queueing behind each other
+    @Query(value = "SELECT o.id FROM orders o WHERE o.status = 'PENDING' AND o.order_date < :cutoff " +
+                   "ORDER BY o.order_date, o.id LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<Long> lockPendingIdsOrderedBefore(@Param("cutoff") LocalDateTime cutoff, @Param("limit") int limit);
+    
+    @Query("SELECT o.status FROM Order o WHERE o.id = :id")
+    Optional<Order.OrderStatus> findStatusById(@Param("id") Long id);
+    
+    // Guarded by the current status, so no entity load or version check is needed
+    @Modifying
+    @Query("UPDATE Order o SET o.status = :target, o.updatedAt = :now, o.version = o.version + 1 " +
+           "WHERE o.id IN :ids AND o.status IN :sources")
+    int transitionStatusByIdIn(@Param("ids") Collection<Long> ids,
+                               @Param("sources") Collection<Order.OrderStatus> sources,
+                               @Param("target") Order.OrderStatus target,
+                               @Param("now") LocalDateTime now);
+}
@@ -0,0 +1,16 @@
+package com.shop.repository;
+
+import com.shop.entity.Order;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+public interface OrderRepositoryCustom {
+    
+    /**
+     * Case-insensitive substring search over order number, username and email.
+     * Keywords that look like an order number prefix only search order numbers.
+     * The page total is exact up to the configured count limit and a planner
+     * estimate beyond it.
+     */
+    Page<Order> searchByKeyword(String keyword, Pageable pageable);
+}
@@ -0,0 +1,145 @@
+package com.shop.repository;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.shop.entity.Order;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Admin order search backed by the trigram and prefix indexes from
+ * {@code V5__Add_order_search_indexes.sql}. Matching ids are selected with
+ * native SQL, then the page of orders is loaded with their users in one query.
+ */
+public class OrderRepositoryImpl implements OrderRepositoryCustom {
+    
+    private static final Logger logger = LoggerFactory.getLogger(OrderRepositoryImpl.class);
+    
+    private static final Pattern ORDER_NUMBER_PREFIX = Pattern.compile("^ORD-[0-9A-Z-]*$", Pattern.CASE_INSENSITIVE);
+    
+    private static final String PREFIX_MATCHES =
+            "SELECT o.id FROM orders o WHERE o.order_number LIKE :pattern";
+    
+    private static final String SUBSTRING_MATCHES =
+            "SELECT o.id FROM orders o WHERE o.order_number ILIKE :pattern " +
+            "UNION " +
+            "SELECT o.id FROM orders o JOIN users u ON u.id = o.user_id WHERE u.username ILIKE :pattern OR u.email ILIKE :pattern";
+    
+    private static final Map<String, String> SORT_COLUMNS = Map.of(
+            "id", "o.id",
+            "orderDate", "o.order_date",
+            "orderNumber", "o.order_number",
+            "status", "o.status",
+            "totalAmount", "o.total_amount");
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final int countLimit;
+    
+    private volatile Boolean postgres;
+    
+    @Autowired
+    public OrderRepositoryImpl(NamedParameterJdbcTemplate jdbcTemplate,
+                               ObjectMapper objectMapper,
+                               @Value("${app.order-search.count-limit:1000}") int countLimit) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.countLimit = countLimit;
+    }
+    
+    @Override
+    public Page<Order> searchByKeyword(String keyword, Pageable pageable) {
+        String trimmed = keyword.trim();
+        boolean prefixSearch = ORDER_NUMBER_PREFIX.matcher(trimmed).matches();
+        String matches = prefixSearch ? PREFIX_MATCHES : SUBSTRING_MATCHES;
+        String pattern = prefixSearch
+                ? escapeLike(trimmed.toUpperCase(Locale.ROOT)) + "%"
+                : "%" + escapeLike(trimmed) + "%";
+        
+        MapSqlParameterSource parameters = new MapSqlParameterSource()
+                .addValue("pattern", pattern)
+                .addValue("limit", pageable.getPageSize())
+                .addValue("offset", pageable.getOffset());
+        List<Long> ids = jdbcTemplate.queryForList(
+                "SELECT o.id FROM orders o WHERE o.id IN (" + matches + ") ORDER BY " + orderBy(pageable.getSort()) +
+                " LIMIT :limit OFFSET :offset", parameters, Long.class);
+        
+        return PageableExecutionUtils.getPage(load(ids), pageable, () -> count(matches, parameters));
+    }
+    
+    private List<Order> load(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Order> ordersById = entityManager
+                .createQuery("SELECT o FROM Order o JOIN FETCH o.user WHERE o.id IN :ids", Order.class)
+                .setParameter("ids", ids)
+                .getResultList().stream()
+                .collect(Collectors.toMap(Order::getId, Function.identity()));
+        return ids.stream().map(ordersById::get).collect(Collectors.toList());
+    }
+    
+    /**
+     * Counts exactly up to the count limit; beyond it the planner's row
+     * estimate is returned, which avoids scanning every match for the total.
+     */
+    private long count(String matches, MapSqlParameterSource parameters) {
+        MapSqlParameterSource countParameters = new MapSqlParameterSource(parameters.getValues())
+                .addValue("countLimit", countLimit);
+        Long count = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM (" + matches + " LIMIT :countLimit) limited", countParameters, Long.class);
+        if (count == null || count < countLimit || !isPostgres()) {
+            return count != null ? count : 0;
+        }
+        
+        try {
+            String plan = jdbcTemplate.queryForObject("EXPLAIN (FORMAT JSON) " + matches, parameters, String.class);
+            JsonNode planRows = objectMapper.readTree(plan).path(0).path("Plan").path("Plan Rows");
+            return Math.max(countLimit, planRows.asLong(countLimit));
+        } catch (Exception e) {
+            logger.warn("Could not estimate order search result count, reporting the count limit", e);
+            return countLimit;
+        }
+    }
+    
+    private String orderBy(Sort sort) {
+        String columns = sort.stream()
+                .filter(order -> SORT_COLUMNS.containsKey(order.getProperty()))
+                .map(order -> SORT_COLUMNS.get(order.getProperty()) + (order.isAscending() ? " ASC" : " DESC"))
+                .collect(Collectors.joining(", "));
+        return columns.isEmpty() ? "o.order_date DESC, o.id DESC" : columns + ", o.id DESC";
+    }
+    
+    private boolean isPostgres() {
+        if (postgres == null) {
+            postgres = jdbcTemplate.getJdbcTemplate().execute((ConnectionCallback<Boolean>) connection ->
+                    "PostgreSQL".equals(connection.getMetaData().getDatabaseProductName()));
+        }
+        return postgres;
+    }
+    
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
@@ -1,20 +1,31 @@
 package com.shop.repository;
 
 import com.shop.entity.Product;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface ProductRepository extends JpaRepository<Product, Long> {
     
+    String STOCK_LEVEL_SELECT = "SELECT p.id AS productId, p.name AS productName, p.sku AS sku, " +
+            "p.category.id AS categoryId, p.stockQuantity AS stockQuantity, p.lowStockThreshold AS lowStockThreshold, " +
+            "p.isActive AS active, p.version AS version FROM Product p";
+    
     List<Product> findByCategoryId(Long categoryId);
     
     Page<Product> findByCategoryId(Long categoryId, Pageable pageable);
@@ -43,10 +54,65 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
     List<Product> findLowStockProducts(@Param("threshold") Integer threshold);
     
     @Query("SELECT p FROM Product p LEFT JOIN FETCH p.category WHERE p.id = :id")
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "product-queries")
+    })
     Optional<Product> findByIdWithCategory(@Param("id") Long id);
     
+    // Walks the counters' popularity index; every product gets a counter row when it is created
+    @Query(value = "SELECT p FROM ProductSalesCounter c JOIN Product p ON p.id = c.productId " +
+                   "WHERE p.isActive = true ORDER BY c.quantitySold DESC, c.productId",
+           countQuery = "SELECT COUNT(p) FROM ProductSalesCounter c JOIN Product p ON p.id = c.productId WHERE p.isActive = true")
+    Page<Product> findActiveOrderByPopularity(Pageable pageable);
+    
+    // Keyset chunks for streaming the catalog; callers pass the last id of the previous chunk
+    @Query("SELECT p FROM Product p LEFT JOIN FETCH p.category WHERE p.id > :afterId ORDER BY p.id")
+    List<Product> findChunkAfter(@Param("afterId") Long afterId, Limit limit);
+    
+    @Query("SELECT p FROM Product p LEFT JOIN FETCH p.category WHERE p.isActive = true AND p.id > :afterId ORDER BY p.id")
+    List<Product> findActiveChunkAfter(@Param("afterId") Long afterId, Limit limit);
+    
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p FROM Product p WHERE p.id = :id")
+    Optional<Product> findByIdForUpdate(@Param("id") Long id);
+    
+    // Locked in id order so that concurrent checkouts of overlapping carts cannot deadlock
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p FROM Product p WHERE p.id IN :ids ORDER BY p.id")
+    List<Product> findAllByIdForUpdate(@Param("ids") Collection<Long> ids);
+
+    
+    // Stock levels for the low-stock monitor, read without loading the entities
+    @Query(STOCK_LEVEL_SELECT)
+    List<StockLevel> findAllStockLevels();
+    
+    @Query(STOCK_LEVEL_SELECT + " WHERE p.id IN :ids")
+    List<StockLevel> findStockLevelsByIdIn(@Param("ids") Collection<Long> ids);
+    
+    @Query(STOCK_LEVEL_SELECT + " WHERE p.category.id = :categoryId")
+    List<StockLevel> findStockLevelsByCategoryId(@Param("categoryId") Long categoryId);
+    
     boolean existsBySku(String sku);
     
     @Query("SELECT COUNT(p) FROM Product p WHERE p.category.id = :categoryId")
     Long countByCategoryId(@Param("categoryId") Long categoryId);
+    
+    interface StockLevel {
+        Long getProductId();
+        
+        String getProductName();
+        
+        String getSku();
+        
+        Long getCategoryId();
+        
+        Integer getStockQuantity();
+        
+        Integer getLowStockThreshold();
+        
+        Boolean getActive();
+        
+        Long getVersion();
+    }
 }
\ No newline at end of file
@@ -0,0 +1,9 @@
+package com.shop.repository;
+
+import com.shop.entity.ProductSalesCounter;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ProductSalesCounterRepository extends JpaRepository<ProductSalesCounter, Long> {
+}
@@ -1,6 +1,9 @@
 package com.shop.repository;
 
 import com.shop.entity.User;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -12,27 +15,49 @@ import java.util.Optional;
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
     
-    Optional<User> findByUsername(String username);
+    // Lookups ignore case and are served by the unique LOWER(...) indexes from V11
+    @Query("SELECT u FROM User u WHERE LOWER(u.username) = LOWER(:username)")
+    Optional<User> findByUsername(@Param("username") String username);
     
-    Optional<User> findByEmail(String email);
+    @Query("SELECT u FROM User u WHERE LOWER(u.email) = LOWER(:email)")
+    Optional<User> findByEmail(@Param("email") String email);
     
     Optional<User> findByKeycloakId(String keycloakId);
     
     List<User> findByRole(User.Role role);
     
+    Page<User> findByRole(User.Role role, Pageable pageable);
+    
     List<User> findByIsActiveTrue();
     
+    Page<User> findByIsActiveTrue(Pageable pageable);
+    
     List<User> findByFirstNameContainingIgnoreCaseOrLastNameContainingIgnoreCase(String firstName, String lastName);
     
-    @Query("SELECT u FROM User u WHERE u.firstName LIKE %:keyword% OR u.lastName LIKE %:keyword% OR u.username LIKE %:keyword% OR u.email LIKE %:keyword%")
-    List<User> findByKeyword(@Param("keyword") String keyword);
+    // Keyset variants: callers pass the last id they received and ask for one row more than they return
+    List<User> findByIdGreaterThanOrderByIdAsc(Long afterId, Limit limit);
+    
+    List<User> findByRoleAndIdGreaterThanOrderByIdAsc(User.Role role, Long afterId, Limit limit);
+    
+    List<User> findByIsActiveTrueAndIdGreaterThanOrderByIdAsc(Long afterId, Limit limit);
+    
+    // ILIKE over the trigram-indexed columns; the pattern carries its own wildcards
+    @Query("SELECT u FROM User u WHERE u.firstName ILIKE :pattern ESCAPE '\\' OR u.lastName ILIKE :pattern ESCAPE '\\' " +
+           "OR u.username ILIKE :pattern ESCAPE '\\' OR u.email ILIKE :pattern ESCAPE '\\'")
+    Page<User> search(@Param("pattern") String pattern, Pageable pageable);
+    
+    @Query("SELECT u FROM User u WHERE (u.firstName ILIKE :pattern ESCAPE '\\' OR u.lastName ILIKE :pattern ESCAPE '\\' " +
+           "OR u.username ILIKE :pattern ESCAPE '\\' OR u.email ILIKE :pattern ESCAPE '\\') AND u.id > :afterId ORDER BY u.id")
+    List<User> searchAfter(@Param("pattern") String pattern, @Param("afterId") Long afterId, Limit limit);
     
     @Query("SELECT u FROM User u LEFT JOIN FETCH u.orders WHERE u.id = :id")
     Optional<User> findByIdWithOrders(@Param("id") Long id);
     
-    boolean existsByUsername(String username);
+    @Query("SELECT COUNT(u) > 0 FROM User u WHERE LOWER(u.username) = LOWER(:username)")
+    boolean existsByUsername(@Param("username") String username);
     
-    boolean existsByEmail(String email);
+    @Query("SELECT COUNT(u) > 0 FROM User u WHERE LOWER(u.email) = LOWER(:email)")
+    boolean existsByEmail(@Param("email") String email);
     
     boolean existsByKeycloakId(String keycloakId);
-}
\ No newline at end of file
+}
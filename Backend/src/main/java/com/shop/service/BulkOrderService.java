@@ -0,0 +1,229 @@
+package com.shop.service;
+
+import com.shop.dto.BulkOrderJobDto;
+import com.shop.entity.BulkOrderJob;
+import com.shop.entity.Order;
+import com.shop.exception.ResourceNotFoundException;
+import com.shop.mapper.BulkOrderJobMapper;
+import com.shop.repository.BulkOrderJobItemRepository;
+import com.shop.repository.BulkOrderJobRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Cancels or re-statuses large sets of orders as a background job.
+ * <p>
+ * The targeted order ids are stored with the job, then split into chunks that
+ * run in parallel on the bulk order executor, each in its own transaction.
+ * A chunk commits its order changes, its processed flags and the job counters
+ * together, so a job that failed or was interrupted by a restart can be
+ * resumed and only re-runs the chunks that did not commit.
+ */
+@Service
+public class BulkOrderService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(BulkOrderService.class);
+    
+    private static final String INSERT_ITEM_SQL =
+            "INSERT INTO bulk_order_job_items (job_id, order_id, processed) VALUES (?, ?, FALSE)";
+    
+    private static final int MAX_ERROR_LENGTH = 1000;
+    
+    private static final List<BulkOrderJob.JobStatus> CLAIMABLE_STATUSES =
+            List.of(BulkOrderJob.JobStatus.PENDING, BulkOrderJob.JobStatus.FAILED);
+    
+    private final BulkOrderJobRepository jobRepository;
+    private final BulkOrderJobItemRepository jobItemRepository;
+    private final OrderService orderService;
+    private final BulkOrderJobMapper jobMapper;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final TaskExecutor executor;
+    private final int chunkSize;
+    private final Duration staleAfter;
+    
+    @Autowired
+    public BulkOrderService(BulkOrderJobRepository jobRepository,
+                            BulkOrderJobItemRepository jobItemRepository,
+                            OrderService orderService,
+                            BulkOrderJobMapper jobMapper,
+                            JdbcTemplate jdbcTemplate,
+                            TransactionTemplate transactionTemplate,
+                            @Qualifier("bulkOrderExecutor") TaskExecutor executor,
+                            @Value("${app.bulk-orders.chunk-size:500}") int chunkSize,
+                            @Value("${app.bulk-orders.stale-after:15m}") Duration staleAfter) {
+        this.jobRepository = jobRepository;
+        this.jobItemRepository = jobItemRepository;
+        this.orderService = orderService;
+        this.jobMapper = jobMapper;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.executor = executor;
+        this.chunkSize = chunkSize;
+        this.staleAfter = staleAfter;
+    }
+    
+    public BulkOrderJobDto startCancellation(Collection<Long> orderIds) {
+        return start(BulkOrderJob.Operation.CANCEL, null, orderIds);
+    }
+    
+    public BulkOrderJobDto startStatusUpdate(Collection<Long> orderIds, Order.OrderStatus status) {
+        if (status == null) {
+            throw new IllegalArgumentException("Target status is required");
+        }
+        if (status == Order.OrderStatus.CANCELLED) {
+            throw new IllegalArgumentException("Use bulk cancellation to cancel orders so that stock is restored");
+        }
+        if (status.predecessors().isEmpty()) {
+            throw new IllegalArgumentException("No order can be moved to status " + status);
+        }
+        return start(BulkOrderJob.Operation.UPDATE_STATUS, status, orderIds);
+    }
+    
+    public BulkOrderJobDto findJob(Long jobId) {
+        logger.debug("Finding bulk order job by id: {}", jobId);
+        return jobMapper.toDto(getJob(jobId));
+    }
+    
+    /**
+     * Re-runs the unprocessed orders of a job. Orders already handled by a
+     * committed chunk are skipped, and re-running an order that another chunk
+     * changed meanwhile is harmless because every update is guarded by status.
+     * A job that is still running cannot be resumed until it has made no
+     * progress for {@code app.bulk-orders.stale-after}.
+     */
+    public BulkOrderJobDto resume(Long jobId) {
+        BulkOrderJob job = getJob(jobId);
+        if (job.getStatus() == BulkOrderJob.JobStatus.COMPLETED) {
+            throw new IllegalArgumentException("Bulk order job " + jobId + " has already completed");
+        }
+        logger.info("Resuming bulk order job {}", jobId);
+        return launch(jobId);
+    }
+    
+    private BulkOrderJobDto start(BulkOrderJob.Operation operation, Order.OrderStatus targetStatus, Collection<Long> orderIds) {
+        List<Long> distinctIds = orderIds.stream()
+                .filter(Objects::nonNull)
+                .distinct()
+                .sorted()
+                .toList();
+        
+        Long jobId = transactionTemplate.execute(status -> {
+            BulkOrderJob job = jobRepository.save(new BulkOrderJob(operation, targetStatus, distinctIds.size()));
+            jdbcTemplate.batchUpdate(INSERT_ITEM_SQL, distinctIds, chunkSize, (ps, orderId) -> {
+                ps.setLong(1, job.getId());
+                ps.setLong(2, orderId);
+            });
+            return job.getId();
+        });
+        logger.info("Created bulk order job {} ({}) for {} orders", jobId, operation, distinctIds.size());
+        
+        return launch(jobId);
+    }
+    
+    private BulkOrderJobDto launch(Long jobId) {
+        LocalDateTime now = LocalDateTime.now();
+        BulkOrderJob job = transactionTemplate.execute(status -> {
+            int claimed = jobRepository.claim(jobId, BulkOrderJob.JobStatus.RUNNING, CLAIMABLE_STATUSES,
+                    now, now.minus(staleAfter));
+            if (claimed == 0) {
+                throw new IllegalArgumentException("Bulk order job " + jobId + " is already running or has completed");
+            }
+            return getJob(jobId);
+        });
+        
+        List<Long> pendingIds = jobItemRepository.findPendingOrderIds(jobId);
+        List<List<Long>> chunks = partition(pendingIds);
+        if (chunks.isEmpty()) {
+            finish(jobId);
+            return findJob(jobId);
+        }
+        BulkOrderJobDto snapshot = jobMapper.toDto(job);
+        
+        // The last chunk to finish, successful or not, closes the job
+        AtomicInteger remaining = new AtomicInteger(chunks.size());
+        for (List<Long> chunk : chunks) {
+            try {
+                executor.execute(() -> {
+                    try {
+                        processChunk(job, chunk);
+                    } finally {
+                        if (remaining.decrementAndGet() == 0) {
+                            finish(jobId);
+                        }
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                recordFailure(jobId, chunk, e);
+                if (remaining.decrementAndGet() == 0) {
+                    finish(jobId);
+                }
+            }
+        }
+        
+        logger.debug("Submitted {} chunks for bulk order job {}", chunks.size(), jobId);
+        return snapshot;
+    }
+    
+    private void processChunk(BulkOrderJob job, List<Long> orderIds) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                int processed = job.getOperation() == BulkOrderJob.Operation.CANCEL
+                        ? orderService.cancelOrders(orderIds).size()
+                        : orderService.updateOrderStatuses(orderIds, job.getTargetStatus());
+                jobItemRepository.markProcessed(job.getId(), orderIds);
+                jobRepository.incrementProgress(job.getId(), processed, orderIds.size() - processed);
+            });
+        } catch (RuntimeException e) {
+            recordFailure(job.getId(), orderIds, e);
+        }
+    }
+    
+    private void recordFailure(Long jobId, List<Long> orderIds, Exception e) {
+        logger.error("Bulk order job {} failed a chunk of {} orders starting at id {}",
+                jobId, orderIds.size(), orderIds.get(0), e);
+        String message = String.valueOf(e.getMessage());
+        String error = message.length() > MAX_ERROR_LENGTH ? message.substring(0, MAX_ERROR_LENGTH) : message;
+        transactionTemplate.executeWithoutResult(status -> jobRepository.recordFailedChunk(jobId, error));
+    }
+    
+    private void finish(Long jobId) {
+        transactionTemplate.executeWithoutResult(status -> {
+            BulkOrderJob job = getJob(jobId);
+            job.setStatus(job.getFailedChunks() > 0 ? BulkOrderJob.JobStatus.FAILED : BulkOrderJob.JobStatus.COMPLETED);
+            job.setCompletedAt(LocalDateTime.now());
+            jobRepository.save(job);
+            logger.info("Bulk order job {} finished with status {}: {} processed, {} skipped, {} failed chunks",
+                    jobId, job.getStatus(), job.getProcessedOrders(), job.getSkippedOrders(), job.getFailedChunks());
+        });
+    }
+    
+    private BulkOrderJob getJob(Long jobId) {
+        return jobRepository.findById(jobId)
+                .orElseThrow(() -> new ResourceNotFoundException("Bulk order job not found with id: " + jobId));
+    }
+    
+    private List<List<Long>> partition(List<Long> ids) {
+        List<List<Long>> chunks = new ArrayList<>();
+        for (int from = 0; from < ids.size(); from += chunkSize) {
+            chunks.add(ids.subList(from, Math.min(from + chunkSize, ids.size())));
+        }
+        return chunks;
+    }
+}
@@ -0,0 +1,389 @@
+package com.shop.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.shop.entity.BaseEntity;
+import com.shop.entity.Category;
+import com.shop.entity.Product;
+import com.shop.repository.CategoryRepository;
+import com.shop.support.Invalidation;
+import com.shop.support.InvalidationBatcher;
+import com.shop.support.VersionStamps;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitInsertEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Keeps the in-process caches of several application nodes consistent over
+ * Postgres {@code LISTEN/NOTIFY}, so multi-instance deployments need no other
+ * infrastructure.
+ * <p>
+ * Every committed insert, update or delete of a {@link Product} or
+ * {@link Category} is collected, deduplicated per entity and sent in batches
+ * every {@code app.cache-invalidation.flush-interval-ms}. The other nodes drop
+ * the entity and the affected query results from their second-level cache and
+ * re-evaluate it in the {@link LowStockMonitor}. Each entry carries the entity
+ * version it was committed with, and a node ignores entries no newer than the
+ * version it already applied for that entity, so late or repeated
+ * notifications cost nothing.
+ * <p>
+ * Notifications sent while a node is not listening are lost, so a node that
+ * reconnects clears its caches and reloads the monitor. The delay between
+ * sending and applying is recorded in the {@code cache.invalidation.lag} timer.
+ * <p>
+ * Flushes run on a scheduler thread of their own, so the shared
+ * {@code @Scheduled} jobs, such as the order reaper, cannot delay them and
+ * leave other nodes serving stale entries in the meantime.
+ */
+@Service
+public class CacheInvalidationBus {
+    
+    private static final Logger logger = LoggerFactory.getLogger(CacheInvalidationBus.class);
+    
+    private static final Pattern CHANNEL_NAME = Pattern.compile("[a-z_][a-z0-9_]*");
+    
+    static final String PRODUCT = "product";
+    static final String CATEGORY = "category";
+    
+    private static final Map<String, Class<?>> ENTITY_TYPES = Map.of(PRODUCT, Product.class, CATEGORY, Category.class);
+    // Product queries fetch categories along with their products
+    private static final Map<String, List<String>> QUERY_REGIONS = Map.of(
+            PRODUCT, List.of("product-queries"),
+            CATEGORY, List.of("category-queries", "product-queries"));
+    
+    private final String nodeId = UUID.randomUUID().toString();
+    
+    private final EntityManagerFactory entityManagerFactory;
+    private final JdbcTemplate jdbcTemplate;
+    private final DataSourceProperties dataSourceProperties;
+    private final ObjectMapper objectMapper;
+    private final LowStockMonitor lowStockMonitor;
+    private final CategoryRepository categoryRepository;
+    private final InvalidationBatcher batcher;
+    private final VersionStamps versionStamps;
+    private final boolean enabled;
+    private final String channel;
+    private final long flushIntervalMillis;
+    private final Duration pollTimeout;
+    private final Duration reconnectDelay;
+    private final Timer lag;
+    private final Counter published;
+    private final Counter applied;
+    private final Counter ignored;
+    
+    private volatile boolean running;
+    private Thread listener;
+    private ScheduledExecutorService flusher;
+    
+    @Autowired
+    public CacheInvalidationBus(EntityManagerFactory entityManagerFactory,
+                                JdbcTemplate jdbcTemplate,
+                                DataSourceProperties dataSourceProperties,
+                                ObjectMapper objectMapper,
+                                LowStockMonitor lowStockMonitor,
+                                CategoryRepository categoryRepository,
+                                MeterRegistry meterRegistry,
+                                @Value("${app.cache-invalidation.enabled:false}") boolean enabled,
+                                @Value("${app.cache-invalidation.channel:shop_cache_invalidation}") String channel,
+                                @Value("${app.cache-invalidation.flush-interval-ms:50}") long flushIntervalMillis,
+                                @Value("${app.cache-invalidation.max-batch-size:100}") int maxBatchSize,
+                                @Value("${app.cache-invalidation.max-tracked-versions:100000}") int maxTrackedVersions,
+                                @Value("${app.cache-invalidation.poll-timeout:1s}") Duration pollTimeout,
+                                @Value("${app.cache-invalidation.reconnect-delay:5s}") Duration reconnectDelay) {
+        if (!CHANNEL_NAME.matcher(channel).matches()) {
+            throw new IllegalArgumentException("Invalid cache invalidation channel: " + channel);
+        }
+        this.entityManagerFactory = entityManagerFactory;
+        this.jdbcTemplate = jdbcTemplate;
+        this.dataSourceProperties = dataSourceProperties;
+        this.objectMapper = objectMapper;
+        this.lowStockMonitor = lowStockMonitor;
+        this.categoryRepository = categoryRepository;
+        this.batcher = new InvalidationBatcher(maxBatchSize);
+        this.versionStamps = new VersionStamps(maxTrackedVersions);
+        this.enabled = enabled;
+        this.channel = channel;
+        this.flushIntervalMillis = flushIntervalMillis;
+        this.pollTimeout = pollTimeout;
+        this.reconnectDelay = reconnectDelay;
+        this.lag = meterRegistry.timer("cache.invalidation.lag");
+        this.published = meterRegistry.counter("cache.invalidation.entries", "outcome", "published");
+        this.applied = meterRegistry.counter("cache.invalidation.entries", "outcome", "applied");
+        this.ignored = meterRegistry.counter("cache.invalidation.entries", "outcome", "ignored");
+        meterRegistry.gauge("cache.invalidation.pending", batcher, InvalidationBatcher::pendingCount);
+    }
+    
+    @PostConstruct
+    void registerEntityListener() {
+        if (!enabled) {
+            return;
+        }
+        EntityChangeListener entityChangeListener = new EntityChangeListener();
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_COMMIT_INSERT, entityChangeListener);
+        registry.appendListeners(EventType.POST_COMMIT_UPDATE, entityChangeListener);
+        registry.appendListeners(EventType.POST_COMMIT_DELETE, entityChangeListener);
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        running = true;
+        listener = new Thread(this::listen, "cache-invalidation-listener");
+        listener.setDaemon(true);
+        listener.start();
+        flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "cache-invalidation-flusher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        flusher.scheduleWithFixedDelay(this::flushSafely, flushIntervalMillis, flushIntervalMillis, TimeUnit.MILLISECONDS);
+        logger.info("Cache invalidation bus listening on channel {} as node {}", channel, nodeId);
+    }
+    
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        if (flusher != null) {
+            flusher.shutdown();
+            flusher.awaitTermination(pollTimeout.toMillis(), TimeUnit.MILLISECONDS);
+            // Sends what the last transactions collected before the node goes away
+            flushSafely();
+        }
+        if (listener != null) {
+            listener.join(pollTimeout.toMillis() * 2);
+        }
+    }
+    
+    public void flush() {
+        for (List<Invalidation> batch : batcher.drain()) {
+            try {
+                String payload = objectMapper.writeValueAsString(new Message(nodeId, System.currentTimeMillis(), batch));
+                jdbcTemplate.queryForList("SELECT pg_notify(?, ?)", channel, payload);
+                published.increment(batch.size());
+            } catch (JsonProcessingException e) {
+                logger.error("Dropping unserializable cache invalidations {}", batch, e);
+            } catch (DataAccessException e) {
+                // Merged with anything collected since, so the retry still sends each entity once
+                logger.warn("Failed to send {} cache invalidations, retrying with the next flush: {}", batch.size(), e.getMessage());
+                batcher.addAll(batch);
+            }
+        }
+    }
+    
+    // An exception escaping a periodic task would cancel all further runs
+    private void flushSafely() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            logger.error("Failed to flush cache invalidations", e);
+        }
+    }
+    
+    /**
+     * Applies one notification payload. Payloads sent by this node and entries
+     * not newer than the version applied before are skipped.
+     */
+    public void receive(String payload) {
+        Message message;
+        try {
+            message = objectMapper.readValue(payload, Message.class);
+        } catch (JsonProcessingException e) {
+            logger.warn("Ignoring malformed cache invalidation: {}", payload);
+            return;
+        }
+        if (nodeId.equals(message.node())) {
+            return;
+        }
+        // Includes the clock skew between the nodes
+        lag.record(Math.max(0, System.currentTimeMillis() - message.sentAt()), TimeUnit.MILLISECONDS);
+        
+        Cache cache = entityManagerFactory.unwrap(SessionFactoryImplementor.class).getCache();
+        Set<String> queryRegions = new LinkedHashSet<>();
+        List<Invalidation> appliedInvalidations = new ArrayList<>();
+        for (Invalidation invalidation : message.entries()) {
+            Class<?> entityClass = ENTITY_TYPES.get(invalidation.type());
+            if (entityClass == null || !versionStamps.advance(invalidation)) {
+                ignored.increment();
+                continue;
+            }
+            cache.evictEntityData(entityClass, invalidation.id());
+            queryRegions.addAll(QUERY_REGIONS.get(invalidation.type()));
+            appliedInvalidations.add(invalidation);
+        }
+        queryRegions.forEach(cache::evictQueryRegion);
+        applied.increment(appliedInvalidations.size());
+        
+        refreshLowStockMonitor(appliedInvalidations);
+    }
+    
+    private void refreshLowStockMonitor(List<Invalidation> invalidations) {
+        List<Long> changedProductIds = new ArrayList<>();
+        for (Invalidation invalidation : invalidations) {
+            if (PRODUCT.equals(invalidation.type())) {
+                if (invalidation.removed()) {
+                    lowStockMonitor.productRemoved(invalidation.id());
+                } else {
+                    changedProductIds.add(invalidation.id());
+                }
+            } else if (invalidation.removed()) {
+                lowStockMonitor.categoryRemoved(invalidation.id());
+            } else {
+                categoryRepository.findById(invalidation.id()).ifPresent(lowStockMonitor::categoryChanged);
+            }
+        }
+        if (!changedProductIds.isEmpty()) {
+            lowStockMonitor.stockChanged(changedProductIds);
+        }
+    }
+    
+    private void listen() {
+        boolean reconnecting = false;
+        while (running) {
+            try (Connection connection = openListenerConnection()) {
+                if (reconnecting) {
+                    logger.info("Cache invalidation listener reconnected, clearing caches");
+                    entityManagerFactory.unwrap(SessionFactoryImplementor.class).getCache().evictAllRegions();
+                    lowStockMonitor.load();
+                }
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications((int) pollTimeout.toMillis());
+                    if (notifications != null) {
+                        for (PGNotification notification : notifications) {
+                            try {
+                                receive(notification.getParameter());
+                            } catch (RuntimeException e) {
+                                logger.warn("Failed to apply cache invalidation {}", notification.getParameter(), e);
+                            }
+                        }
+                    }
+                }
+            } catch (SQLException e) {
+                if (!running) {
+                    return;
+                }
+                logger.warn("Cache invalidation listener failed, reconnecting in {}: {}", reconnectDelay, e.getMessage());
+                reconnecting = true;
+                try {
+                    Thread.sleep(reconnectDelay.toMillis());
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+    
+    // Held for the node's lifetime, so it is opened outside the pools instead of pinning one of their connections
+    private Connection openListenerConnection() throws SQLException {
+        Connection connection = DriverManager.getConnection(dataSourceProperties.determineUrl(),
+                dataSourceProperties.determineUsername(), dataSourceProperties.determinePassword());
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("LISTEN " + channel);
+        } catch (SQLException e) {
+            connection.close();
+            throw e;
+        }
+        return connection;
+    }
+    
+    record Message(String node, long sentAt, List<Invalidation> entries) {}
+    
+    private final class EntityChangeListener
+            implements PostCommitInsertEventListener, PostCommitUpdateEventListener, PostCommitDeleteEventListener {
+        
+        @Override
+        public void onPostInsert(PostInsertEvent event) {
+            collect(event.getEntity(), false);
+        }
+        
+        @Override
+        public void onPostUpdate(PostUpdateEvent event) {
+            collect(event.getEntity(), false);
+        }
+        
+        @Override
+        public void onPostDelete(PostDeleteEvent event) {
+            collect(event.getEntity(), true);
+        }
+        
+        @Override
+        public void onPostInsertCommitFailed(PostInsertEvent event) {
+        }
+        
+        @Override
+        public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+        }
+        
+        @Override
+        public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+        }
+        
+        @Override
+        public boolean requiresPostCommitHandling(EntityPersister persister) {
+            return typeOf(persister.getMappedClass()) != null;
+        }
+        
+        private void collect(Object entity, boolean removed) {
+            String type = typeOf(entity.getClass());
+            if (type != null) {
+                BaseEntity baseEntity = (BaseEntity) entity;
+                batcher.add(new Invalidation(type, baseEntity.getId(), baseEntity.getVersion(), removed));
+            }
+        }
+        
+        private String typeOf(Class<?> entityClass) {
+            if (Product.class.isAssignableFrom(entityClass)) {
+                return PRODUCT;
+            }
+            return Category.class.isAssignableFrom(entityClass) ? CATEGORY : null;
+        }
+    }
+}
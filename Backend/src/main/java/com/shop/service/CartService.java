@@ -0,0 +1,213 @@
+package com.shop.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.shop.dto.CartDto;
+import com.shop.dto.CartItemDto;
+import com.shop.dto.CheckoutRequestDto;
+import com.shop.dto.OrderDto;
+import com.shop.dto.OrderItemDto;
+import com.shop.entity.Product;
+import com.shop.exception.PriceChangedException;
+import com.shop.exception.ResourceNotFoundException;
+import com.shop.repository.ProductRepository;
+import com.shop.support.Cart;
+import com.shop.support.CartStore;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Shopping carts kept in memory until checkout. Browsing and editing a cart
+ * never writes to the database; product details are read through the
+ * second-level cache. Checkout revalidates availability, stock and prices and
+ * turns the cart into an order in one transaction.
+ * <p>
+ * Carts live on the instance that created them, so multi-instance deployments
+ * need sticky routing by cart id. With {@code app.cart.snapshot-file} set,
+ * carts survive a restart of the instance.
+ */
+@Service
+public class CartService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(CartService.class);
+    
+    private final CartStore cartStore;
+    private final ProductRepository productRepository;
+    private final OrderService orderService;
+    private final ObjectMapper objectMapper;
+    private final int maxItems;
+    private final int maxQuantity;
+    private final String snapshotFile;
+    
+    @Autowired
+    public CartService(ProductRepository productRepository,
+                       OrderService orderService,
+                       ObjectMapper objectMapper,
+                       MeterRegistry meterRegistry,
+                       @Value("${app.cart.shards:16}") int shards,
+                       @Value("${app.cart.ttl:24h}") Duration ttl,
+                       @Value("${app.cart.max-carts:100000}") int maxCarts,
+                       @Value("${app.cart.max-items:50}") int maxItems,
+                       @Value("${app.cart.max-quantity:100}") int maxQuantity,
+                       @Value("${app.cart.snapshot-file:}") String snapshotFile) {
+        this.cartStore = new CartStore(shards, ttl, maxCarts);
+        this.productRepository = productRepository;
+        this.orderService = orderService;
+        this.objectMapper = objectMapper;
+        this.maxItems = maxItems;
+        this.maxQuantity = maxQuantity;
+        this.snapshotFile = snapshotFile;
+        meterRegistry.gauge("carts.active", cartStore, CartStore::size);
+    }
+    
+    public CartDto createCart() {
+        Cart cart = cartStore.create();
+        logger.debug("Created cart {}", cart.getId());
+        return toDto(cart);
+    }
+    
+    public CartDto findById(String cartId) {
+        return toDto(getCart(cartId));
+    }
+    
+    /**
+     * Sets the quantity of a product in the cart; a quantity of 0 removes it.
+     */
+    public CartDto setItemQuantity(String cartId, Long productId, int quantity) {
+        if (quantity < 0 || quantity > maxQuantity) {
+            throw new IllegalArgumentException("Quantity must be between 0 and " + maxQuantity);
+        }
+        Cart cart = getCart(cartId);
+        if (quantity == 0) {
+            cart.removeItem(productId);
+            return toDto(cart);
+        }
+        
+        Product product = productRepository.findByIdWithCategory(productId)
+                .filter(p -> Boolean.TRUE.equals(p.getIsActive()))
+                .orElseThrow(() -> new ResourceNotFoundException("Product not found with id: " + productId));
+        synchronized (cart) {
+            if (!cart.containsItem(productId) && cart.countItems() >= maxItems) {
+                throw new IllegalArgumentException("A cart can hold at most " + maxItems + " different products");
+            }
+            cart.setItem(productId, product.getName(), product.getPrice(), quantity);
+        }
+        return toDto(cart);
+    }
+    
+    public CartDto removeItem(String cartId, Long productId) {
+        Cart cart = getCart(cartId);
+        cart.removeItem(productId);
+        return toDto(cart);
+    }
+    
+    public void deleteCart(String cartId) {
+        cartStore.remove(cartId);
+    }
+    
+    /**
+     * Places an order for the cart's contents and discards the cart. When
+     * prices changed since the items were added, the cart is updated to the
+     * current prices and the checkout is rejected so the customer can review it.
+     * <p>
+     * The cart is taken out of the store for the duration of the checkout, so
+     * a repeated or concurrent checkout of the same cart finds no cart instead
+     * of placing a second order. It is put back if the order is not placed.
+     *
+     * @param userId the user the order is placed for, taken from the caller's token
+     */
+    public OrderDto checkout(String cartId, Long userId, CheckoutRequestDto request) {
+        Cart cart = cartStore.take(cartId)
+                .orElseThrow(() -> new ResourceNotFoundException("Cart not found with id: " + cartId));
+        OrderDto placedOrder;
+        try {
+            placedOrder = placeOrder(cart, userId, request);
+        } catch (RuntimeException e) {
+            cartStore.restore(cart);
+            throw e;
+        }
+        logger.info("Cart {} checked out as order {}", cartId, placedOrder.getOrderNumber());
+        return placedOrder;
+    }
+    
+    @Scheduled(fixedDelayString = "${app.cart.eviction-interval-ms:60000}")
+    public void evictExpiredCarts() {
+        int evicted = cartStore.evictExpired();
+        if (evicted > 0) {
+            logger.debug("Evicted {} expired carts", evicted);
+        }
+    }
+    
+    @PostConstruct
+    void restoreSnapshot() {
+        if (!StringUtils.hasText(snapshotFile)) {
+            return;
+        }
+        try {
+            int restored = cartStore.readSnapshot(Path.of(snapshotFile), objectMapper);
+            logger.info("Restored {} carts from {}", restored, snapshotFile);
+        } catch (IOException e) {
+            logger.error("Failed to restore carts from {}, starting empty", snapshotFile, e);
+        }
+    }
+    
+    @PreDestroy
+    void writeSnapshot() {
+        if (!StringUtils.hasText(snapshotFile)) {
+            return;
+        }
+        try {
+            int written = cartStore.writeSnapshot(Path.of(snapshotFile), objectMapper);
+            logger.info("Saved {} carts to {}", written, snapshotFile);
+        } catch (IOException e) {
+            logger.error("Failed to save carts to {}", snapshotFile, e);
+        }
+    }
+    
+    private OrderDto placeOrder(Cart cart, Long userId, CheckoutRequestDto request) {
+        List<Cart.Item> items = cart.snapshotItems();
+        if (items.isEmpty()) {
+            throw new IllegalArgumentException("Cannot check out an empty cart");
+        }
+        
+        OrderDto order = new OrderDto();
+        order.setUserId(userId);
+        order.setShippingAddress(request.getShippingAddress());
+        order.setBillingAddress(request.getBillingAddress());
+        order.setNotes(request.getNotes());
+        order.setOrderItems(items.stream()
+                .map(item -> new OrderItemDto(item.getProductId(), item.getQuantity(), item.getUnitPrice()))
+                .toList());
+        
+        try {
+            return orderService.placeOrder(order);
+        } catch (PriceChangedException e) {
+            cart.updatePrices(e.getCurrentPrices());
+            throw e;
+        }
+    }
+    
+    private Cart getCart(String cartId) {
+        return cartStore.get(cartId)
+                .orElseThrow(() -> new ResourceNotFoundException("Cart not found with id: " + cartId));
+    }
+    
+    private CartDto toDto(Cart cart) {
+        List<CartItemDto> items = cart.snapshotItems().stream()
+                .map(item -> new CartItemDto(item.getProductId(), item.getProductName(), item.getUnitPrice(), item.getQuantity()))
+                .toList();
+        return new CartDto(cart.getId(), items);
+    }
+}
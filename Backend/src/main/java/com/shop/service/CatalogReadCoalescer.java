@@ -0,0 +1,70 @@
+package com.shop.service;
+
+import com.shop.dto.CategoryDto;
+import com.shop.dto.ProductDto;
+import com.shop.support.SingleFlight;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+
+/**
+ * Single-flight front for the hottest catalog reads. Concurrent identical
+ * requests share one call into {@link ProductService} / {@link CategoryService}.
+ * This class is deliberately not transactional: waiting callers must not hold
+ * a database connection while the first caller loads.
+ */
+@Service
+public class CatalogReadCoalescer {
+    
+    private final ProductService productService;
+    private final CategoryService categoryService;
+    private final boolean enabled;
+    
+    private final SingleFlight<Long, ProductDto> productLoads;
+    private final SingleFlight<Long, CategoryDto> categoryLoads;
+    private final SingleFlight<CategoryPageKey, Page<ProductDto>> categoryPageLoads;
+    
+    @Autowired
+    public CatalogReadCoalescer(ProductService productService,
+                                CategoryService categoryService,
+                                MeterRegistry meterRegistry,
+                                @Value("${app.single-flight.enabled:true}") boolean enabled,
+                                @Value("${app.single-flight.timeout:2s}") Duration timeout) {
+        this.productService = productService;
+        this.categoryService = categoryService;
+        this.enabled = enabled;
+        this.productLoads = new SingleFlight<>("product", timeout, meterRegistry);
+        this.categoryLoads = new SingleFlight<>("category", timeout, meterRegistry);
+        this.categoryPageLoads = new SingleFlight<>("category-products", timeout, meterRegistry);
+    }
+    
+    public ProductDto findProduct(Long id) {
+        if (!enabled) {
+            return productService.findById(id);
+        }
+        return productLoads.execute(id, () -> productService.findById(id));
+    }
+    
+    public CategoryDto findCategory(Long id) {
+        if (!enabled) {
+            return categoryService.findById(id);
+        }
+        return categoryLoads.execute(id, () -> categoryService.findById(id));
+    }
+    
+    public Page<ProductDto> findProductsByCategory(Long categoryId, Pageable pageable) {
+        if (!enabled) {
+            return productService.findByCategoryId(categoryId, pageable);
+        }
+        return categoryPageLoads.execute(new CategoryPageKey(categoryId, pageable),
+                () -> productService.findByCategoryId(categoryId, pageable));
+    }
+    
+    private record CategoryPageKey(Long categoryId, Pageable pageable) {
+    }
+}
@@ -0,0 +1,132 @@
+package com.shop.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.shop.dto.CategoryDto;
+import com.shop.dto.ProductDto;
+import com.shop.mapper.CategoryMapper;
+import com.shop.mapper.ProductMapper;
+import com.shop.repository.CategoryRepository;
+import com.shop.repository.ProductRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.async.WebAsyncTask;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.LongFunction;
+
+/**
+ * Streams catalog listings as newline-delimited JSON.
+ * <p>
+ * Rows are read in keyset chunks, each in its own short read-only transaction,
+ * and written and flushed before the next chunk is read. A slow client
+ * therefore never holds a database connection while the socket is blocked,
+ * and memory stays bounded by the chunk size.
+ * <p>
+ * Writes are blocking: every stream holds one {@code streamingExecutor} thread
+ * until its client has read the whole response or {@code app.catalog-stream.timeout}
+ * passes. At most {@code app.catalog-stream.pool-size} streams are written at
+ * once, slow readers included, and requests beyond the queue get 503. The
+ * executor and timeout apply to these streams only, not to other async handlers.
+ */
+@Service
+public class CatalogStreamService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(CatalogStreamService.class);
+    
+    private final ProductRepository productRepository;
+    private final CategoryRepository categoryRepository;
+    private final ProductMapper productMapper;
+    private final CategoryMapper categoryMapper;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ObjectWriter productWriter;
+    private final ObjectWriter categoryWriter;
+    private final int chunkSize;
+    private final AsyncTaskExecutor streamingExecutor;
+    private final Duration streamTimeout;
+    
+    @Autowired
+    public CatalogStreamService(ProductRepository productRepository,
+                                CategoryRepository categoryRepository,
+                                ProductMapper productMapper,
+                                CategoryMapper categoryMapper,
+                                PlatformTransactionManager transactionManager,
+                                ObjectMapper objectMapper,
+                                @Value("${app.catalog-stream.chunk-size:500}") int chunkSize,
+                                @Qualifier("streamingExecutor") AsyncTaskExecutor streamingExecutor,
+                                @Value("${app.catalog-stream.timeout:5m}") Duration streamTimeout) {
+        this.productRepository = productRepository;
+        this.categoryRepository = categoryRepository;
+        this.productMapper = productMapper;
+        this.categoryMapper = categoryMapper;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.productWriter = objectMapper.writerFor(ProductDto.class);
+        this.categoryWriter = objectMapper.writerFor(CategoryDto.class);
+        this.chunkSize = chunkSize;
+        this.streamingExecutor = streamingExecutor;
+        this.streamTimeout = streamTimeout;
+    }
+    
+    public WebAsyncTask<Void> streamProducts(HttpServletResponse response, boolean activeOnly) {
+        return stream(response, out -> writeProducts(out, activeOnly));
+    }
+    
+    public WebAsyncTask<Void> streamCategories(HttpServletResponse response) {
+        return stream(response, this::writeCategories);
+    }
+    
+    public void writeProducts(OutputStream out, boolean activeOnly) throws IOException {
+        logger.debug("Streaming {} products", activeOnly ? "active" : "all");
+        writeChunks(out, productWriter, ProductDto::getId, afterId -> productMapper.toDtoList(activeOnly
+                ? productRepository.findActiveChunkAfter(afterId, Limit.of(chunkSize))
+                : productRepository.findChunkAfter(afterId, Limit.of(chunkSize))));
+    }
+    
+    public void writeCategories(OutputStream out) throws IOException {
+        logger.debug("Streaming categories");
+        writeChunks(out, categoryWriter, CategoryDto::getId, afterId ->
+                categoryMapper.toDtoList(categoryRepository.findByIdGreaterThanOrderByIdAsc(afterId, Limit.of(chunkSize))));
+    }
+    
+    private WebAsyncTask<Void> stream(HttpServletResponse response, StreamingResponseBody body) {
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        return new WebAsyncTask<>(streamTimeout.toMillis(), streamingExecutor, () -> {
+            body.writeTo(response.getOutputStream());
+            return null;
+        });
+    }
+    
+    private <T> void writeChunks(OutputStream out, ObjectWriter writer, Function<T, Long> idOf,
+                                 LongFunction<List<T>> chunkAfter) throws IOException {
+        long afterId = 0;
+        List<T> chunk;
+        do {
+            long cursor = afterId;
+            chunk = readOnlyTransaction.execute(status -> chunkAfter.apply(cursor));
+            for (T item : chunk) {
+                out.write(writer.writeValueAsBytes(item));
+                out.write('\n');
+            }
+            out.flush();
+            if (!chunk.isEmpty()) {
+                afterId = idOf.apply(chunk.get(chunk.size() - 1));
+            }
+        } while (chunk.size() == chunkSize);
+    }
+}
@@ -21,11 +21,14 @@ public class CategoryService {
     
     private final CategoryRepository categoryRepository;
     private final CategoryMapper categoryMapper;
+    private final LowStockMonitor lowStockMonitor;
     
     @Autowired
-    public CategoryService(CategoryRepository categoryRepository, CategoryMapper categoryMapper) {
+    public CategoryService(CategoryRepository categoryRepository, CategoryMapper categoryMapper,
+                           LowStockMonitor lowStockMonitor) {
         this.categoryRepository = categoryRepository;
         this.categoryMapper = categoryMapper;
+        this.lowStockMonitor = lowStockMonitor;
     }
     
     @Transactional(readOnly = true)
@@ -67,6 +70,7 @@ public class CategoryService {
         
         Category category = categoryMapper.toEntity(categoryDto);
         Category savedCategory = categoryRepository.save(category);
+        lowStockMonitor.categoryChanged(savedCategory);
         logger.info("Category saved successfully with id: {}", savedCategory.getId());
         
         return categoryMapper.toDto(savedCategory);
@@ -85,6 +89,7 @@ public class CategoryService {
         
         categoryMapper.updateEntityFromDto(categoryDto, existingCategory);
         Category updatedCategory = categoryRepository.save(existingCategory);
+        lowStockMonitor.categoryChanged(updatedCategory);
         logger.info("Category updated successfully with id: {}", updatedCategory.getId());
         
         return categoryMapper.toDto(updatedCategory);
@@ -98,6 +103,7 @@ public class CategoryService {
         }
         
         categoryRepository.deleteById(id);
+        lowStockMonitor.categoryRemoved(id);
         logger.info("Category deleted successfully with id: {}", id);
     }
     
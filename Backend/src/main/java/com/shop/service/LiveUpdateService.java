@@ -0,0 +1,120 @@
+package com.shop.service;
+
+import com.shop.dto.OrderStatusEventDto;
+import com.shop.dto.StockEventDto;
+import com.shop.entity.Order;
+import com.shop.exception.ResourceNotFoundException;
+import com.shop.repository.OrderRepository;
+import com.shop.repository.ProductRepository;
+import com.shop.support.SseHub;
+import com.shop.support.TransactionHooks;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Pushes order status and stock changes to Server-Sent Events subscribers, so
+ * clients watching an order or a product no longer poll for it. Events are
+ * published once the change commits. A new stream starts with the current
+ * state of what it watches, so clients can rely on the stream alone after
+ * each reconnect.
+ */
+@Service
+public class LiveUpdateService {
+    
+    private static final int MAX_WATCHED_PRODUCTS = 100;
+    
+    private static final String ORDERS_TOPIC = "orders";
+    private static final String PRODUCTS_TOPIC = "products";
+    private static final String ORDER_STATUS_EVENT = "order-status";
+    private static final String STOCK_EVENT = "stock";
+    
+    private final SseHub sseHub;
+    private final OrderRepository orderRepository;
+    private final ProductRepository productRepository;
+    
+    @Autowired
+    public LiveUpdateService(SseHub sseHub, OrderRepository orderRepository, ProductRepository productRepository) {
+        this.sseHub = sseHub;
+        this.orderRepository = orderRepository;
+        this.productRepository = productRepository;
+    }
+    
+    public void orderStatusChanged(Collection<Long> orderIds, Order.OrderStatus status) {
+        List<Long> changedIds = List.copyOf(orderIds);
+        TransactionHooks.afterCommit(() -> {
+            LocalDateTime changedAt = LocalDateTime.now();
+            for (Long orderId : changedIds) {
+                sseHub.publish(List.of(orderTopic(orderId), ORDERS_TOPIC, ORDERS_TOPIC + ":" + status),
+                        ORDER_STATUS_EVENT, new OrderStatusEventDto(orderId, status, changedAt));
+            }
+        });
+    }
+    
+    /**
+     * Publishes a committed stock level; callers report changes only after
+     * their transaction has committed.
+     */
+    public void stockChanged(Long productId, int stockQuantity) {
+        sseHub.publish(List.of(productTopic(productId), PRODUCTS_TOPIC),
+                STOCK_EVENT, new StockEventDto(productId, stockQuantity, stockQuantity > 0));
+    }
+    
+    public SseEmitter subscribeToOrder(Long orderId) {
+        return sseHub.subscribe(List.of(orderTopic(orderId)), () -> {
+            Order.OrderStatus status = orderRepository.findStatusById(orderId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Order not found with id: " + orderId));
+            return List.of(sseHub.event(ORDER_STATUS_EVENT, new OrderStatusEventDto(orderId, status, null)));
+        });
+    }
+    
+    /**
+     * Streams status changes of all orders, or only of those entering {@code status}.
+     */
+    public SseEmitter subscribeToOrders(Order.OrderStatus status) {
+        String topic = status != null ? ORDERS_TOPIC + ":" + status : ORDERS_TOPIC;
+        return sseHub.subscribe(List.of(topic), List::of);
+    }
+    
+    /**
+     * Streams stock changes of the given products, starting with their current
+     * levels, or of all products when none are given.
+     */
+    public SseEmitter subscribeToStock(Collection<Long> productIds) {
+        if (productIds == null || productIds.isEmpty()) {
+            return sseHub.subscribe(List.of(PRODUCTS_TOPIC), List::of);
+        }
+        if (productIds.size() > MAX_WATCHED_PRODUCTS) {
+            throw new IllegalArgumentException("At most " + MAX_WATCHED_PRODUCTS + " products can be watched per stream");
+        }
+        
+        List<String> topics = productIds.stream().map(LiveUpdateService::productTopic).toList();
+        return sseHub.subscribe(topics, () -> {
+            List<SseHub.Event> initialEvents = new ArrayList<>();
+            for (ProductRepository.StockLevel level : productRepository.findStockLevelsByIdIn(productIds)) {
+                initialEvents.add(sseHub.event(STOCK_EVENT,
+                        new StockEventDto(level.getProductId(), level.getStockQuantity(), level.getStockQuantity() > 0)));
+            }
+            return initialEvents;
+        });
+    }
+    
+    @Scheduled(fixedDelayString = "${app.live-updates.heartbeat-interval-ms:30000}")
+    public void sendHeartbeat() {
+        sseHub.heartbeat();
+    }
+    
+    private static String orderTopic(Long orderId) {
+        return "order:" + orderId;
+    }
+    
+    private static String productTopic(Long productId) {
+        return "product:" + productId;
+    }
+}
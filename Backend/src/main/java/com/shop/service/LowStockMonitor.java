@@ -0,0 +1,231 @@
+package com.shop.service;
+
+import com.shop.dto.LowStockAlertDto;
+import com.shop.entity.Category;
+import com.shop.entity.Product;
+import com.shop.repository.CategoryRepository;
+import com.shop.repository.ProductRepository;
+import com.shop.support.ReportingWorkload;
+import com.shop.support.SseHub;
+import com.shop.support.TransactionHooks;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps the set of products whose stock is below their low-stock threshold.
+ * <p>
+ * The set is built with one scan at startup and afterwards kept current by the
+ * services that change stock, which report each change here. Changes are
+ * applied once their transaction commits, so rolled-back orders never raise
+ * alerts. A product's threshold is its own {@code lowStockThreshold}, else its
+ * category's, else {@code app.low-stock.default-threshold}.
+ * <p>
+ * Admins subscribe to {@code /api/products/low-stock/stream} and receive a
+ * {@code snapshot} of the current alerts followed by a {@code low-stock} event
+ * for every product that enters the set or whose quantity changes while in it,
+ * and a {@code cleared} event for every product that leaves it. Every applied
+ * stock change is also passed on to {@link LiveUpdateService}.
+ */
+@Service
+public class LowStockMonitor {
+    
+    private static final Logger logger = LoggerFactory.getLogger(LowStockMonitor.class);
+    
+    private static final String LOW_STOCK_TOPIC = "low-stock";
+    
+    private final Map<Long, LowStockAlertDto> alerts = new ConcurrentHashMap<>();
+    private final Map<Long, Long> appliedVersions = new HashMap<>();
+    private final Map<Long, Integer> categoryThresholds = new ConcurrentHashMap<>();
+    
+    private final ProductRepository productRepository;
+    private final CategoryRepository categoryRepository;
+    private final LiveUpdateService liveUpdateService;
+    private final SseHub sseHub;
+    private final int defaultThreshold;
+    
+    @Autowired
+    public LowStockMonitor(ProductRepository productRepository,
+                           CategoryRepository categoryRepository,
+                           LiveUpdateService liveUpdateService,
+                           SseHub sseHub,
+                           MeterRegistry meterRegistry,
+                           @Value("${app.low-stock.default-threshold:10}") int defaultThreshold) {
+        this.productRepository = productRepository;
+        this.categoryRepository = categoryRepository;
+        this.liveUpdateService = liveUpdateService;
+        this.sseHub = sseHub;
+        this.defaultThreshold = defaultThreshold;
+        meterRegistry.gauge("stock.low.products", alerts, Map::size);
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    @ReportingWorkload
+    @Transactional(readOnly = true)
+    public void load() {
+        categoryRepository.findAll().forEach(category -> updateCategoryThreshold(category.getId(), category.getLowStockThreshold()));
+        List<ProductRepository.StockLevel> levels = productRepository.findAllStockLevels();
+        levels.forEach(level -> apply(StockReading.of(level)));
+        logger.info("Low-stock monitor loaded {} products, {} below threshold", levels.size(), alerts.size());
+    }
+    
+    public List<LowStockAlertDto> currentAlerts() {
+        return alerts.values().stream()
+                .sorted(Comparator.comparing(LowStockAlertDto::getStockQuantity).thenComparing(LowStockAlertDto::getProductId))
+                .toList();
+    }
+    
+    /**
+     * Re-evaluates a product whose stock, threshold or availability was changed
+     * through its entity.
+     */
+    public void stockChanged(Product product) {
+        // Read when the transaction commits, so the flushed quantity and version are seen
+        TransactionHooks.afterCommit(() -> apply(StockReading.of(product)));
+    }
+    
+    /**
+     * Re-evaluates products whose stock was changed by bulk updates that
+     * bypass the entities. Must be called after the updates, in their transaction.
+     */
+    public void stockChanged(Collection<Long> productIds) {
+        List<StockReading> readings = productRepository.findStockLevelsByIdIn(productIds).stream()
+                .map(StockReading::of)
+                .toList();
+        TransactionHooks.afterCommit(() -> readings.forEach(this::apply));
+    }
+    
+    public void productRemoved(Long productId) {
+        TransactionHooks.afterCommit(() -> remove(productId));
+    }
+    
+    public void categoryChanged(Category category) {
+        Long categoryId = category.getId();
+        Integer threshold = category.getLowStockThreshold();
+        if (Objects.equals(threshold, categoryThresholds.get(categoryId))) {
+            return;
+        }
+        List<StockReading> readings = productRepository.findStockLevelsByCategoryId(categoryId).stream()
+                .map(StockReading::of)
+                .toList();
+        TransactionHooks.afterCommit(() -> {
+            updateCategoryThreshold(categoryId, threshold);
+            readings.forEach(this::apply);
+        });
+    }
+    
+    public void categoryRemoved(Long categoryId) {
+        TransactionHooks.afterCommit(() -> {
+            categoryThresholds.remove(categoryId);
+            alerts.values().stream()
+                    .filter(alert -> categoryId.equals(alert.getCategoryId()))
+                    .map(LowStockAlertDto::getProductId)
+                    .toList()
+                    .forEach(this::clearAlert);
+        });
+    }
+    
+    /**
+     * Opens a stream that starts with a {@code snapshot} of the current alerts.
+     */
+    public SseEmitter subscribe() {
+        return sseHub.subscribe(List.of(LOW_STOCK_TOPIC), () -> List.of(sseHub.event("snapshot", currentAlerts())));
+    }
+    
+    private synchronized void apply(StockReading reading) {
+        Long appliedVersion = appliedVersions.get(reading.productId());
+        if (appliedVersion != null && reading.version() < appliedVersion) {
+            return;
+        }
+        appliedVersions.put(reading.productId(), reading.version());
+        if (appliedVersion == null || reading.version() > appliedVersion) {
+            liveUpdateService.stockChanged(reading.productId(), reading.stockQuantity());
+        }
+        
+        int threshold = thresholdFor(reading);
+        LowStockAlertDto current = alerts.get(reading.productId());
+        if (!reading.active() || reading.stockQuantity() >= threshold) {
+            if (current != null) {
+                clearAlert(reading.productId());
+            }
+            return;
+        }
+        if (current != null && current.getStockQuantity() == reading.stockQuantity() && current.getThreshold() == threshold) {
+            return;
+        }
+        
+        LowStockAlertDto alert = new LowStockAlertDto(reading.productId(), reading.productName(), reading.sku(),
+                reading.categoryId(), reading.stockQuantity(), threshold,
+                current != null ? current.getSince() : LocalDateTime.now());
+        alerts.put(reading.productId(), alert);
+        sseHub.publish(LOW_STOCK_TOPIC, "low-stock", alert);
+    }
+    
+    // Only for deleted products: their ids are never reused, so no reading can follow
+    private synchronized void remove(Long productId) {
+        appliedVersions.remove(productId);
+        clearAlert(productId);
+    }
+    
+    // Keeps the applied version, so that an older reading arriving late cannot raise the alert again
+    private synchronized void clearAlert(Long productId) {
+        if (alerts.remove(productId) != null) {
+            sseHub.publish(LOW_STOCK_TOPIC, "cleared", Map.of("productId", productId));
+        }
+    }
+    
+    private int thresholdFor(StockReading reading) {
+        if (reading.lowStockThreshold() != null) {
+            return reading.lowStockThreshold();
+        }
+        if (reading.categoryId() != null) {
+            return categoryThresholds.getOrDefault(reading.categoryId(), defaultThreshold);
+        }
+        return defaultThreshold;
+    }
+    
+    private void updateCategoryThreshold(Long categoryId, Integer threshold) {
+        if (threshold != null) {
+            categoryThresholds.put(categoryId, threshold);
+        } else {
+            categoryThresholds.remove(categoryId);
+        }
+    }
+    
+    private record StockReading(Long productId, String productName, String sku, Long categoryId,
+                                int stockQuantity, Integer lowStockThreshold, boolean active, long version) {
+        
+        static StockReading of(Product product) {
+            return new StockReading(product.getId(), product.getName(), product.getSku(),
+                    product.getCategory() != null ? product.getCategory().getId() : null,
+                    product.getStockQuantity(), product.getLowStockThreshold(),
+                    Boolean.TRUE.equals(product.getIsActive()), versionOf(product.getVersion()));
+        }
+        
+        static StockReading of(ProductRepository.StockLevel level) {
+            return new StockReading(level.getProductId(), level.getProductName(), level.getSku(), level.getCategoryId(),
+                    level.getStockQuantity(), level.getLowStockThreshold(),
+                    Boolean.TRUE.equals(level.getActive()), versionOf(level.getVersion()));
+        }
+        
+        private static long versionOf(Long version) {
+            return version != null ? version : 0L;
+        }
+    }
+}
@@ -1,27 +1,43 @@
 package com.shop.service;
 
 import com.shop.dto.OrderDto;
+import com.shop.dto.OrderHistoryPage;
 import com.shop.dto.OrderItemDto;
+import com.shop.dto.OrderSummaryDto;
+import com.shop.entity.CustomerOrderHistory;
 import com.shop.entity.Order;
 import com.shop.entity.OrderItem;
 import com.shop.entity.Product;
 import com.shop.entity.User;
+import com.shop.exception.PriceChangedException;
 import com.shop.exception.ResourceNotFoundException;
+import com.shop.mapper.OrderItemMapper;
 import com.shop.mapper.OrderMapper;
+import com.shop.repository.CustomerOrderHistoryRepository;
+import com.shop.repository.OrderItemRepository;
 import com.shop.repository.OrderRepository;
 import com.shop.repository.ProductRepository;
 import com.shop.repository.UserRepository;
+import com.shop.support.OrderHistoryCursor;
+import com.shop.support.RetryOnConflict;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @Transactional
@@ -29,20 +45,43 @@ public class OrderService {
     
     private static final Logger logger = LoggerFactory.getLogger(OrderService.class);
     
+    // Shorter keywords produce no trigrams and cannot use the search indexes
+    private static final int MIN_SEARCH_KEYWORD_LENGTH = 3;
+    
+    private static final int MAX_HISTORY_PAGE_SIZE = 100;
+    
     private final OrderRepository orderRepository;
+    private final OrderItemRepository orderItemRepository;
     private final UserRepository userRepository;
     private final ProductRepository productRepository;
     private final OrderMapper orderMapper;
+    private final OrderItemMapper orderItemMapper;
+    private final ProductSalesService productSalesService;
+    private final CustomerOrderHistoryRepository orderHistoryRepository;
+    private final LowStockMonitor lowStockMonitor;
+    private final LiveUpdateService liveUpdateService;
     
     @Autowired
     public OrderService(OrderRepository orderRepository,
+                       OrderItemRepository orderItemRepository,
                        UserRepository userRepository,
                        ProductRepository productRepository,
-                       OrderMapper orderMapper) {
+                       OrderMapper orderMapper,
+                       OrderItemMapper orderItemMapper,
+                       ProductSalesService productSalesService,
+                       CustomerOrderHistoryRepository orderHistoryRepository,
+                       LowStockMonitor lowStockMonitor,
+                       LiveUpdateService liveUpdateService) {
         this.orderRepository = orderRepository;
+        this.orderItemRepository = orderItemRepository;
         this.userRepository = userRepository;
         this.productRepository = productRepository;
         this.orderMapper = orderMapper;
+        this.orderItemMapper = orderItemMapper;
+        this.productSalesService = productSalesService;
+        this.orderHistoryRepository = orderHistoryRepository;
+        this.lowStockMonitor = lowStockMonitor;
+        this.liveUpdateService = liveUpdateService;
     }
     
     @Transactional(readOnly = true)
@@ -59,12 +98,24 @@ public class OrderService {
         return orders.map(orderMapper::toDto);
     }
     
+    @Transactional(readOnly = true)
+    public Page<OrderSummaryDto> findAllSummaries(Pageable pageable) {
+        logger.debug("Finding all order summaries with pagination");
+        return orderRepository.findAllSummaries(pageable);
+    }
+    
+    @Transactional(readOnly = true)
+    public Page<OrderDto> findAll(Pageable pageable, boolean includeItems) {
+        Page<OrderDto> orders = findAll(pageable);
+        return includeItems ? withOrderItems(orders) : orders;
+    }
+    
     @Transactional(readOnly = true)
     public OrderDto findById(Long id) {
         logger.debug("Finding order by id: {}", id);
-        Order order = orderRepository.findByIdWithUserAndOrderItems(id)
+        Order order = orderRepository.findDetailById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Order not found with id: " + id));
-        return orderMapper.toDto(order);
+        return orderMapper.toDetailDto(order);
     }
     
     @Transactional(readOnly = true)
@@ -89,6 +140,47 @@ public class OrderService {
         return orders.map(orderMapper::toDto);
     }
     
+    @Transactional(readOnly = true)
+    public Page<OrderDto> findByUserId(Long userId, Pageable pageable, boolean includeItems) {
+        Page<OrderDto> orders = findByUserId(userId, pageable);
+        return includeItems ? withOrderItems(orders) : orders;
+    }
+    
+    @Transactional(readOnly = true)
+    public Page<OrderSummaryDto> findSummariesByUserId(Long userId, Pageable pageable) {
+        logger.debug("Finding order summaries by user id: {} with pagination", userId);
+        return orderRepository.findSummariesByUserId(userId, pageable);
+    }
+    
+    /**
+     * Returns a page of the user's order history, newest first, from the
+     * {@code customer_order_history} read model. Pages are addressed by the
+     * cursor of the previous page rather than by page number, so every page is
+     * one index range scan and no count query runs.
+     */
+    @Transactional(readOnly = true)
+    public OrderHistoryPage findOrderHistory(Long userId, String cursor, int size) {
+        logger.debug("Finding order history for user id: {} after cursor: {}", userId, cursor);
+        size = Math.max(1, Math.min(size, MAX_HISTORY_PAGE_SIZE));
+        
+        // One extra row tells whether another page follows
+        Limit limit = Limit.of(size + 1);
+        List<OrderSummaryDto> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = orderHistoryRepository.findLatestByUserId(userId, limit);
+        } else {
+            OrderHistoryCursor position = OrderHistoryCursor.decode(cursor);
+            rows = orderHistoryRepository.findByUserIdBefore(userId, position.orderDate(), position.orderId(), limit);
+        }
+        
+        if (rows.size() <= size) {
+            return new OrderHistoryPage(rows, null);
+        }
+        List<OrderSummaryDto> content = rows.subList(0, size);
+        OrderSummaryDto last = content.get(size - 1);
+        return new OrderHistoryPage(content, new OrderHistoryCursor(last.getOrderDate(), last.getId()).encode());
+    }
+    
     @Transactional(readOnly = true)
     public List<OrderDto> findByStatus(Order.OrderStatus status) {
         logger.debug("Finding orders by status: {}", status);
@@ -103,6 +195,18 @@ public class OrderService {
         return orders.map(orderMapper::toDto);
     }
     
+    @Transactional(readOnly = true)
+    public Page<OrderDto> findByStatus(Order.OrderStatus status, Pageable pageable, boolean includeItems) {
+        Page<OrderDto> orders = findByStatus(status, pageable);
+        return includeItems ? withOrderItems(orders) : orders;
+    }
+    
+    @Transactional(readOnly = true)
+    public Page<OrderSummaryDto> findSummariesByStatus(Order.OrderStatus status, Pageable pageable) {
+        logger.debug("Finding order summaries by status: {} with pagination", status);
+        return orderRepository.findSummariesByStatus(status, pageable);
+    }
+    
     @Transactional(readOnly = true)
     public List<OrderDto> findByDateRange(LocalDateTime startDate, LocalDateTime endDate) {
         logger.debug("Finding orders by date range: {} to {}", startDate, endDate);
@@ -113,7 +217,10 @@ public class OrderService {
     @Transactional(readOnly = true)
     public Page<OrderDto> findByKeyword(String keyword, Pageable pageable) {
         logger.debug("Finding orders by keyword: {} with pagination", keyword);
-        Page<Order> orders = orderRepository.findByKeyword(keyword, pageable);
+        if (keyword == null || keyword.trim().length() < MIN_SEARCH_KEYWORD_LENGTH) {
+            throw new IllegalArgumentException("Search keyword must be at least " + MIN_SEARCH_KEYWORD_LENGTH + " characters");
+        }
+        Page<Order> orders = orderRepository.searchByKeyword(keyword, pageable);
         return orders.map(orderMapper::toDto);
     }
     
@@ -140,18 +247,86 @@ public class OrderService {
         }
         
         Order savedOrder = orderRepository.save(order);
+        recordHistory(savedOrder);
         logger.info("Order created successfully with id: {}", savedOrder.getId());
         
         return orderMapper.toDto(savedOrder);
     }
     
+    /**
+     * Creates an order together with all of its items in one transaction, as
+     * used by cart checkout. The products are locked, then checked for
+     * availability and stock. Items that carry a unit price must still cost
+     * exactly that, otherwise nothing is written and a
+     * {@link PriceChangedException} reports the current prices.
+     */
+    @RetryOnConflict
+    public OrderDto placeOrder(OrderDto orderDto) {
+        List<OrderItemDto> items = orderDto.getOrderItems();
+        if (items == null || items.isEmpty()) {
+            throw new IllegalArgumentException("An order needs at least one item");
+        }
+        logger.debug("Placing order with {} items for user id: {}", items.size(), orderDto.getUserId());
+        
+        User user = userRepository.findById(orderDto.getUserId())
+                .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + orderDto.getUserId()));
+        
+        Map<Long, Product> products = productRepository.findAllByIdForUpdate(
+                        items.stream().map(OrderItemDto::getProductId).collect(Collectors.toSet())).stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+        
+        Map<Long, BigDecimal> changedPrices = new TreeMap<>();
+        for (OrderItemDto item : items) {
+            Product product = products.get(item.getProductId());
+            if (product == null || !Boolean.TRUE.equals(product.getIsActive())) {
+                throw new ResourceNotFoundException("Product not found with id: " + item.getProductId());
+            }
+            if (product.getStockQuantity() < item.getQuantity()) {
+                throw new IllegalArgumentException("Insufficient stock for '" + product.getName() + "'. Available: " +
+                                                 product.getStockQuantity() + ", Requested: " + item.getQuantity());
+            }
+            if (item.getUnitPrice() != null && item.getUnitPrice().compareTo(product.getPrice()) != 0) {
+                changedPrices.put(product.getId(), product.getPrice());
+            }
+        }
+        if (!changedPrices.isEmpty()) {
+            throw new PriceChangedException(changedPrices);
+        }
+        
+        Order order = new Order();
+        order.setOrderNumber(generateOrderNumber());
+        order.setUser(user);
+        order.setStatus(Order.OrderStatus.PENDING);
+        order.setOrderDate(LocalDateTime.now());
+        order.setShippingAddress(orderDto.getShippingAddress());
+        order.setBillingAddress(orderDto.getBillingAddress());
+        order.setNotes(orderDto.getNotes());
+        
+        for (OrderItemDto item : items) {
+            Product product = products.get(item.getProductId());
+            product.decreaseStock(item.getQuantity());
+            lowStockMonitor.stockChanged(product);
+            order.addOrderItem(new OrderItem(product, item.getQuantity(), product.getPrice()));
+            productSalesService.recordSale(product.getId(), item.getQuantity());
+        }
+        
+        Order savedOrder = orderRepository.save(order);
+        recordHistory(savedOrder);
+        logger.info("Order placed successfully with id: {}", savedOrder.getId());
+        
+        return orderMapper.toDetailDto(savedOrder);
+    }
+    
+    @RetryOnConflict
     public OrderDto addOrderItem(Long orderId, OrderItemDto orderItemDto) {
         logger.debug("Adding item to order id: {}", orderId);
         
-        Order order = orderRepository.findByIdWithOrderItems(orderId)
+        // Fetched with the existing items' products, which the returned detail includes
+        Order order = orderRepository.findDetailById(orderId)
                 .orElseThrow(() -> new ResourceNotFoundException("Order not found with id: " + orderId));
         
-        Product product = productRepository.findById(orderItemDto.getProductId())
+        // Locked like checkout, so that concurrent stock changes queue instead of failing on the version
+        Product product = productRepository.findByIdForUpdate(orderItemDto.getProductId())
                 .orElseThrow(() -> new ResourceNotFoundException("Product not found with id: " + orderItemDto.getProductId()));
         
         if (!product.isInStock()) {
@@ -169,26 +344,40 @@ public class OrderService {
         // Decrease product stock
         product.decreaseStock(orderItemDto.getQuantity());
         productRepository.save(product);
+        lowStockMonitor.stockChanged(product);
+        productSalesService.recordSale(product.getId(), orderItemDto.getQuantity());
         
         Order updatedOrder = orderRepository.save(order);
+        recordHistory(updatedOrder);
         logger.info("Order item added successfully to order id: {}", orderId);
         
-        return orderMapper.toDto(updatedOrder);
+        return orderMapper.toDetailDto(updatedOrder);
     }
     
+    /**
+     * Moves an order to {@code status} if {@link Order.OrderStatus} allows it
+     * from the current status, with a single guarded update. Cancelling goes
+     * through {@link #cancelOrder} so that stock is restored.
+     */
     public OrderDto updateOrderStatus(Long id, Order.OrderStatus status) {
         logger.debug("Updating order status for id: {} to: {}", id, status);
         
-        Order order = orderRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Order not found with id: " + id));
+        if (status == Order.OrderStatus.CANCELLED) {
+            return cancelOrder(id);
+        }
         
-        order.setStatus(status);
-        Order updatedOrder = orderRepository.save(order);
+        int updated = orderRepository.transitionStatusByIdIn(List.of(id), status.predecessors(), status, LocalDateTime.now());
+        if (updated == 0) {
+            throw invalidTransition(id, status);
+        }
+        syncHistoryStatus(List.of(id));
+        liveUpdateService.orderStatusChanged(List.of(id), status);
         logger.info("Order status updated successfully for id: {}", id);
         
-        return orderMapper.toDto(updatedOrder);
+        return findById(id);
     }
     
+    @RetryOnConflict
     public OrderDto update(Long id, OrderDto orderDto) {
         logger.debug("Updating order with id: {}", id);
         
@@ -197,6 +386,7 @@ public class OrderService {
         
         orderMapper.updateEntityFromDto(orderDto, existingOrder);
         Order updatedOrder = orderRepository.save(existingOrder);
+        recordHistory(updatedOrder);
         logger.info("Order updated successfully with id: {}", updatedOrder.getId());
         
         return orderMapper.toDto(updatedOrder);
@@ -205,26 +395,82 @@ public class OrderService {
     public OrderDto cancelOrder(Long id) {
         logger.debug("Cancelling order with id: {}", id);
         
-        Order order = orderRepository.findByIdWithOrderItems(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Order not found with id: " + id));
+        List<Long> lockedIds = orderRepository.lockIdsWithStatusIn(List.of(id), statusNames(Order.OrderStatus.CANCELLED.predecessors()));
+        if (lockedIds.isEmpty()) {
+            throw invalidTransition(id, Order.OrderStatus.CANCELLED);
+        }
+        
+        cancelLockedOrders(lockedIds);
+        logger.info("Order cancelled successfully with id: {}", id);
         
-        if (order.getStatus() == Order.OrderStatus.DELIVERED || 
-            order.getStatus() == Order.OrderStatus.CANCELLED) {
-            throw new IllegalArgumentException("Cannot cancel order with status: " + order.getStatus());
+        return findById(id);
+    }
+    
+    /**
+     * Cancels every order in {@code orderIds} that can still be cancelled, using
+     * set-based statements: eligible orders are locked in id order, then stock is
+     * restored with one update per product and the statuses with one update.
+     * Ineligible or unknown ids are skipped. Callers should pass a bounded chunk.
+     *
+     * @return the ids of the orders that were cancelled
+     */
+    public List<Long> cancelOrders(Collection<Long> orderIds) {
+        logger.debug("Cancelling {} orders", orderIds.size());
+        
+        List<Long> cancellableIds = orderRepository.lockIdsWithStatusIn(orderIds, statusNames(Order.OrderStatus.CANCELLED.predecessors()));
+        if (cancellableIds.isEmpty()) {
+            return cancellableIds;
         }
         
-        // Restore product stock
-        for (OrderItem orderItem : order.getOrderItems()) {
-            Product product = orderItem.getProduct();
-            product.increaseStock(orderItem.getQuantity());
-            productRepository.save(product);
+        cancelLockedOrders(cancellableIds);
+        logger.info("Cancelled {} of {} orders", cancellableIds.size(), orderIds.size());
+        
+        return cancellableIds;
+    }
+    
+    /**
+     * Cancels up to {@code limit} of the oldest PENDING orders placed before
+     * {@code cutoff} and restores their stock, like {@link #cancelOrders}.
+     * Orders locked by another transaction are skipped rather than waited for,
+     * so several instances can run this concurrently without overlapping.
+     */
+    public CancellationResult cancelPendingOrdersPlacedBefore(LocalDateTime cutoff, int limit) {
+        List<Long> orderIds = orderRepository.lockPendingIdsOrderedBefore(cutoff, limit);
+        if (orderIds.isEmpty()) {
+            return new CancellationResult(orderIds, 0);
         }
         
-        order.setStatus(Order.OrderStatus.CANCELLED);
-        Order updatedOrder = orderRepository.save(order);
-        logger.info("Order cancelled successfully with id: {}", id);
+        long unitsReleased = cancelLockedOrders(orderIds);
+        logger.info("Cancelled {} pending orders placed before {}, releasing {} units of stock",
+                orderIds.size(), cutoff, unitsReleased);
         
-        return orderMapper.toDto(updatedOrder);
+        return new CancellationResult(orderIds, unitsReleased);
+    }
+    
+    /**
+     * Moves every order in {@code orderIds} whose current status allows it to
+     * {@code status}. The eligible orders are locked in id order first, so the
+     * guarded update moves exactly those and only they are announced. Other
+     * orders and unknown ids are left alone and not counted.
+     *
+     * @return the number of orders whose status changed
+     */
+    public int updateOrderStatuses(Collection<Long> orderIds, Order.OrderStatus status) {
+        logger.debug("Updating status of {} orders to: {}", orderIds.size(), status);
+        
+        if (status == Order.OrderStatus.CANCELLED) {
+            throw new IllegalArgumentException("Orders must be cancelled through cancellation so that stock is restored");
+        }
+        
+        List<Long> eligibleIds = orderRepository.lockIdsWithStatusIn(orderIds, statusNames(status.predecessors()));
+        if (eligibleIds.isEmpty()) {
+            return 0;
+        }
+        
+        int updated = orderRepository.transitionStatusByIdIn(eligibleIds, status.predecessors(), status, LocalDateTime.now());
+        syncHistoryStatus(eligibleIds);
+        liveUpdateService.orderStatusChanged(eligibleIds, status);
+        return updated;
     }
     
     public void deleteById(Long id) {
@@ -234,6 +480,7 @@ public class OrderService {
             throw new ResourceNotFoundException("Order not found with id: " + id);
         }
         
+        orderHistoryRepository.deleteAllByIdInBatch(List.of(id));
         orderRepository.deleteById(id);
         logger.info("Order deleted successfully with id: {}", id);
     }
@@ -253,7 +500,74 @@ public class OrderService {
         return orderRepository.countByUserId(userId);
     }
     
+    /**
+     * Loads the items of every order on the page with a single IN query
+     * instead of initializing each order's collection separately.
+     */
+    private Page<OrderDto> withOrderItems(Page<OrderDto> orders) {
+        List<Long> orderIds = orders.getContent().stream()
+                .map(OrderDto::getId)
+                .collect(Collectors.toList());
+        if (orderIds.isEmpty()) {
+            return orders;
+        }
+        
+        Map<Long, List<OrderItemDto>> itemsByOrderId = orderItemRepository.findByOrderIdInWithProduct(orderIds).stream()
+                .map(orderItemMapper::toDto)
+                .collect(Collectors.groupingBy(OrderItemDto::getOrderId));
+        orders.forEach(order -> order.setOrderItems(itemsByOrderId.getOrDefault(order.getId(), List.of())));
+        return orders;
+    }
+    
     private String generateOrderNumber() {
         return "ORD-" + System.currentTimeMillis() + "-" + UUID.randomUUID().toString().substring(0, 6).toUpperCase();
     }
-}
\ No newline at end of file
+    
+    // Callers must hold the row locks of orderIds; returns the number of units put back into stock
+    private long cancelLockedOrders(List<Long> orderIds) {
+        long unitsReleased = 0;
+        List<OrderItemRepository.ProductQuantity> restocks = orderItemRepository.sumQuantityByProductForOrders(orderIds);
+        List<Long> restockedProductIds = restocks.stream().map(OrderItemRepository.ProductQuantity::getProductId).toList();
+        
+        // Restocked through the entities, so the second-level cache drops only these products;
+        // locked in id order, so concurrent chunks cannot deadlock on product rows
+        Map<Long, Product> products = productRepository.findAllByIdForUpdate(restockedProductIds).stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+        for (OrderItemRepository.ProductQuantity restored : restocks) {
+            int quantity = restored.getQuantity().intValue();
+            products.get(restored.getProductId()).increaseStock(quantity);
+            productSalesService.recordCancellation(restored.getProductId(), quantity);
+            unitsReleased += quantity;
+        }
+        if (!restockedProductIds.isEmpty()) {
+            lowStockMonitor.stockChanged(restockedProductIds);
+        }
+        
+        orderRepository.transitionStatusByIdIn(orderIds, Order.OrderStatus.CANCELLED.predecessors(),
+                Order.OrderStatus.CANCELLED, LocalDateTime.now());
+        syncHistoryStatus(orderIds);
+        liveUpdateService.orderStatusChanged(orderIds, Order.OrderStatus.CANCELLED);
+        return unitsReleased;
+    }
+    
+    private void recordHistory(Order order) {
+        orderHistoryRepository.save(new CustomerOrderHistory(order));
+    }
+    
+    // Copies statuses changed by bulk updates, which bypass the entities, into the history read model
+    private void syncHistoryStatus(Collection<Long> orderIds) {
+        orderHistoryRepository.syncStatusByOrderIdIn(orderIds, LocalDateTime.now());
+    }
+    
+    private RuntimeException invalidTransition(Long id, Order.OrderStatus target) {
+        Order.OrderStatus current = orderRepository.findStatusById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Order not found with id: " + id));
+        return new IllegalArgumentException("Cannot change order status from " + current + " to " + target);
+    }
+    
+    private static List<String> statusNames(Collection<Order.OrderStatus> statuses) {
+        return statuses.stream().map(Enum::name).toList();
+    }
+    
+    public record CancellationResult(List<Long> orderIds, long unitsReleased) {}
+}
@@ -0,0 +1,97 @@
+package com.shop.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Cancels PENDING orders that were never paid, so the stock they reserved
+ * becomes available again. Orders placed through checkout are PENDING until
+ * paid too, so the TTL must be longer than the payment window; the reaper is
+ * off unless {@code app.order-reaper.enabled} is set. Each batch is cancelled in its own transaction
+ * by {@link OrderService#cancelPendingOrdersPlacedBefore}; batches claimed by
+ * another instance are skipped, so every instance can run the reaper.
+ */
+@Service
+public class PendingOrderReaper {
+    
+    private static final Logger logger = LoggerFactory.getLogger(PendingOrderReaper.class);
+    
+    private final OrderService orderService;
+    private final boolean enabled;
+    private final Duration pendingTtl;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+    private final Counter ordersCancelled;
+    private final DistributionSummary stockReleasedPerRun;
+    
+    @Autowired
+    public PendingOrderReaper(OrderService orderService,
+                              MeterRegistry meterRegistry,
+                              @Value("${app.order-reaper.enabled:false}") boolean enabled,
+                              @Value("${app.order-reaper.pending-ttl:72h}") Duration pendingTtl,
+                              @Value("${app.order-reaper.batch-size:200}") int batchSize,
+                              @Value("${app.order-reaper.max-batches-per-run:50}") int maxBatchesPerRun) {
+        this.orderService = orderService;
+        this.enabled = enabled;
+        this.pendingTtl = pendingTtl;
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+        this.ordersCancelled = Counter.builder("orders.reaper.cancelled")
+                .description("Abandoned PENDING orders cancelled by the reaper")
+                .register(meterRegistry);
+        this.stockReleasedPerRun = DistributionSummary.builder("orders.reaper.stock.released")
+                .description("Units of stock released per reaper run")
+                .baseUnit("units")
+                .register(meterRegistry);
+    }
+    
+    @Scheduled(fixedDelayString = "${app.order-reaper.interval-ms:60000}")
+    public void scheduledRun() {
+        if (enabled) {
+            reap();
+        }
+    }
+    
+    /**
+     * Cancels abandoned orders in batches until none are left or the per-run
+     * batch limit is reached.
+     *
+     * @return the number of orders cancelled
+     */
+    public int reap() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(pendingTtl);
+        int cancelled = 0;
+        long unitsReleased = 0;
+        try {
+            for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+                OrderService.CancellationResult result = orderService.cancelPendingOrdersPlacedBefore(cutoff, batchSize);
+                cancelled += result.orderIds().size();
+                unitsReleased += result.unitsReleased();
+                ordersCancelled.increment(result.orderIds().size());
+                if (result.orderIds().size() < batchSize) {
+                    break;
+                }
+            }
+        } catch (RuntimeException e) {
+            // Committed batches stay cancelled; the rest is picked up by the next run
+            logger.error("Pending order reaper failed after cancelling {} orders", cancelled, e);
+        }
+        
+        stockReleasedPerRun.record(unitsReleased);
+        if (cancelled > 0) {
+            logger.info("Reaped {} abandoned orders placed before {}, releasing {} units of stock",
+                    cancelled, cutoff, unitsReleased);
+        }
+        return cancelled;
+    }
+}
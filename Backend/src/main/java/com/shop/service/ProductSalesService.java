@@ -0,0 +1,163 @@
+package com.shop.service;
+
+import com.shop.entity.ProductSalesCounter;
+import com.shop.repository.ProductSalesCounterRepository;
+import com.shop.support.ReportingWorkload;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Maintains per-product sold quantities in {@code product_sales_counters}.
+ * <p>
+ * Order writes only append a row to {@code product_sales_deltas} in their own
+ * transaction, so a hot product never becomes a contended row on the checkout
+ * path and a rolled-back order leaves no trace. Each flush claims a batch of
+ * deltas, adds their net quantity per product to the counters and deletes them
+ * in one transaction, so a delta is applied exactly once even when a flush
+ * fails or several nodes flush concurrently.
+ */
+@Service
+public class ProductSalesService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProductSalesService.class);
+
+    private static final String INSERT_DELTA_SQL =
+            "INSERT INTO product_sales_deltas (product_id, quantity, created_at) VALUES (?, ?, CURRENT_TIMESTAMP)";
+
+    // SKIP LOCKED lets flushes on several nodes claim disjoint batches
+    private static final String CLAIM_DELTAS_SQL =
+            "SELECT id, product_id, quantity FROM product_sales_deltas ORDER BY id LIMIT ? FOR UPDATE SKIP LOCKED";
+
+    private static final String DELETE_DELTA_SQL = "DELETE FROM product_sales_deltas WHERE id = ?";
+
+    private static final String INSERT_COUNTER_SQL =
+            "INSERT INTO product_sales_counters (product_id, quantity_sold, updated_at) " +
+            "SELECT p.id, 0, CURRENT_TIMESTAMP FROM products p WHERE p.id = ? " +
+            "AND NOT EXISTS (SELECT 1 FROM product_sales_counters c WHERE c.product_id = p.id)";
+
+    private static final String ADD_TO_COUNTER_SQL =
+            "UPDATE product_sales_counters SET quantity_sold = GREATEST(quantity_sold + ?, 0), " +
+            "updated_at = CURRENT_TIMESTAMP WHERE product_id = ?";
+
+    // Every product gets a row, so popularity listings can be driven from the counters
+    private static final String REBUILD_SQL =
+            "INSERT INTO product_sales_counters (product_id, quantity_sold, updated_at) " +
+            "SELECT p.id, COALESCE(s.quantity, 0), CURRENT_TIMESTAMP FROM products p LEFT JOIN (" +
+            "SELECT oi.product_id AS product_id, SUM(oi.quantity) AS quantity FROM order_items oi " +
+            "JOIN orders o ON o.id = oi.order_id WHERE o.status <> 'CANCELLED' GROUP BY oi.product_id" +
+            ") s ON s.product_id = p.id";
+
+    private final ProductSalesCounterRepository counterRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+
+    @Autowired
+    public ProductSalesService(ProductSalesCounterRepository counterRepository,
+                               JdbcTemplate jdbcTemplate,
+                               TransactionTemplate transactionTemplate,
+                               @Value("${app.sales-counters.batch-size:500}") int batchSize) {
+        this.counterRepository = counterRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Creates the zero counter of a new product in the current transaction.
+     */
+    public void createCounter(Long productId) {
+        jdbcTemplate.update(INSERT_COUNTER_SQL, productId);
+    }
+
+    public void recordSale(Long productId, int quantity) {
+        jdbcTemplate.update(INSERT_DELTA_SQL, productId, quantity);
+    }
+
+    public void recordCancellation(Long productId, int quantity) {
+        jdbcTemplate.update(INSERT_DELTA_SQL, productId, -quantity);
+    }
+
+    @Transactional(readOnly = true)
+    public long getQuantitySold(Long productId) {
+        return counterRepository.findById(productId)
+                .map(ProductSalesCounter::getQuantitySold)
+                .orElse(0L);
+    }
+
+    /**
+     * Applies pending deltas in batches of {@code app.sales-counters.batch-size},
+     * one transaction per batch, until none are left. A failed batch is rolled
+     * back as a whole and retried by the next run.
+     */
+    @Scheduled(fixedDelayString = "${app.sales-counters.flush-interval-ms:5000}")
+    public void flush() {
+        try {
+            int applied;
+            do {
+                applied = transactionTemplate.execute(status -> applyDeltas());
+            } while (applied == batchSize);
+        } catch (DataAccessException e) {
+            logger.error("Failed to flush sales counters, the remaining deltas are kept for the next run", e);
+        }
+    }
+
+    /**
+     * Recomputes the counters from {@code order_items}. All statements read one
+     * snapshot, so the deltas it deletes are exactly those already reflected in
+     * the orders it sums; deltas committed later are kept and flushed on top.
+     * On Postgres a flush committing concurrently makes the rebuild fail with a
+     * serialization error rather than count anything twice.
+     */
+    @Scheduled(cron = "${app.sales-counters.rebuild-cron:-}")
+    @ReportingWorkload
+    @Transactional(isolation = Isolation.REPEATABLE_READ)
+    public void rebuild() {
+        logger.info("Rebuilding product sales counters from order items");
+
+        jdbcTemplate.update("DELETE FROM product_sales_deltas");
+        jdbcTemplate.update("DELETE FROM product_sales_counters");
+        int rows = jdbcTemplate.update(REBUILD_SQL);
+
+        logger.info("Product sales counters rebuilt for {} products", rows);
+    }
+
+    private int applyDeltas() {
+        List<Object[]> claimed = jdbcTemplate.query(CLAIM_DELTAS_SQL,
+                (rs, rowNum) -> new Object[]{rs.getLong("id"), rs.getLong("product_id"), rs.getLong("quantity")},
+                batchSize);
+        if (claimed.isEmpty()) {
+            return 0;
+        }
+
+        // Product id order keeps concurrent flushes from several nodes deadlock-free
+        Map<Long, Long> netDeltas = new TreeMap<>();
+        claimed.forEach(row -> netDeltas.merge((Long) row[1], (Long) row[2], Long::sum));
+        List<Object[]> counterRows = new ArrayList<>();
+        netDeltas.forEach((productId, delta) -> {
+            if (delta != 0) {
+                counterRows.add(new Object[]{delta, productId});
+            }
+        });
+
+        jdbcTemplate.batchUpdate(INSERT_COUNTER_SQL, counterRows.stream().map(row -> new Object[]{row[1]}).toList());
+        jdbcTemplate.batchUpdate(ADD_TO_COUNTER_SQL, counterRows);
+        jdbcTemplate.batchUpdate(DELETE_DELTA_SQL, claimed.stream().map(row -> new Object[]{row[0]}).toList());
+        logger.debug("Applied {} sales deltas to the counters of {} products", claimed.size(), counterRows.size());
+        return claimed.size();
+    }
+}
@@ -7,6 +7,7 @@ import com.shop.exception.ResourceNotFoundException;
 import com.shop.mapper.ProductMapper;
 import com.shop.repository.CategoryRepository;
 import com.shop.repository.ProductRepository;
+import com.shop.support.RetryOnConflict;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -28,14 +29,20 @@ public class ProductService {
     private final ProductRepository productRepository;
     private final CategoryRepository categoryRepository;
     private final ProductMapper productMapper;
+    private final LowStockMonitor lowStockMonitor;
+    private final ProductSalesService productSalesService;
     
     @Autowired
     public ProductService(ProductRepository productRepository, 
                          CategoryRepository categoryRepository,
-                         ProductMapper productMapper) {
+                         ProductMapper productMapper,
+                         LowStockMonitor lowStockMonitor,
+                         ProductSalesService productSalesService) {
         this.productRepository = productRepository;
         this.categoryRepository = categoryRepository;
         this.productMapper = productMapper;
+        this.lowStockMonitor = lowStockMonitor;
+        this.productSalesService = productSalesService;
     }
     
     @Transactional(readOnly = true)
@@ -88,6 +95,13 @@ public class ProductService {
         return products.map(productMapper::toDto);
     }
     
+    @Transactional(readOnly = true)
+    public Page<ProductDto> findPopularProducts(Pageable pageable) {
+        logger.debug("Finding active products by popularity");
+        Page<Product> products = productRepository.findActiveOrderByPopularity(pageable);
+        return products.map(productMapper::toDto);
+    }
+    
     @Transactional(readOnly = true)
     public List<ProductDto> findByKeyword(String keyword) {
         logger.debug("Finding products by keyword: {}", keyword);
@@ -138,11 +152,14 @@ public class ProductService {
         }
         
         Product savedProduct = productRepository.save(product);
+        productSalesService.createCounter(savedProduct.getId());
+        lowStockMonitor.stockChanged(savedProduct);
         logger.info("Product saved successfully with id: {}", savedProduct.getId());
         
         return productMapper.toDto(savedProduct);
     }
     
+    @RetryOnConflict
     public ProductDto update(Long id, ProductDto productDto) {
         logger.debug("Updating product with id: {}", id);
         
@@ -165,6 +182,7 @@ public class ProductService {
         }
         
         Product updatedProduct = productRepository.save(existingProduct);
+        lowStockMonitor.stockChanged(updatedProduct);
         logger.info("Product updated successfully with id: {}", updatedProduct.getId());
         
         return productMapper.toDto(updatedProduct);
@@ -178,9 +196,11 @@ public class ProductService {
         }
         
         productRepository.deleteById(id);
+        lowStockMonitor.productRemoved(id);
         logger.info("Product deleted successfully with id: {}", id);
     }
     
+    @RetryOnConflict
     public ProductDto updateStock(Long id, Integer quantity) {
         logger.debug("Updating stock for product id: {} to quantity: {}", id, quantity);
         
@@ -189,32 +209,37 @@ public class ProductService {
         
         product.setStockQuantity(quantity);
         Product updatedProduct = productRepository.save(product);
+        lowStockMonitor.stockChanged(updatedProduct);
         logger.info("Stock updated successfully for product id: {}", id);
         
         return productMapper.toDto(updatedProduct);
     }
     
+    @RetryOnConflict
     public ProductDto increaseStock(Long id, Integer quantity) {
         logger.debug("Increasing stock for product id: {} by quantity: {}", id, quantity);
         
-        Product product = productRepository.findById(id)
+        Product product = productRepository.findByIdForUpdate(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Product not found with id: " + id));
         
         product.increaseStock(quantity);
         Product updatedProduct = productRepository.save(product);
+        lowStockMonitor.stockChanged(updatedProduct);
         logger.info("Stock increased successfully for product id: {}", id);
         
         return productMapper.toDto(updatedProduct);
     }
     
+    @RetryOnConflict
     public ProductDto decreaseStock(Long id, Integer quantity) {
         logger.debug("Decreasing stock for product id: {} by quantity: {}", id, quantity);
         
-        Product product = productRepository.findById(id)
+        Product product = productRepository.findByIdForUpdate(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Product not found with id: " + id));
         
         product.decreaseStock(quantity);
         Product updatedProduct = productRepository.save(product);
+        lowStockMonitor.stockChanged(updatedProduct);
         logger.info("Stock decreased successfully for product id: {}", id);
         
         return productMapper.toDto(updatedProduct);
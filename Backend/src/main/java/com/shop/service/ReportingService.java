@@ -0,0 +1,68 @@
+package com.shop.service;
+
+import com.shop.dto.OrderDto;
+import com.shop.dto.ProductDto;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * Bulkhead for heavy admin reads. Reports run on {@code reportingExecutor}
+ * with connections from the reporting pool, each in a read-only transaction
+ * whose timeout bounds every statement, so a slow report cannot hold request
+ * threads or OLTP connections. When the executor is saturated, the report is
+ * rejected immediately with {@link org.springframework.core.task.TaskRejectedException}.
+ */
+@Service
+public class ReportingService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(ReportingService.class);
+    
+    private final OrderService orderService;
+    private final ProductService productService;
+    private final TaskExecutor reportingExecutor;
+    private final TransactionTemplate reportTransaction;
+    
+    @Autowired
+    public ReportingService(OrderService orderService,
+                            ProductService productService,
+                            @Qualifier("reportingExecutor") TaskExecutor reportingExecutor,
+                            PlatformTransactionManager transactionManager,
+                            @Value("${app.reporting.statement-timeout:30s}") Duration statementTimeout) {
+        this.orderService = orderService;
+        this.productService = productService;
+        this.reportingExecutor = reportingExecutor;
+        this.reportTransaction = new TransactionTemplate(transactionManager);
+        this.reportTransaction.setReadOnly(true);
+        this.reportTransaction.setTimeout((int) Math.max(1, statementTimeout.toSeconds()));
+    }
+    
+    public CompletableFuture<List<OrderDto>> findAllOrders() {
+        return submit("all orders", orderService::findAll);
+    }
+    
+    public CompletableFuture<List<OrderDto>> findOrdersByDateRange(LocalDateTime startDate, LocalDateTime endDate) {
+        return submit("orders by date range", () -> orderService.findByDateRange(startDate, endDate));
+    }
+    
+    public CompletableFuture<List<ProductDto>> findLowStockProducts(Integer threshold) {
+        return submit("low stock products", () -> productService.findLowStockProducts(threshold));
+    }
+    
+    private <T> CompletableFuture<T> submit(String report, Supplier<T> query) {
+        logger.debug("Queueing report: {}", report);
+        return CompletableFuture.supplyAsync(() -> reportTransaction.execute(status -> query.get()), reportingExecutor);
+    }
+}
@@ -1,5 +1,6 @@
 package com.shop.service;
 
+import com.shop.dto.CursorPage;
 import com.shop.dto.UserDto;
 import com.shop.entity.User;
 import com.shop.exception.ResourceNotFoundException;
@@ -8,6 +9,9 @@ import com.shop.repository.UserRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -19,6 +23,11 @@ public class UserService {
     
     private static final Logger logger = LoggerFactory.getLogger(UserService.class);
     
+    private static final int MAX_SCROLL_SIZE = 100;
+    
+    // Shorter keywords produce no trigrams and cannot use the search indexes
+    private static final int MIN_SEARCH_KEYWORD_LENGTH = 3;
+    
     private final UserRepository userRepository;
     private final UserMapper userMapper;
     
@@ -29,10 +38,18 @@ public class UserService {
     }
     
     @Transactional(readOnly = true)
-    public List<UserDto> findAll() {
-        logger.debug("Finding all users");
-        List<User> users = userRepository.findAll();
-        return userMapper.toDtoList(users);
+    public Page<UserDto> findAll(Pageable pageable) {
+        logger.debug("Finding all users with pagination");
+        Page<User> users = userRepository.findAll(pageable);
+        return users.map(userMapper::toDto);
+    }
+    
+    @Transactional(readOnly = true)
+    public CursorPage<UserDto> scroll(Long afterId, int size) {
+        logger.debug("Scrolling users after id: {}", afterId);
+        int limit = scrollSize(size);
+        List<User> users = userRepository.findByIdGreaterThanOrderByIdAsc(cursor(afterId), Limit.of(limit + 1));
+        return toCursorPage(users, limit);
     }
     
     @Transactional(readOnly = true)
@@ -68,24 +85,48 @@ public class UserService {
     }
     
     @Transactional(readOnly = true)
-    public List<UserDto> findByRole(User.Role role) {
-        logger.debug("Finding users by role: {}", role);
-        List<User> users = userRepository.findByRole(role);
-        return userMapper.toDtoList(users);
+    public Page<UserDto> findByRole(User.Role role, Pageable pageable) {
+        logger.debug("Finding users by role: {} with pagination", role);
+        Page<User> users = userRepository.findByRole(role, pageable);
+        return users.map(userMapper::toDto);
+    }
+    
+    @Transactional(readOnly = true)
+    public CursorPage<UserDto> scrollByRole(User.Role role, Long afterId, int size) {
+        logger.debug("Scrolling users by role: {} after id: {}", role, afterId);
+        int limit = scrollSize(size);
+        List<User> users = userRepository.findByRoleAndIdGreaterThanOrderByIdAsc(role, cursor(afterId), Limit.of(limit + 1));
+        return toCursorPage(users, limit);
+    }
+    
+    @Transactional(readOnly = true)
+    public Page<UserDto> findActiveUsers(Pageable pageable) {
+        logger.debug("Finding active users with pagination");
+        Page<User> users = userRepository.findByIsActiveTrue(pageable);
+        return users.map(userMapper::toDto);
     }
     
     @Transactional(readOnly = true)
-    public List<UserDto> findActiveUsers() {
-        logger.debug("Finding active users");
-        List<User> users = userRepository.findByIsActiveTrue();
-        return userMapper.toDtoList(users);
+    public CursorPage<UserDto> scrollActiveUsers(Long afterId, int size) {
+        logger.debug("Scrolling active users after id: {}", afterId);
+        int limit = scrollSize(size);
+        List<User> users = userRepository.findByIsActiveTrueAndIdGreaterThanOrderByIdAsc(cursor(afterId), Limit.of(limit + 1));
+        return toCursorPage(users, limit);
     }
     
     @Transactional(readOnly = true)
-    public List<UserDto> findByKeyword(String keyword) {
-        logger.debug("Finding users by keyword: {}", keyword);
-        List<User> users = userRepository.findByKeyword(keyword);
-        return userMapper.toDtoList(users);
+    public Page<UserDto> findByKeyword(String keyword, Pageable pageable) {
+        logger.debug("Finding users by keyword with pagination");
+        Page<User> users = userRepository.search(searchPattern(keyword), pageable);
+        return users.map(userMapper::toDto);
+    }
+    
+    @Transactional(readOnly = true)
+    public CursorPage<UserDto> scrollByKeyword(String keyword, Long afterId, int size) {
+        logger.debug("Scrolling users by keyword after id: {}", afterId);
+        int limit = scrollSize(size);
+        List<User> users = userRepository.searchAfter(searchPattern(keyword), cursor(afterId), Limit.of(limit + 1));
+        return toCursorPage(users, limit);
     }
     
     public UserDto save(UserDto userDto) {
@@ -114,12 +155,13 @@ public class UserService {
         User existingUser = userRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + id));
         
-        if (!existingUser.getUsername().equals(userDto.getUsername()) && 
+        // Uniqueness ignores case, so changing only the case of one's own name is not a conflict
+        if (!existingUser.getUsername().equalsIgnoreCase(userDto.getUsername()) && 
             userRepository.existsByUsername(userDto.getUsername())) {
             throw new IllegalArgumentException("User with username '" + userDto.getUsername() + "' already exists");
         }
         
-        if (!existingUser.getEmail().equals(userDto.getEmail()) && 
+        if (!existingUser.getEmail().equalsIgnoreCase(userDto.getEmail()) && 
             userRepository.existsByEmail(userDto.getEmail())) {
             throw new IllegalArgumentException("User with email '" + userDto.getEmail() + "' already exists");
         }
@@ -187,4 +229,24 @@ public class UserService {
     public boolean existsByKeycloakId(String keycloakId) {
         return userRepository.existsByKeycloakId(keycloakId);
     }
-}
\ No newline at end of file
+    
+    private CursorPage<UserDto> toCursorPage(List<User> users, int size) {
+        return CursorPage.of(userMapper.toDtoList(users), size, UserDto::getId);
+    }
+    
+    private int scrollSize(int size) {
+        return Math.max(1, Math.min(size, MAX_SCROLL_SIZE));
+    }
+    
+    private long cursor(Long afterId) {
+        return afterId != null ? afterId : 0L;
+    }
+    
+    private String searchPattern(String keyword) {
+        if (keyword == null || keyword.trim().length() < MIN_SEARCH_KEYWORD_LENGTH) {
+            throw new IllegalArgumentException("Search keyword must be at least " + MIN_SEARCH_KEYWORD_LENGTH + " characters");
+        }
+        String escaped = keyword.trim().replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+        return "%" + escaped + "%";
+    }
+}
@@ -0,0 +1,139 @@
+package com.shop.support;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A shopping cart held by {@link CartStore}. Items remember the price the
+ * customer was shown when adding them; it is checked again at checkout.
+ * Methods are synchronized as a cart can be modified from several tabs at once.
+ */
+public class Cart {
+    
+    private String id;
+    private long lastAccessedAt;
+    private Map<Long, Item> items = new LinkedHashMap<>();
+    
+    // Constructors
+    public Cart() {}
+    
+    public Cart(String id, long lastAccessedAt) {
+        this.id = id;
+        this.lastAccessedAt = lastAccessedAt;
+    }
+    
+    public synchronized void setItem(Long productId, String productName, BigDecimal unitPrice, int quantity) {
+        items.put(productId, new Item(productId, productName, unitPrice, quantity));
+    }
+    
+    public synchronized void removeItem(Long productId) {
+        items.remove(productId);
+    }
+    
+    public synchronized void updatePrices(Map<Long, BigDecimal> prices) {
+        prices.forEach((productId, price) -> {
+            Item item = items.get(productId);
+            if (item != null) {
+                item.setUnitPrice(price);
+            }
+        });
+    }
+    
+    public synchronized boolean containsItem(Long productId) {
+        return items.containsKey(productId);
+    }
+    
+    public synchronized int countItems() {
+        return items.size();
+    }
+    
+    /**
+     * Returns copies of the items, safe to read while the cart keeps changing.
+     */
+    public synchronized List<Item> snapshotItems() {
+        List<Item> copies = new ArrayList<>(items.size());
+        items.values().forEach(item -> copies.add(new Item(item.getProductId(), item.getProductName(),
+                item.getUnitPrice(), item.getQuantity())));
+        return copies;
+    }
+    
+    // Getters and Setters
+    public String getId() {
+        return id;
+    }
+    
+    public void setId(String id) {
+        this.id = id;
+    }
+    
+    public long getLastAccessedAt() {
+        return lastAccessedAt;
+    }
+    
+    public void setLastAccessedAt(long lastAccessedAt) {
+        this.lastAccessedAt = lastAccessedAt;
+    }
+    
+    public synchronized List<Item> getItems() {
+        return snapshotItems();
+    }
+    
+    public synchronized void setItems(List<Item> items) {
+        this.items = new LinkedHashMap<>();
+        items.forEach(item -> this.items.put(item.getProductId(), item));
+    }
+    
+    public static class Item {
+        
+        private Long productId;
+        private String productName;
+        private BigDecimal unitPrice;
+        private int quantity;
+        
+        // Constructors
+        public Item() {}
+        
+        public Item(Long productId, String productName, BigDecimal unitPrice, int quantity) {
+            this.productId = productId;
+            this.productName = productName;
+            this.unitPrice = unitPrice;
+            this.quantity = quantity;
+        }
+        
+        // Getters and Setters
+        public Long getProductId() {
+            return productId;
+        }
+        
+        public void setProductId(Long productId) {
+            this.productId = productId;
+        }
+        
+        public String getProductName() {
+            return productName;
+        }
+        
+        public void setProductName(String productName) {
+            this.productName = productName;
+        }
+        
+        public BigDecimal getUnitPrice() {
+            return unitPrice;
+        }
+        
+        public void setUnitPrice(BigDecimal unitPrice) {
+            this.unitPrice = unitPrice;
+        }
+        
+        public int getQuantity() {
+            return quantity;
+        }
+        
+        public void setQuantity(int quantity) {
+            this.quantity = quantity;
+        }
+    }
+}
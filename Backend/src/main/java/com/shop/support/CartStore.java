@@ -0,0 +1,177 @@
+package com.shop.support;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.core.task.TaskRejectedException;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * In-memory carts, split over independent shards by cart id. Each access
+ * renews a cart's time to live; expired carts are removed lazily on access and
+ * by {@link #evictExpired()}, which sweeps one shard at a time so that a large
+ * store is never scanned in one pass.
+ * <p>
+ * Each shard holds at most its share of {@code maxCarts}. When a shard is full,
+ * {@link #create()} first drops its expired carts and then refuses the new cart
+ * with a {@link TaskRejectedException}. Concurrent creations may overshoot a
+ * shard's share by a few carts.
+ */
+public class CartStore {
+    
+    private static final TypeReference<List<Cart>> CART_LIST = new TypeReference<>() {};
+    
+    private final List<Map<String, Cart>> shards;
+    private final long ttlMillis;
+    private final int maxCartsPerShard;
+    private final LongSupplier clock;
+    
+    public CartStore(int shardCount, Duration ttl, int maxCarts) {
+        this(shardCount, ttl, maxCarts, System::currentTimeMillis);
+    }
+    
+    CartStore(int shardCount, Duration ttl, int maxCarts, LongSupplier clock) {
+        if (shardCount < 1) {
+            throw new IllegalArgumentException("Shard count must be positive");
+        }
+        if (maxCarts < 1) {
+            throw new IllegalArgumentException("Cart limit must be positive");
+        }
+        this.shards = new ArrayList<>(shardCount);
+        for (int i = 0; i < shardCount; i++) {
+            shards.add(new ConcurrentHashMap<>());
+        }
+        this.ttlMillis = ttl.toMillis();
+        this.maxCartsPerShard = (int) ((maxCarts + (long) shardCount - 1) / shardCount);
+        this.clock = clock;
+    }
+    
+    public Cart create() {
+        long now = clock.getAsLong();
+        Cart cart = new Cart(UUID.randomUUID().toString(), now);
+        Map<String, Cart> shard = shard(cart.getId());
+        if (shard.size() >= maxCartsPerShard) {
+            removeExpired(shard, now);
+            if (shard.size() >= maxCartsPerShard) {
+                throw new TaskRejectedException("Cart limit of " + maxCartsPerShard + " per shard reached");
+            }
+        }
+        shard.put(cart.getId(), cart);
+        return cart;
+    }
+    
+    public Optional<Cart> get(String id) {
+        Map<String, Cart> shard = shard(id);
+        Cart cart = shard.get(id);
+        if (cart == null) {
+            return Optional.empty();
+        }
+        long now = clock.getAsLong();
+        if (isExpired(cart, now)) {
+            shard.remove(id, cart);
+            return Optional.empty();
+        }
+        cart.setLastAccessedAt(now);
+        return Optional.of(cart);
+    }
+    
+    public void remove(String id) {
+        shard(id).remove(id);
+    }
+    
+    /**
+     * Removes the cart and returns it. Only one of several concurrent callers
+     * gets the cart; the others see it as absent until it is {@link #restore restored}.
+     */
+    public Optional<Cart> take(String id) {
+        Cart cart = shard(id).remove(id);
+        if (cart == null || isExpired(cart, clock.getAsLong())) {
+            return Optional.empty();
+        }
+        return Optional.of(cart);
+    }
+    
+    /**
+     * Puts back a cart removed by {@link #take}.
+     */
+    public void restore(Cart cart) {
+        cart.setLastAccessedAt(clock.getAsLong());
+        shard(cart.getId()).putIfAbsent(cart.getId(), cart);
+    }
+    
+    public int evictExpired() {
+        int evicted = 0;
+        for (Map<String, Cart> shard : shards) {
+            evicted += removeExpired(shard, clock.getAsLong());
+        }
+        return evicted;
+    }
+    
+    public int size() {
+        return shards.stream().mapToInt(Map::size).sum();
+    }
+    
+    /**
+     * Writes all live carts to {@code file}, replacing it atomically.
+     *
+     * @return the number of carts written
+     */
+    public int writeSnapshot(Path file, ObjectMapper objectMapper) throws IOException {
+        long now = clock.getAsLong();
+        List<Cart> carts = new ArrayList<>();
+        shards.forEach(shard -> shard.values().stream().filter(cart -> !isExpired(cart, now)).forEach(carts::add));
+        
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        objectMapper.writeValue(temp.toFile(), carts);
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return carts.size();
+    }
+    
+    /**
+     * Loads the unexpired carts of a snapshot written by {@link #writeSnapshot}.
+     *
+     * @return the number of carts restored
+     */
+    public int readSnapshot(Path file, ObjectMapper objectMapper) throws IOException {
+        if (!Files.exists(file)) {
+            return 0;
+        }
+        long now = clock.getAsLong();
+        int restored = 0;
+        for (Cart cart : objectMapper.readValue(file.toFile(), CART_LIST)) {
+            if (!isExpired(cart, now)) {
+                shard(cart.getId()).putIfAbsent(cart.getId(), cart);
+                restored++;
+            }
+        }
+        return restored;
+    }
+    
+    private int removeExpired(Map<String, Cart> shard, long now) {
+        int before = shard.size();
+        shard.values().removeIf(cart -> isExpired(cart, now));
+        return before - shard.size();
+    }
+    
+    private boolean isExpired(Cart cart, long now) {
+        return now - cart.getLastAccessedAt() > ttlMillis;
+    }
+    
+    private Map<String, Cart> shard(String id) {
+        return shards.get(Math.floorMod(id.hashCode(), shards.size()));
+    }
+}
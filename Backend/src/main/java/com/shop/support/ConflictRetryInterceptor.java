@@ -0,0 +1,125 @@
+package com.shop.support;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.aop.ProxyMethodInvocation;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * Implements {@link RetryOnConflict}. Must be ordered before the transaction
+ * interceptor, so that every attempt runs in a transaction of its own and
+ * nothing is held while it waits.
+ * <p>
+ * Retries are counted in {@code service.retry.attempts}, and calls that
+ * needed a retry in {@code service.retry.calls}, tagged by {@code outcome}:
+ * {@code recovered}, {@code exhausted} when the attempts ran out, or
+ * {@code budget-exhausted} when the method's retry budget was used up. Both
+ * are tagged by {@code method}.
+ */
+public class ConflictRetryInterceptor implements MethodInterceptor {
+    
+    private static final Logger logger = LoggerFactory.getLogger(ConflictRetryInterceptor.class);
+    
+    private final Map<Method, Policy> policies = new ConcurrentHashMap<>();
+    
+    private final Supplier<MeterRegistry> meterRegistry;
+    private final Sleeper sleeper;
+    
+    public ConflictRetryInterceptor(Supplier<MeterRegistry> meterRegistry) {
+        this(meterRegistry, Thread::sleep);
+    }
+    
+    ConflictRetryInterceptor(Supplier<MeterRegistry> meterRegistry, Sleeper sleeper) {
+        this.meterRegistry = meterRegistry;
+        this.sleeper = sleeper;
+    }
+    
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        if (TransactionSynchronizationManager.isActualTransactionActive()
+                || !(invocation instanceof ProxyMethodInvocation proxyInvocation)) {
+            return invocation.proceed();
+        }
+        Policy policy = policies.computeIfAbsent(invocation.getMethod(), method -> policyFor(invocation));
+        
+        for (int attempt = 1; ; attempt++) {
+            try {
+                Object result = proxyInvocation.invocableClone().proceed();
+                if (attempt > 1) {
+                    policy.count("recovered");
+                }
+                return result;
+            } catch (OptimisticLockingFailureException e) {
+                if (attempt >= policy.settings.maxAttempts()) {
+                    policy.count("exhausted");
+                    throw e;
+                }
+                if (policy.budget.tryAcquire(policy.name, 1) > 0) {
+                    policy.count("budget-exhausted");
+                    throw e;
+                }
+                long backoff = policy.backoff(attempt);
+                logger.debug("Conflict in {}, retrying in {} ms: {}", policy.name, backoff, e.getMessage());
+                meterRegistry.get().counter("service.retry.attempts", "method", policy.name).increment();
+                try {
+                    sleeper.sleep(backoff);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    throw e;
+                }
+            }
+        }
+    }
+    
+    private Policy policyFor(MethodInvocation invocation) {
+        Class<?> targetClass = invocation.getThis() != null
+                ? AopUtils.getTargetClass(invocation.getThis())
+                : invocation.getMethod().getDeclaringClass();
+        Method method = AopUtils.getMostSpecificMethod(invocation.getMethod(), targetClass);
+        RetryOnConflict settings = AnnotatedElementUtils.findMergedAnnotation(method, RetryOnConflict.class);
+        if (settings == null) {
+            throw new IllegalStateException("No @RetryOnConflict on " + method);
+        }
+        return new Policy(targetClass.getSimpleName() + "." + method.getName(), settings);
+    }
+    
+    @FunctionalInterface
+    interface Sleeper {
+        void sleep(long millis) throws InterruptedException;
+    }
+    
+    private final class Policy {
+        
+        private final String name;
+        private final RetryOnConflict settings;
+        private final TokenBucketLimiter budget;
+        
+        private Policy(String name, RetryOnConflict settings) {
+            this.name = name;
+            this.settings = settings;
+            this.budget = new TokenBucketLimiter(settings.retriesPerSecond(), settings.retriesPerSecond());
+        }
+        
+        // Full jitter: uniform up to the exponential bound, so conflicting callers spread out instead of colliding again
+        private long backoff(int attempt) {
+            long bound = Math.min(settings.maxBackoffMillis(), settings.backoffMillis() << Math.min(attempt - 1, 30));
+            return ThreadLocalRandom.current().nextLong(bound + 1);
+        }
+        
+        private void count(String outcome) {
+            meterRegistry.get().counter("service.retry.calls", "method", name, "outcome", outcome).increment();
+        }
+    }
+}
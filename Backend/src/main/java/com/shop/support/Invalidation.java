@@ -0,0 +1,35 @@
+package com.shop.support;
+
+/**
+ * One cached entity that other nodes must drop: its {@code type}, id and the
+ * {@code version} it was committed with. Entries changed by bulk updates that
+ * bypass the entities carry no version. {@code removed} marks a deleted entity.
+ */
+public record Invalidation(String type, Long id, Long version, boolean removed) {
+    
+    public String key() {
+        return type + ":" + id;
+    }
+    
+    /**
+     * Merges two invalidations of the same entity into the one to send: a
+     * removal outranks any change, and an unversioned change outranks
+     * versioned ones, since it has to be applied whatever was applied before.
+     */
+    public Invalidation merge(Invalidation other) {
+        if (removed || other.removed) {
+            return new Invalidation(type, id, maxVersion(version, other.version), true);
+        }
+        if (version == null || other.version == null) {
+            return new Invalidation(type, id, null, false);
+        }
+        return version >= other.version ? this : other;
+    }
+    
+    private static Long maxVersion(Long first, Long second) {
+        if (first == null) {
+            return second;
+        }
+        return second == null ? first : Math.max(first, second);
+    }
+}
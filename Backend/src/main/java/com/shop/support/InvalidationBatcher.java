@@ -0,0 +1,59 @@
+package com.shop.support;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Collects invalidations between flushes. An entity changed several times
+ * before the next flush is sent once, with its latest version, and a flush
+ * splits what was collected into batches small enough for one message.
+ */
+public class InvalidationBatcher {
+    
+    private final int maxBatchSize;
+    
+    private Map<String, Invalidation> pending = new LinkedHashMap<>();
+    
+    public InvalidationBatcher(int maxBatchSize) {
+        if (maxBatchSize < 1) {
+            throw new IllegalArgumentException("Batch size must be positive");
+        }
+        this.maxBatchSize = maxBatchSize;
+    }
+    
+    public synchronized void add(Invalidation invalidation) {
+        pending.merge(invalidation.key(), invalidation, Invalidation::merge);
+    }
+    
+    public synchronized void addAll(Collection<Invalidation> invalidations) {
+        invalidations.forEach(this::add);
+    }
+    
+    /**
+     * Takes everything collected so far, in batches of at most {@code maxBatchSize}.
+     */
+    public List<List<Invalidation>> drain() {
+        Map<String, Invalidation> drained;
+        synchronized (this) {
+            if (pending.isEmpty()) {
+                return List.of();
+            }
+            drained = pending;
+            pending = new LinkedHashMap<>();
+        }
+        
+        List<Invalidation> invalidations = new ArrayList<>(drained.values());
+        List<List<Invalidation>> batches = new ArrayList<>();
+        for (int from = 0; from < invalidations.size(); from += maxBatchSize) {
+            batches.add(List.copyOf(invalidations.subList(from, Math.min(from + maxBatchSize, invalidations.size()))));
+        }
+        return batches;
+    }
+    
+    public synchronized int pendingCount() {
+        return pending.size();
+    }
+}
@@ -0,0 +1,72 @@
+package com.shop.support;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * The application's data source. Connections come from the OLTP pool unless
+ * the current thread runs a {@link ReportingWorkload}, which uses the
+ * reporting pool. The pool is chosen when a connection is acquired, i.e.
+ * when a transaction begins.
+ */
+public class PoolRoutingDataSource extends AbstractRoutingDataSource {
+    
+    public enum Pool {
+        OLTP,
+        REPORTING
+    }
+    
+    private static final ThreadLocal<Pool> CURRENT_POOL = new ThreadLocal<>();
+    
+    public PoolRoutingDataSource(DataSource oltp, DataSource reporting) {
+        setTargetDataSources(Map.of(Pool.OLTP, oltp, Pool.REPORTING, reporting));
+        setDefaultTargetDataSource(oltp);
+        setLenientFallback(false);
+    }
+    
+    public static Pool currentPool() {
+        Pool pool = CURRENT_POOL.get();
+        return pool != null ? pool : Pool.OLTP;
+    }
+    
+    /**
+     * Routes connections acquired by the current thread to {@code pool}.
+     *
+     * @return the previous pool, to be passed to {@link #restore}
+     */
+    public static Pool use(Pool pool) {
+        Pool previous = CURRENT_POOL.get();
+        CURRENT_POOL.set(pool);
+        return previous;
+    }
+    
+    public static void restore(Pool previous) {
+        if (previous == null) {
+            CURRENT_POOL.remove();
+        } else {
+            CURRENT_POOL.set(previous);
+        }
+    }
+    
+    /**
+     * Wraps {@code task} so that it runs on the reporting pool, e.g. as the
+     * task decorator of an executor dedicated to reporting work.
+     */
+    public static Runnable onReportingPool(Runnable task) {
+        return () -> {
+            Pool previous = use(Pool.REPORTING);
+            try {
+                task.run();
+            } finally {
+                restore(previous);
+            }
+        };
+    }
+    
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return currentPool();
+    }
+}
@@ -0,0 +1,19 @@
+package com.shop.support;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Runs the annotated bean method on the reporting connection pool, so long
+ * scans and exports cannot use up the connections that customer requests
+ * need. Takes effect only when the method starts the transaction. A call
+ * inside a transaction that already holds a connection keeps using it.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface ReportingWorkload {
+}
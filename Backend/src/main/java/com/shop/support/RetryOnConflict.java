@@ -0,0 +1,43 @@
+package com.shop.support;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Re-runs the annotated bean method in a new transaction when it fails with
+ * an optimistic locking conflict, after a randomized, exponentially growing
+ * pause. Takes effect only when the method starts the transaction: a call
+ * inside a transaction that is already running fails with the conflict, and
+ * whoever started that transaction decides whether to retry it.
+ * <p>
+ * Retries of a method share a budget of {@link #retriesPerSecond()}, so a
+ * hot spot that keeps conflicting fails fast instead of multiplying the
+ * load on the rows everybody is fighting over.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface RetryOnConflict {
+    
+    /**
+     * Attempts per call, including the first one.
+     */
+    int maxAttempts() default 4;
+    
+    /**
+     * Upper bound of the pause before the first retry; it doubles for every
+     * further retry, up to {@link #maxBackoffMillis()}.
+     */
+    long backoffMillis() default 10;
+    
+    long maxBackoffMillis() default 200;
+    
+    /**
+     * Retries of this method allowed per second across all callers, also the
+     * burst allowed after a quiet period.
+     */
+    int retriesPerSecond() default 50;
+}
@@ -0,0 +1,85 @@
+package com.shop.support;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Collapses concurrent loads of the same key into one. The first caller for a
+ * key runs the loader on its own thread; callers arriving while it runs wait
+ * for and share its result or exception. A waiting caller that has not been
+ * served within the timeout stops waiting and loads for itself.
+ * <p>
+ * Shared results are handed to every waiting caller, so they must not be
+ * modified after loading. Calls are counted in {@code singleflight.calls},
+ * tagged by name and outcome ({@code leader}, {@code coalesced}, {@code timeout}).
+ */
+public class SingleFlight<K, V> {
+    
+    private final Map<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    
+    private final Duration timeout;
+    private final Counter leaderCalls;
+    private final Counter coalescedCalls;
+    private final Counter timedOutCalls;
+    
+    public SingleFlight(String name, Duration timeout, MeterRegistry meterRegistry) {
+        this.timeout = timeout;
+        this.leaderCalls = meterRegistry.counter("singleflight.calls", "name", name, "outcome", "leader");
+        this.coalescedCalls = meterRegistry.counter("singleflight.calls", "name", name, "outcome", "coalesced");
+        this.timedOutCalls = meterRegistry.counter("singleflight.calls", "name", name, "outcome", "timeout");
+    }
+    
+    public V execute(K key, Supplier<V> loader) {
+        CompletableFuture<V> own = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, own);
+        if (existing == null) {
+            leaderCalls.increment();
+            return lead(key, own, loader);
+        }
+        
+        coalescedCalls.increment();
+        try {
+            return existing.get(timeout.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            timedOutCalls.increment();
+            return loader.get();
+        } catch (ExecutionException e) {
+            throw rethrow(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a coalesced load", e);
+        }
+    }
+    
+    private V lead(K key, CompletableFuture<V> future, Supplier<V> loader) {
+        try {
+            V value = loader.get();
+            future.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, future);
+        }
+    }
+    
+    private static RuntimeException rethrow(Throwable cause) {
+        if (cause instanceof RuntimeException runtimeException) {
+            return runtimeException;
+        }
+        if (cause instanceof Error error) {
+            throw error;
+        }
+        return new IllegalStateException(cause);
+    }
+}
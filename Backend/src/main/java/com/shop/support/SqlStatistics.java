@@ -0,0 +1,68 @@
+package com.shop.support;
+
+import java.time.Duration;
+
+/**
+ * SQL executed by the current thread while a unit of work, usually an HTTP
+ * request, is being measured. Filled by the datasource proxy installed in
+ * {@link com.shop.config.SqlMonitoringConfig}; statements run on other threads
+ * or outside {@link #begin()} / {@link #end()} are not counted. That includes
+ * requests that hand their queries to the reporting or streaming executors.
+ */
+public final class SqlStatistics {
+    
+    private static final ThreadLocal<SqlStatistics> CURRENT = new ThreadLocal<>();
+    
+    private int queryCount;
+    // datasource-proxy reports elapsed time in whole milliseconds
+    private long totalMillis;
+    private long slowestMillis;
+    private String slowestQuery;
+    
+    private SqlStatistics() {}
+    
+    public static SqlStatistics begin() {
+        SqlStatistics statistics = new SqlStatistics();
+        CURRENT.set(statistics);
+        return statistics;
+    }
+    
+    public static void end() {
+        CURRENT.remove();
+    }
+    
+    public static void record(String query, long millis) {
+        SqlStatistics statistics = CURRENT.get();
+        if (statistics == null) {
+            return;
+        }
+        statistics.queryCount++;
+        statistics.totalMillis += millis;
+        if (millis >= statistics.slowestMillis) {
+            statistics.slowestMillis = millis;
+            statistics.slowestQuery = query;
+        }
+    }
+    
+    public int getQueryCount() {
+        return queryCount;
+    }
+    
+    public Duration getTotalTime() {
+        return Duration.ofMillis(totalMillis);
+    }
+    
+    public Duration getSlowestTime() {
+        return Duration.ofMillis(slowestMillis);
+    }
+    
+    public String getSlowestQuery() {
+        return slowestQuery;
+    }
+    
+    @Override
+    public String toString() {
+        return queryCount + " queries in " + getTotalTime().toMillis() + " ms"
+                + (slowestQuery != null ? ", slowest " + getSlowestTime().toMillis() + " ms: " + slowestQuery : "");
+    }
+}
@@ -0,0 +1,290 @@
+package com.shop.support;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Fans Server-Sent Events out to subscribers of named topics.
+ * <p>
+ * Publishing never blocks: an event is serialized once and appended to the
+ * bounded buffer of every subscriber of its topic, and a small pool of
+ * delivery threads drains buffers that have something in them. Idle
+ * subscribers hold no thread, only their servlet async context. A subscriber
+ * whose buffer is full is evicted, so a slow client cannot make the hub
+ * buffer without bound.
+ * <p>
+ * Servlet writes block while the client's TCP window is full, so each write
+ * runs on the send executor and a delivery thread waits for it at most
+ * {@code sendTimeout}. A subscriber whose write takes longer is evicted and
+ * the delivery thread moves on; the stalled write keeps its send thread until
+ * it completes or the container's write timeout fails it. When every send
+ * thread is taken by stalled writes, further subscribers are evicted rather
+ * than queued. A stalled client therefore cannot hold up delivery to the
+ * others; evicted clients reconnect and resynchronize from the initial events
+ * of their new stream.
+ * <p>
+ * Subscribers are counted in the {@code sse.subscribers} gauge, and evictions
+ * in {@code sse.evictions}, tagged by reason.
+ */
+public class SseHub implements AutoCloseable {
+    
+    private static final Logger logger = LoggerFactory.getLogger(SseHub.class);
+    
+    private final Map<String, Set<Subscriber>> topics = new ConcurrentHashMap<>();
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    
+    private final Executor deliveryExecutor;
+    private final Executor sendExecutor;
+    private final Duration sendTimeout;
+    private final ObjectMapper objectMapper;
+    private final int bufferSize;
+    private final int maxSubscribers;
+    private final Duration timeout;
+    private final Counter slowConsumerEvictions;
+    private final Counter failedSendEvictions;
+    private final Counter stalledSendEvictions;
+    
+    public SseHub(Executor deliveryExecutor, Executor sendExecutor, Duration sendTimeout, ObjectMapper objectMapper,
+                  int bufferSize, int maxSubscribers, Duration timeout, MeterRegistry meterRegistry) {
+        this.deliveryExecutor = deliveryExecutor;
+        this.sendExecutor = sendExecutor;
+        this.sendTimeout = sendTimeout;
+        this.objectMapper = objectMapper;
+        this.bufferSize = bufferSize;
+        this.maxSubscribers = maxSubscribers;
+        this.timeout = timeout;
+        this.slowConsumerEvictions = meterRegistry.counter("sse.evictions", "reason", "slow-consumer");
+        this.failedSendEvictions = meterRegistry.counter("sse.evictions", "reason", "send-failed");
+        this.stalledSendEvictions = meterRegistry.counter("sse.evictions", "reason", "send-stalled");
+        meterRegistry.gauge("sse.subscribers", subscriberCount);
+    }
+    
+    /**
+     * Opens a stream that receives {@code initialEvents} followed by every
+     * event published to one of {@code topicNames}. The subscriber is
+     * registered before the initial events are built, so state they describe
+     * is never older than the events that follow them.
+     *
+     * @throws TaskRejectedException when the node already serves the maximum number of subscribers
+     */
+    public SseEmitter subscribe(Collection<String> topicNames, Supplier<List<Event>> initialEvents) {
+        if (subscriberCount.incrementAndGet() > maxSubscribers) {
+            subscriberCount.decrementAndGet();
+            throw new TaskRejectedException("Live update subscriber limit of " + maxSubscribers + " reached");
+        }
+        
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        Subscriber subscriber = new Subscriber(emitter, List.copyOf(topicNames));
+        emitter.onCompletion(subscriber::unregister);
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(e -> subscriber.unregister());
+        
+        subscribers.add(subscriber);
+        // Added inside compute, so a concurrent unregister cannot drop the topic's set under us
+        topicNames.forEach(topic -> topics.compute(topic, (name, members) -> {
+            Set<Subscriber> updated = members != null ? members : ConcurrentHashMap.newKeySet();
+            updated.add(subscriber);
+            return updated;
+        }));
+        try {
+            initialEvents.get().forEach(subscriber::offer);
+        } catch (RuntimeException e) {
+            subscriber.unregister();
+            throw e;
+        }
+        return emitter;
+    }
+    
+    public void publish(String topic, String eventName, Object data) {
+        publish(List.of(topic), eventName, data);
+    }
+    
+    /**
+     * Delivers one event to the subscribers of any of {@code topicNames}; a
+     * subscriber of several of them receives it once. Nothing is serialized
+     * when no one is listening.
+     */
+    public void publish(Collection<String> topicNames, String eventName, Object data) {
+        Set<Subscriber> targets = new HashSet<>();
+        for (String topic : topicNames) {
+            Set<Subscriber> members = topics.get(topic);
+            if (members != null) {
+                targets.addAll(members);
+            }
+        }
+        if (targets.isEmpty()) {
+            return;
+        }
+        Event event = event(eventName, data);
+        targets.forEach(subscriber -> subscriber.offer(event));
+    }
+    
+    /**
+     * Serializes {@code data} once, so it can be sent to any number of subscribers.
+     */
+    public Event event(String eventName, Object data) {
+        try {
+            String json = objectMapper.writeValueAsString(data);
+            return new Event(SseEmitter.event().name(eventName).data(json, MediaType.APPLICATION_JSON).build());
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Cannot serialize " + eventName + " event", e);
+        }
+    }
+    
+    /**
+     * Sends a comment to every subscriber, so that proxies keep idle streams
+     * open and connections that went away without a close are noticed.
+     */
+    public void heartbeat() {
+        Event heartbeat = new Event(SseEmitter.event().comment("heartbeat").build());
+        subscribers.forEach(subscriber -> subscriber.offer(heartbeat));
+    }
+    
+    public int subscriberCount() {
+        return subscriberCount.get();
+    }
+    
+    @Override
+    public void close() {
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+    }
+    
+    public record Event(Set<ResponseBodyEmitter.DataWithMediaType> data) {}
+    
+    // Blocks while the client's TCP window is full; runs on the send executor
+    void write(SseEmitter emitter, Event event) throws IOException {
+        emitter.send(event.data());
+    }
+    
+    private final class Subscriber implements Runnable {
+        
+        private final SseEmitter emitter;
+        private final List<String> topicNames;
+        private final Queue<Event> buffer = new ArrayBlockingQueue<>(bufferSize);
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private final AtomicBoolean registered = new AtomicBoolean(true);
+        
+        private Subscriber(SseEmitter emitter, List<String> topicNames) {
+            this.emitter = emitter;
+            this.topicNames = topicNames;
+        }
+        
+        void offer(Event event) {
+            if (!registered.get()) {
+                return;
+            }
+            if (!buffer.offer(event)) {
+                slowConsumerEvictions.increment();
+                evict("buffer of " + bufferSize + " events is full");
+                return;
+            }
+            schedule();
+        }
+        
+        @Override
+        public void run() {
+            try {
+                Event event;
+                while (registered.get() && (event = buffer.poll()) != null) {
+                    send(event).get(sendTimeout.toMillis(), TimeUnit.MILLISECONDS);
+                }
+            } catch (TimeoutException e) {
+                stalledSendEvictions.increment();
+                // Not completed here: completing waits for the stalled write to release the emitter
+                if (unregister()) {
+                    logger.debug("Evicting live update subscriber: send took longer than {}", sendTimeout);
+                }
+            } catch (ExecutionException e) {
+                failedSendEvictions.increment();
+                evict(e.getCause().getMessage());
+            } catch (RejectedExecutionException e) {
+                stalledSendEvictions.increment();
+                evict("every send thread is taken by stalled writes");
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                evict("delivery was interrupted");
+            } finally {
+                scheduled.set(false);
+            }
+            // An event offered while the drain was finishing would otherwise wait for the next one
+            if (!buffer.isEmpty()) {
+                schedule();
+            }
+        }
+        
+        private CompletableFuture<Void> send(Event event) {
+            return CompletableFuture.runAsync(() -> {
+                try {
+                    write(emitter, event);
+                } catch (IOException e) {
+                    throw new IllegalStateException(e.getMessage(), e);
+                }
+                // Evicted while this write was stalled; the emitter is free to complete now
+                if (!registered.get()) {
+                    emitter.complete();
+                }
+            }, sendExecutor);
+        }
+        
+        private void schedule() {
+            if (registered.get() && scheduled.compareAndSet(false, true)) {
+                try {
+                    deliveryExecutor.execute(this);
+                } catch (RejectedExecutionException e) {
+                    scheduled.set(false);
+                    evict("delivery executor rejected the subscriber");
+                }
+            }
+        }
+        
+        private void evict(String reason) {
+            if (unregister()) {
+                logger.debug("Evicting live update subscriber: {}", reason);
+                emitter.complete();
+            }
+        }
+        
+        private boolean unregister() {
+            if (!registered.compareAndSet(true, false)) {
+                return false;
+            }
+            buffer.clear();
+            subscribers.remove(this);
+            topicNames.forEach(topic -> topics.computeIfPresent(topic, (name, members) -> {
+                members.remove(this);
+                return members.isEmpty() ? null : members;
+            }));
+            subscriberCount.decrementAndGet();
+            return true;
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.shop.support;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Token buckets per key, implemented as a generic cell rate algorithm: each
+ * key stores only the time at which its bucket will be full again, updated
+ * with a compare-and-set. Checking a request never takes a lock, and idle
+ * keys cost one map entry until {@link #evictIdle()} removes them.
+ */
+public class TokenBucketLimiter {
+    
+    private final Map<String, AtomicLong> fullAt = new ConcurrentHashMap<>();
+    
+    private final long nanosPerToken;
+    private final long burstNanos;
+    private final LongSupplier clock;
+    
+    public TokenBucketLimiter(int capacity, double refillPerSecond) {
+        this(capacity, refillPerSecond, System::nanoTime);
+    }
+    
+    TokenBucketLimiter(int capacity, double refillPerSecond, LongSupplier clock) {
+        if (capacity < 1 || refillPerSecond <= 0) {
+            throw new IllegalArgumentException("Capacity and refill rate must be positive");
+        }
+        this.nanosPerToken = (long) (1_000_000_000L / refillPerSecond);
+        this.burstNanos = capacity * nanosPerToken;
+        this.clock = clock;
+    }
+    
+    /**
+     * Takes {@code cost} tokens from the bucket of {@code key}.
+     *
+     * @return 0 when the tokens were taken, otherwise the nanoseconds until
+     *         enough tokens will be available
+     */
+    public long tryAcquire(String key, int cost) {
+        AtomicLong state = fullAt.computeIfAbsent(key, k -> new AtomicLong(Long.MIN_VALUE));
+        long now = clock.getAsLong();
+        while (true) {
+            long current = state.get();
+            long next = Math.max(current, now) + cost * nanosPerToken;
+            long wait = next - now - burstNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            if (state.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+    
+    /**
+     * Drops the keys whose buckets are full again. A request racing with the
+     * eviction of its key may start from a full bucket, which it would have
+     * had anyway.
+     */
+    public void evictIdle() {
+        long now = clock.getAsLong();
+        fullAt.values().removeIf(state -> state.get() <= now);
+    }
+    
+    public int size() {
+        return fullAt.size();
+    }
+}
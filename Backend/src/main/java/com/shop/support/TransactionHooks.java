@@ -0,0 +1,30 @@
+package com.shop.support;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Defers in-memory side effects of a write until its transaction commits, so
+ * that a rollback leaves counters, caches and subscribers untouched.
+ */
+public final class TransactionHooks {
+    
+    private TransactionHooks() {}
+    
+    /**
+     * Runs {@code action} after the current transaction commits, or at once
+     * when there is no transaction. It is dropped if the transaction rolls back.
+     */
+    public static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,51 @@
+package com.shop.support;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Remembers the latest version applied per entity, so that a notification
+ * arriving after a newer one for the same entity, or arriving twice, is
+ * ignored. Unversioned invalidations are always applied. A removal is final:
+ * ids are never reused, so nothing that follows it is applied. Only the
+ * {@code maxEntries} most recently stamped entities are remembered.
+ */
+public class VersionStamps {
+    
+    private static final long REMOVED = Long.MAX_VALUE;
+    
+    private final Map<String, Long> stamps;
+    
+    public VersionStamps(int maxEntries) {
+        this.stamps = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Long> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+    
+    /**
+     * Records {@code invalidation} and tells whether it is newer than
+     * everything applied before for its entity.
+     */
+    public synchronized boolean advance(Invalidation invalidation) {
+        String key = invalidation.key();
+        Long applied = stamps.get(key);
+        if (applied != null && applied == REMOVED) {
+            return false;
+        }
+        if (invalidation.removed()) {
+            stamps.put(key, REMOVED);
+            return true;
+        }
+        if (invalidation.version() == null) {
+            return true;
+        }
+        if (applied != null && invalidation.version() <= applied) {
+            return false;
+        }
+        stamps.put(key, invalidation.version());
+        return true;
+    }
+}
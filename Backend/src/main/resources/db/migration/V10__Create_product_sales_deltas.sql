@@ -0,0 +1,19 @@
+-- Sales and cancellations not yet added to product_sales_counters. Order writes append
+-- rows here in their own transaction and ProductSalesService moves them into the counters.
+CREATE TABLE product_sales_deltas (
+    id BIGSERIAL PRIMARY KEY,
+    product_id BIGINT NOT NULL,
+    quantity BIGINT NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    FOREIGN KEY (product_id) REFERENCES products(id) ON DELETE CASCADE
+);
+
+-- Popularity listings are driven from the counters, so every product needs a row,
+-- and the index covers the tie-breaker so pages are read in index order
+INSERT INTO product_sales_counters (product_id, quantity_sold)
+SELECT p.id, 0
+FROM products p
+WHERE NOT EXISTS (SELECT 1 FROM product_sales_counters c WHERE c.product_id = p.id);
+
+DROP INDEX idx_product_sales_counters_quantity_sold;
+CREATE INDEX idx_product_sales_counters_popularity ON product_sales_counters(quantity_sold DESC, product_id);
@@ -0,0 +1,6 @@
+-- Usernames and emails are looked up ignoring case, so they must also be unique ignoring case.
+-- Fails if users differing only by case already exist; merge or rename them first.
+DROP INDEX idx_users_username_lower;
+DROP INDEX idx_users_email_lower;
+CREATE UNIQUE INDEX idx_users_username_lower ON users(LOWER(username));
+CREATE UNIQUE INDEX idx_users_email_lower ON users(LOWER(email));
@@ -0,0 +1,18 @@
+-- Create product_sales_counters table
+CREATE TABLE product_sales_counters (
+    product_id BIGINT PRIMARY KEY,
+    quantity_sold BIGINT NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    FOREIGN KEY (product_id) REFERENCES products(id) ON DELETE CASCADE
+);
+
+-- Supports sorting product listings by popularity
+CREATE INDEX idx_product_sales_counters_quantity_sold ON product_sales_counters(quantity_sold DESC);
+
+-- Seed counters from existing order items
+INSERT INTO product_sales_counters (product_id, quantity_sold)
+SELECT oi.product_id, SUM(oi.quantity)
+FROM order_items oi
+JOIN orders o ON o.id = oi.order_id
+WHERE o.status <> 'CANCELLED'
+GROUP BY oi.product_id;
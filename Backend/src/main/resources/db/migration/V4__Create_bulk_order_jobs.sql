@@ -0,0 +1,31 @@
+-- Create bulk_order_jobs table
+CREATE TABLE bulk_order_jobs (
+    id BIGSERIAL PRIMARY KEY,
+    operation VARCHAR(20) NOT NULL,
+    target_status VARCHAR(20),
+    status VARCHAR(20) NOT NULL DEFAULT 'PENDING',
+    total_orders INTEGER NOT NULL DEFAULT 0,
+    processed_orders INTEGER NOT NULL DEFAULT 0,
+    skipped_orders INTEGER NOT NULL DEFAULT 0,
+    failed_chunks INTEGER NOT NULL DEFAULT 0,
+    last_error TEXT,
+    started_at TIMESTAMP,
+    completed_at TIMESTAMP,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    version BIGINT DEFAULT 0
+);
+
+-- Orders targeted by a job; processed rows are skipped when a job is resumed
+CREATE TABLE bulk_order_job_items (
+    job_id BIGINT NOT NULL,
+    order_id BIGINT NOT NULL,
+    processed BOOLEAN NOT NULL DEFAULT FALSE,
+    PRIMARY KEY (job_id, order_id),
+    FOREIGN KEY (job_id) REFERENCES bulk_order_jobs(id) ON DELETE CASCADE
+);
+
+CREATE INDEX idx_bulk_order_job_items_pending ON bulk_order_job_items(job_id, order_id) WHERE processed = FALSE;
+
+CREATE TRIGGER update_bulk_order_jobs_updated_at BEFORE UPDATE ON bulk_order_jobs
+    FOR EACH ROW EXECUTE FUNCTION update_updated_at_column();
@@ -0,0 +1,12 @@
+-- Trigram indexes for the admin order search (substring ILIKE on order number, username and email)
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX idx_orders_order_number_trgm ON orders USING GIN (order_number gin_trgm_ops);
+CREATE INDEX idx_users_username_trgm ON users USING GIN (username gin_trgm_ops);
+CREATE INDEX idx_users_email_trgm ON users USING GIN (email gin_trgm_ops);
+
+-- Prefix LIKE on order numbers, independent of the database collation
+CREATE INDEX idx_orders_order_number_prefix ON orders(order_number text_pattern_ops);
+
+-- Default sort of search results
+CREATE INDEX idx_orders_order_date_id ON orders(order_date DESC, id DESC);
@@ -0,0 +1,11 @@
+-- Case-insensitive exact lookups by username and email
+CREATE INDEX idx_users_username_lower ON users(LOWER(username));
+CREATE INDEX idx_users_email_lower ON users(LOWER(email));
+
+-- Trigram indexes for the user directory search; username and email are covered by V5
+CREATE INDEX idx_users_first_name_trgm ON users USING GIN (first_name gin_trgm_ops);
+CREATE INDEX idx_users_last_name_trgm ON users USING GIN (last_name gin_trgm_ops);
+
+-- Keyset pagination by id within a role or among active users
+CREATE INDEX idx_users_role_id ON users(role, id);
+CREATE INDEX idx_users_active_id ON users(id) WHERE is_active = TRUE;
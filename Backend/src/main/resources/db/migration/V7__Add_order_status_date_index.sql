@@ -0,0 +1,4 @@
+-- Lets the pending order reaper find the oldest orders of a status without scanning them all.
+-- The single-column status index is a prefix of the new one and no longer needed.
+CREATE INDEX idx_orders_status_order_date ON orders(status, order_date);
+DROP INDEX idx_orders_status;
@@ -0,0 +1,22 @@
+-- Denormalized order summaries per customer, served by /api/orders/my-orders with keyset pagination.
+-- Maintained by OrderService on every order write; deleting an order removes its row.
+CREATE TABLE customer_order_history (
+    order_id BIGINT PRIMARY KEY,
+    user_id BIGINT NOT NULL,
+    order_number VARCHAR(50) NOT NULL,
+    order_date TIMESTAMP NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    total_amount DECIMAL(10,2) NOT NULL,
+    total_items INTEGER NOT NULL,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    FOREIGN KEY (order_id) REFERENCES orders(id) ON DELETE CASCADE
+);
+
+-- A customer's latest orders, and every following page, are one range scan of this index
+CREATE INDEX idx_customer_order_history_user_date ON customer_order_history(user_id, order_date DESC, order_id DESC);
+
+INSERT INTO customer_order_history (order_id, user_id, order_number, order_date, status, total_amount, total_items, updated_at)
+SELECT o.id, o.user_id, o.order_number, o.order_date, o.status, o.total_amount, COALESCE(SUM(oi.quantity), 0), CURRENT_TIMESTAMP
+FROM orders o
+LEFT JOIN order_items oi ON oi.order_id = o.id
+GROUP BY o.id, o.user_id, o.order_number, o.order_date, o.status, o.total_amount;
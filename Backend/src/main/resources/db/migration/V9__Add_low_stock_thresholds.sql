@@ -0,0 +1,4 @@
+-- Per-product and per-category low-stock thresholds. A product without its own
+-- threshold uses its category's, and a category without one uses app.low-stock.default-threshold.
+ALTER TABLE products ADD COLUMN low_stock_threshold INTEGER CHECK (low_stock_threshold >= 0);
+ALTER TABLE categories ADD COLUMN low_stock_threshold INTEGER CHECK (low_stock_threshold >= 0);
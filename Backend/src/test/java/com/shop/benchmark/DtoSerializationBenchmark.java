@@ -0,0 +1,111 @@
+package com.shop.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import com.shop.dto.ProductDto;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Serialization cost of a {@code /api/products/all}-sized payload with the
+ * default object mapper and with the Blackbird module registered.
+ * <p>
+ * Not run by the test suite. After {@code mvn test-compile}, run with:
+ * <pre>
+ * java -cp "target/test-classes:target/classes:$(mvn -q dependency:build-classpath -Dmdep.outputFile=/dev/stdout)" \
+ *     com.shop.benchmark.DtoSerializationBenchmark
+ * </pre>
+ * which prints raw and gzip payload sizes before running the benchmarks.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DtoSerializationBenchmark {
+    
+    @Param({"100", "1000", "10000"})
+    private int size;
+    
+    private List<ProductDto> products;
+    private ObjectWriter defaultWriter;
+    private ObjectWriter blackbirdWriter;
+    
+    @Setup
+    public void setUp() {
+        products = products(size);
+        defaultWriter = objectMapper().writerFor(ProductDto[].class);
+        blackbirdWriter = objectMapper().registerModule(new BlackbirdModule()).writerFor(ProductDto[].class);
+    }
+    
+    @Benchmark
+    public byte[] defaultMapper() throws IOException {
+        return defaultWriter.writeValueAsBytes(products.toArray(new ProductDto[0]));
+    }
+    
+    @Benchmark
+    public byte[] blackbird() throws IOException {
+        return blackbirdWriter.writeValueAsBytes(products.toArray(new ProductDto[0]));
+    }
+    
+    public static void main(String[] args) throws IOException, RunnerException {
+        ObjectMapper objectMapper = objectMapper();
+        for (int count : new int[]{100, 1000, 10000}) {
+            byte[] json = objectMapper.writeValueAsBytes(products(count));
+            System.out.printf("%6d products: %9d bytes raw, %8d bytes gzip%n", count, json.length, gzip(json).length);
+        }
+        
+        new Runner(new OptionsBuilder()
+                .include(DtoSerializationBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+    
+    // Matches the Spring Boot defaults the application runs with
+    private static ObjectMapper objectMapper() {
+        return new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    }
+    
+    private static List<ProductDto> products(int count) {
+        List<ProductDto> products = new ArrayList<>(count);
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < count; i++) {
+            ProductDto product = new ProductDto("Product " + i, "Description of product number " + i,
+                    new BigDecimal("19.99").add(BigDecimal.valueOf(i)), i % 50);
+            product.setId((long) i);
+            product.setSku("SKU-" + i);
+            product.setImageUrl("https://cdn.example.com/products/" + i + ".jpg");
+            product.setIsActive(true);
+            product.setCategoryId((long) (i % 10));
+            product.setCategoryName("Category " + (i % 10));
+            product.setCreatedAt(now);
+            product.setUpdatedAt(now);
+            products.add(product);
+        }
+        return products;
+    }
+    
+    private static byte[] gzip(byte[] data) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(data);
+        }
+        return out.toByteArray();
+    }
+}
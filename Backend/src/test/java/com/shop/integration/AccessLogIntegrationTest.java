@@ -0,0 +1,80 @@
+package com.shop.integration;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "app.logging.access.sample-rate=1")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class AccessLogIntegrationTest {
+    
+    @Autowired
+    private MockMvc mockMvc;
+    
+    private final ListAppender<ILoggingEvent> accessLog = new ListAppender<>();
+    private final ListAppender<ILoggingEvent> auditLog = new ListAppender<>();
+    
+    @BeforeEach
+    void setUp() {
+        attach("com.shop.access", accessLog);
+        attach("com.shop.audit", auditLog);
+    }
+    
+    @AfterEach
+    void tearDown() {
+        ((Logger) LoggerFactory.getLogger("com.shop.access")).detachAppender(accessLog);
+        ((Logger) LoggerFactory.getLogger("com.shop.audit")).detachAppender(auditLog);
+    }
+    
+    @Test
+    void requestRejectedBySecurity_ShouldBeLogged() throws Exception {
+        // When
+        mockMvc.perform(get("/api/orders")).andExpect(status().isUnauthorized());
+        
+        // Then
+        assertThat(accessLog.list).extracting(ILoggingEvent::getFormattedMessage)
+                .anyMatch(message -> message.contains("method=GET") && message.contains("status=401"));
+    }
+    
+    @Test
+    void successfulWrite_ShouldBeAuditedWithTokenSubject() throws Exception {
+        // Given
+        String name = "Audit " + UUID.randomUUID().toString().substring(0, 8);
+        
+        // When
+        mockMvc.perform(post("/api/categories")
+                        .with(jwt().jwt(token -> token.subject("audit-admin"))
+                                .authorities(new SimpleGrantedAuthority("ROLE_ADMIN")))
+                        .contentType("application/json")
+                        .content("{\"name\":\"" + name + "\",\"description\":\"Audited\"}"))
+                .andExpect(status().isCreated());
+        
+        // Then
+        assertThat(auditLog.list).extracting(ILoggingEvent::getFormattedMessage)
+                .anyMatch(message -> message.contains("path=/api/categories") && message.contains("subject=audit-admin"));
+    }
+    
+    private static void attach(String loggerName, ListAppender<ILoggingEvent> appender) {
+        appender.start();
+        ((Logger) LoggerFactory.getLogger(loggerName)).addAppender(appender);
+    }
+}
@@ -0,0 +1,68 @@
+package com.shop.integration;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = {
+        "app.rate-limit.enabled=true",
+        "app.rate-limit.capacity=5",
+        "app.rate-limit.refill-per-second=0.01",
+        "app.rate-limit.max-concurrent-expensive=0",
+        "app.rate-limit.endpoints.[GET\\ /api/products/all].cost=5",
+        "app.rate-limit.endpoints.[GET\\ /api/products/all].expensive=false",
+        "app.rate-limit.endpoints.[GET\\ /api/products/search].expensive=true"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class AdmissionControlIntegrationTest {
+    
+    @Autowired
+    private MockMvc mockMvc;
+    
+    @Test
+    void clientOverBudget_ShouldBeRejectedWithRetryAfter() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            mockMvc.perform(get("/api/categories").with(client("10.0.0.1")))
+                    .andExpect(status().isOk());
+        }
+        
+        mockMvc.perform(get("/api/categories").with(client("10.0.0.1")))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().exists(HttpHeaders.RETRY_AFTER));
+        
+        mockMvc.perform(get("/api/categories").with(client("10.0.0.2")))
+                .andExpect(status().isOk());
+    }
+    
+    @Test
+    void weightedEndpoint_ShouldUseWholeBudgetAtOnce() throws Exception {
+        mockMvc.perform(get("/api/products/all").with(client("10.0.0.3")))
+                .andExpect(status().isOk());
+        
+        mockMvc.perform(get("/api/categories").with(client("10.0.0.3")))
+                .andExpect(status().isTooManyRequests());
+    }
+    
+    @Test
+    void expensiveEndpoint_WithoutFreeSlot_ShouldBeShed() throws Exception {
+        mockMvc.perform(get("/api/products/search").param("keyword", "phone").with(client("10.0.0.4")))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(jsonPath("$.status").value(429));
+    }
+    
+    private static RequestPostProcessor client(String address) {
+        return request -> {
+            request.setRemoteAddr(address);
+            return request;
+        };
+    }
+}
@@ -0,0 +1,176 @@
+package com.shop.integration;
+
+import com.shop.dto.BulkOrderJobDto;
+import com.shop.entity.BulkOrderJob;
+import com.shop.entity.Order;
+import com.shop.entity.Product;
+import com.shop.repository.BulkOrderJobRepository;
+import com.shop.repository.OrderRepository;
+import com.shop.repository.ProductRepository;
+import com.shop.service.BulkOrderService;
+import com.shop.support.OrderFixtures;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest(properties = "app.bulk-orders.chunk-size=2")
+@ActiveProfiles("test")
+@Import(OrderFixtures.class)
+class BulkOrderIntegrationTest {
+    
+    @Autowired
+    private BulkOrderService bulkOrderService;
+    
+    @Autowired
+    private OrderRepository orderRepository;
+    
+    @Autowired
+    private ProductRepository productRepository;
+    
+    @Autowired
+    private BulkOrderJobRepository jobRepository;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Autowired
+    private OrderFixtures orderFixtures;
+    
+    private OrderFixtures.Fixture fixture;
+    private Product product;
+    
+    @BeforeEach
+    void setUp() {
+        fixture = orderFixtures.create("Bulk", "5.00", 100);
+        product = fixture.product();
+    }
+    
+    @Test
+    void startCancellation_ShouldCancelEligibleOrdersAndRestoreStock() throws InterruptedException {
+        // Given
+        List<Long> orderIds = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            orderIds.add(fixture.createOrder(Order.OrderStatus.PENDING, 3).getId());
+        }
+        Long deliveredId = fixture.createOrder(Order.OrderStatus.DELIVERED, 3).getId();
+        orderIds.add(deliveredId);
+        orderIds.add(-1L);
+        
+        // When
+        BulkOrderJobDto job = awaitCompletion(bulkOrderService.startCancellation(orderIds).getId());
+        
+        // Then
+        assertThat(job.getStatus()).isEqualTo(BulkOrderJob.JobStatus.COMPLETED);
+        assertThat(job.getTotalOrders()).isEqualTo(7);
+        assertThat(job.getProcessedOrders()).isEqualTo(5);
+        assertThat(job.getSkippedOrders()).isEqualTo(2);
+        assertThat(productRepository.findById(product.getId()).orElseThrow().getStockQuantity()).isEqualTo(100 + 5 * 3);
+        assertThat(orderRepository.findById(deliveredId).orElseThrow().getStatus()).isEqualTo(Order.OrderStatus.DELIVERED);
+        assertThat(orderRepository.findAllById(orderIds.subList(0, 5)))
+                .allMatch(order -> order.getStatus() == Order.OrderStatus.CANCELLED);
+    }
+    
+    @Test
+    void startStatusUpdate_ShouldMoveOrdersToTargetStatus() throws InterruptedException {
+        // Given
+        List<Long> orderIds = List.of(
+                fixture.createOrder(Order.OrderStatus.PENDING, 1).getId(),
+                fixture.createOrder(Order.OrderStatus.PENDING, 1).getId(),
+                fixture.createOrder(Order.OrderStatus.CONFIRMED, 1).getId());
+        
+        // When
+        BulkOrderJobDto job = awaitCompletion(
+                bulkOrderService.startStatusUpdate(orderIds, Order.OrderStatus.CONFIRMED).getId());
+        
+        // Then
+        assertThat(job.getStatus()).isEqualTo(BulkOrderJob.JobStatus.COMPLETED);
+        assertThat(job.getProcessedOrders()).isEqualTo(2);
+        assertThat(job.getSkippedOrders()).isEqualTo(1);
+        assertThat(orderRepository.findAllById(orderIds))
+                .allMatch(order -> order.getStatus() == Order.OrderStatus.CONFIRMED);
+    }
+    
+    @Test
+    void resume_WhenJobCompleted_ShouldThrowException() throws InterruptedException {
+        // Given
+        Long orderId = fixture.createOrder(Order.OrderStatus.PENDING, 1).getId();
+        BulkOrderJobDto job = awaitCompletion(bulkOrderService.startCancellation(List.of(orderId)).getId());
+        
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () -> bulkOrderService.resume(job.getId()));
+    }
+    
+    @Test
+    void resume_WhenJobIsRunning_ShouldThrowException() throws InterruptedException {
+        // Given
+        Long jobId = runningJob();
+        
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () -> bulkOrderService.resume(jobId));
+        assertThat(jobRepository.findById(jobId).orElseThrow().getStatus()).isEqualTo(BulkOrderJob.JobStatus.RUNNING);
+    }
+    
+    @Test
+    void resume_WhenRunningJobMadeNoProgressRecently_ShouldTakeItOver() throws InterruptedException {
+        // Given
+        Long jobId = runningJob();
+        jdbcTemplate.update("UPDATE bulk_order_jobs SET updated_at = ? WHERE id = ?",
+                LocalDateTime.now().minusHours(1), jobId);
+        
+        // When
+        bulkOrderService.resume(jobId);
+        
+        // Then
+        assertThat(awaitCompletion(jobId).getStatus()).isEqualTo(BulkOrderJob.JobStatus.COMPLETED);
+    }
+    
+    @Test
+    void startStatusUpdate_WhenTargetIsCancelled_ShouldThrowException() {
+        // When & Then
+        assertThrows(IllegalArgumentException.class,
+                () -> bulkOrderService.startStatusUpdate(List.of(1L), Order.OrderStatus.CANCELLED));
+    }
+    
+    @Test
+    void startStatusUpdate_WhenTargetHasNoPredecessors_ShouldThrowException() {
+        // Given
+        long jobsBefore = jobRepository.count();
+        
+        // When & Then
+        assertThrows(IllegalArgumentException.class,
+                () -> bulkOrderService.startStatusUpdate(List.of(1L), Order.OrderStatus.PENDING));
+        assertThat(jobRepository.count()).isEqualTo(jobsBefore);
+    }
+    
+    // A job that another run is still working on, as far as its status and last progress tell
+    private Long runningJob() throws InterruptedException {
+        Long orderId = fixture.createOrder(Order.OrderStatus.PENDING, 1).getId();
+        Long jobId = awaitCompletion(bulkOrderService.startCancellation(List.of(orderId)).getId()).getId();
+        BulkOrderJob job = jobRepository.findById(jobId).orElseThrow();
+        job.setStatus(BulkOrderJob.JobStatus.RUNNING);
+        jobRepository.save(job);
+        return jobId;
+    }
+    
+    private BulkOrderJobDto awaitCompletion(Long jobId) throws InterruptedException {
+        for (int attempt = 0; attempt < 100; attempt++) {
+            BulkOrderJobDto job = bulkOrderService.findJob(jobId);
+            if (job.getStatus() == BulkOrderJob.JobStatus.COMPLETED || job.getStatus() == BulkOrderJob.JobStatus.FAILED) {
+                return job;
+            }
+            Thread.sleep(50);
+        }
+        throw new AssertionError("Bulk order job " + jobId + " did not finish");
+    }
+}
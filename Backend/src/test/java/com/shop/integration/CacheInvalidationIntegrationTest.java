@@ -0,0 +1,80 @@
+package com.shop.integration;
+
+import com.shop.entity.Category;
+import com.shop.repository.CategoryRepository;
+import com.shop.service.CacheInvalidationBus;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * H2 has no {@code LISTEN/NOTIFY}, so these tests change rows behind
+ * Hibernate's back, as another node would, and hand the notification
+ * payloads to the bus directly, as its listener does.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class CacheInvalidationIntegrationTest {
+    
+    @Autowired
+    private CacheInvalidationBus cacheInvalidationBus;
+    
+    @Autowired
+    private CategoryRepository categoryRepository;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Test
+    void receive_WhenNewerVersion_ShouldEvictCachedEntity() {
+        // Given
+        Category category = cachedCategory("Invalidated Category");
+        long version = updateOnOtherNode(category, "Changed on another node");
+        
+        // When
+        cacheInvalidationBus.receive(categoryNotification(category.getId(), version));
+        
+        // Then
+        assertThat(categoryRepository.findById(category.getId()).orElseThrow().getDescription())
+                .isEqualTo("Changed on another node");
+    }
+    
+    @Test
+    void receive_WhenVersionAlreadyApplied_ShouldKeepCachedEntity() {
+        // Given
+        Category category = cachedCategory("Stale Notification Category");
+        long version = updateOnOtherNode(category, "Changed on another node");
+        cacheInvalidationBus.receive(categoryNotification(category.getId(), version));
+        categoryRepository.findById(category.getId());
+        updateOnOtherNode(category, "Changed again without notification");
+        
+        // When
+        cacheInvalidationBus.receive(categoryNotification(category.getId(), version - 1));
+        cacheInvalidationBus.receive(categoryNotification(category.getId(), version));
+        
+        // Then
+        assertThat(categoryRepository.findById(category.getId()).orElseThrow().getDescription())
+                .isEqualTo("Changed on another node");
+    }
+    
+    private Category cachedCategory(String name) {
+        Category category = categoryRepository.save(new Category(name, "Cached on this node"));
+        categoryRepository.findById(category.getId());
+        return category;
+    }
+    
+    private long updateOnOtherNode(Category category, String description) {
+        jdbcTemplate.update("UPDATE categories SET description = ?, version = version + 1 WHERE id = ?",
+                description, category.getId());
+        return jdbcTemplate.queryForObject("SELECT version FROM categories WHERE id = ?", Long.class, category.getId());
+    }
+    
+    private static String categoryNotification(Long id, long version) {
+        return "{\"node\":\"other-node\",\"sentAt\":" + System.currentTimeMillis()
+                + ",\"entries\":[{\"type\":\"category\",\"id\":" + id + ",\"version\":" + version + ",\"removed\":false}]}";
+    }
+}
@@ -0,0 +1,201 @@
+package com.shop.integration;
+
+import com.shop.dto.CartDto;
+import com.shop.dto.CheckoutRequestDto;
+import com.shop.dto.OrderDto;
+import com.shop.entity.Order;
+import com.shop.entity.Product;
+import com.shop.entity.User;
+import com.shop.exception.PriceChangedException;
+import com.shop.exception.ResourceNotFoundException;
+import com.shop.repository.OrderRepository;
+import com.shop.repository.ProductRepository;
+import com.shop.repository.UserRepository;
+import com.shop.service.CartService;
+import com.shop.support.OrderFixtures;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Import(OrderFixtures.class)
+class CartIntegrationTest {
+    
+    @Autowired
+    private MockMvc mockMvc;
+    
+    @Autowired
+    private CartService cartService;
+    
+    @Autowired
+    private OrderRepository orderRepository;
+    
+    @Autowired
+    private ProductRepository productRepository;
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Autowired
+    private OrderFixtures orderFixtures;
+    
+    private User user;
+    private Product product;
+    
+    @BeforeEach
+    void setUp() {
+        OrderFixtures.Fixture fixture = orderFixtures.create("Cart", "12.50", 10);
+        user = fixture.user();
+        product = fixture.product();
+    }
+    
+    @Test
+    void checkout_ShouldPlaceOrderDecreaseStockAndDiscardCart() {
+        // Given
+        String cartId = cartService.createCart().getId();
+        CartDto cart = cartService.setItemQuantity(cartId, product.getId(), 4);
+        
+        // When
+        OrderDto order = cartService.checkout(cartId, user.getId(), checkoutRequest());
+        
+        // Then
+        assertThat(cart.getTotalAmount()).isEqualByComparingTo("50.00");
+        assertThat(order.getStatus()).isEqualTo(Order.OrderStatus.PENDING);
+        assertThat(order.getTotalAmount()).isEqualByComparingTo("50.00");
+        assertThat(orderRepository.findById(order.getId())).isPresent();
+        assertThat(productRepository.findById(product.getId()).orElseThrow().getStockQuantity()).isEqualTo(6);
+        assertThrows(ResourceNotFoundException.class, () -> cartService.findById(cartId));
+    }
+    
+    @Test
+    void checkoutEndpoint_ShouldPlaceOrderForTokenSubject() throws Exception {
+        // Given
+        User other = userRepository.save(new User("cart-other-" + user.getId(), "cart-other-" + user.getId() + "@example.com", "Other", "Tester"));
+        String cartId = cartService.createCart().getId();
+        cartService.setItemQuantity(cartId, product.getId(), 1);
+        
+        // When / Then: a userId in the body is not part of the request and is ignored
+        mockMvc.perform(post("/api/carts/{cartId}/checkout", cartId)
+                        .with(jwt().jwt(token -> token.subject(user.getKeycloakId()))
+                                .authorities(new SimpleGrantedAuthority("ROLE_CUSTOMER")))
+                        .contentType("application/json")
+                        .content("{\"userId\":" + other.getId() + ",\"shippingAddress\":\"1 Cart Street\"}"))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.userId").value(user.getId()));
+    }
+    
+    @Test
+    void checkout_WhenRepeatedConcurrently_ShouldPlaceOneOrder() throws Exception {
+        // Given
+        String cartId = cartService.createCart().getId();
+        cartService.setItemQuantity(cartId, product.getId(), 3);
+        long ordersBefore = orderRepository.count();
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        CountDownLatch start = new CountDownLatch(1);
+        
+        // When
+        List<Future<OrderDto>> checkouts = new ArrayList<>();
+        try {
+            for (int i = 0; i < 2; i++) {
+                checkouts.add(executor.submit(() -> {
+                    start.await();
+                    return cartService.checkout(cartId, user.getId(), checkoutRequest());
+                }));
+            }
+            start.countDown();
+            
+            // Then
+            int placed = 0;
+            for (Future<OrderDto> checkout : checkouts) {
+                try {
+                    checkout.get(30, TimeUnit.SECONDS);
+                    placed++;
+                } catch (ExecutionException e) {
+                    assertThat(e.getCause()).isInstanceOf(ResourceNotFoundException.class);
+                }
+            }
+            assertThat(placed).isEqualTo(1);
+        } finally {
+            executor.shutdownNow();
+        }
+        assertThat(orderRepository.count()).isEqualTo(ordersBefore + 1);
+        assertThat(productRepository.findById(product.getId()).orElseThrow().getStockQuantity()).isEqualTo(7);
+    }
+    
+    @Test
+    void checkout_WhenPriceChanged_ShouldRejectAndUpdateCart() {
+        // Given
+        String cartId = cartService.createCart().getId();
+        cartService.setItemQuantity(cartId, product.getId(), 2);
+        product.setPrice(new BigDecimal("15.00"));
+        productRepository.save(product);
+        long ordersBefore = orderRepository.count();
+        
+        // When
+        assertThrows(PriceChangedException.class, () -> cartService.checkout(cartId, user.getId(), checkoutRequest()));
+        
+        // Then
+        CartDto cart = cartService.findById(cartId);
+        assertThat(cart.getItems().get(0).getUnitPrice()).isEqualByComparingTo("15.00");
+        assertThat(cart.getTotalAmount()).isEqualByComparingTo("30.00");
+        assertThat(orderRepository.count()).isEqualTo(ordersBefore);
+        assertThat(productRepository.findById(product.getId()).orElseThrow().getStockQuantity()).isEqualTo(10);
+    }
+    
+    @Test
+    void checkout_WhenStockInsufficient_ShouldKeepCart() {
+        // Given
+        String cartId = cartService.createCart().getId();
+        cartService.setItemQuantity(cartId, product.getId(), 11);
+        
+        // When
+        assertThrows(IllegalArgumentException.class, () -> cartService.checkout(cartId, user.getId(), checkoutRequest()));
+        
+        // Then
+        assertThat(cartService.findById(cartId).getTotalItems()).isEqualTo(11);
+        assertThat(productRepository.findById(product.getId()).orElseThrow().getStockQuantity()).isEqualTo(10);
+    }
+    
+    @Test
+    void setItemQuantity_WithZero_ShouldRemoveItem() {
+        // Given
+        String cartId = cartService.createCart().getId();
+        cartService.setItemQuantity(cartId, product.getId(), 3);
+        
+        // When
+        CartDto cart = cartService.setItemQuantity(cartId, product.getId(), 0);
+        
+        // Then
+        assertThat(cart.getItems()).isEmpty();
+        assertThat(cart.getTotalAmount()).isEqualByComparingTo("0");
+    }
+    
+    private CheckoutRequestDto checkoutRequest() {
+        return new CheckoutRequestDto("1 Cart Street");
+    }
+}
@@ -0,0 +1,120 @@
+package com.shop.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.shop.dto.ProductDto;
+import com.shop.entity.Category;
+import com.shop.entity.Product;
+import com.shop.repository.CategoryRepository;
+import com.shop.repository.ProductRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = "app.catalog-stream.chunk-size=2")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class CatalogStreamIntegrationTest {
+    
+    @Autowired
+    private MockMvc mockMvc;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    @Autowired
+    private ProductRepository productRepository;
+    
+    @Autowired
+    private CategoryRepository categoryRepository;
+    
+    private String suffix;
+    private Category category;
+    private final List<Product> products = new ArrayList<>();
+    
+    @BeforeEach
+    void setUp() {
+        suffix = UUID.randomUUID().toString().substring(0, 8);
+        category = categoryRepository.save(new Category("Stream " + suffix, "Streamed category"));
+        for (int i = 0; i < 5; i++) {
+            Product product = new Product("Stream " + i + " " + suffix, "Streamed product", new BigDecimal("9.99"), 10);
+            product.setCategory(category);
+            product.setIsActive(i != 4);
+            products.add(productRepository.save(product));
+        }
+    }
+    
+    @AfterEach
+    void tearDown() {
+        productRepository.deleteAll(products);
+        categoryRepository.delete(category);
+    }
+    
+    @Test
+    void streamProducts_ShouldWriteOneJsonObjectPerLineAcrossChunks() throws Exception {
+        // When
+        List<ProductDto> streamed = streamProducts("/api/products/stream");
+        
+        // Then
+        List<ProductDto> ours = streamed.stream().filter(p -> p.getName().endsWith(suffix)).toList();
+        assertThat(ours).hasSize(5);
+        assertThat(ours).allSatisfy(p -> assertThat(p.getCategoryName()).isEqualTo("Stream " + suffix));
+        assertThat(streamed).extracting(ProductDto::getId).isSorted().doesNotHaveDuplicates();
+    }
+    
+    @Test
+    void streamProducts_WithActiveOnly_ShouldSkipInactiveProducts() throws Exception {
+        // When
+        List<ProductDto> streamed = streamProducts("/api/products/stream?activeOnly=true");
+        
+        // Then
+        assertThat(streamed).filteredOn(p -> p.getName().endsWith(suffix)).hasSize(4)
+                .allSatisfy(p -> assertThat(p.getIsActive()).isTrue());
+    }
+    
+    @Test
+    void streamCategories_ShouldIncludeNewCategory() throws Exception {
+        // When
+        MvcResult started = mockMvc.perform(get("/api/categories/stream"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        
+        // Then
+        String body = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString();
+        assertThat(body.lines()).anyMatch(line -> line.contains("\"name\":\"Stream " + suffix + "\""));
+    }
+    
+    private List<ProductDto> streamProducts(String url) throws Exception {
+        MvcResult started = mockMvc.perform(get(url))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String body = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString();
+        List<ProductDto> result = new ArrayList<>();
+        for (String line : body.lines().toList()) {
+            result.add(objectMapper.readValue(line, ProductDto.class));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,78 @@
+package com.shop.integration;
+
+import com.shop.service.CatalogStreamService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.reset;
+
+/**
+ * Stands in for slow readers: every stream blocks until released, like a
+ * client that stops reading, so the real concurrency limit is observable.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "app.catalog-stream.pool-size=2",
+        "app.catalog-stream.queue-capacity=0"
+})
+@ActiveProfiles("test")
+class CatalogStreamLimitIntegrationTest {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @SpyBean
+    private CatalogStreamService catalogStreamService;
+
+    @Test
+    void slowStreams_ShouldHoldOneWriterThreadEachAndShedTheRest() throws Exception {
+        // Given
+        CountDownLatch writing = new CountDownLatch(2);
+        CountDownLatch release = new CountDownLatch(1);
+        List<String> writerThreads = new CopyOnWriteArrayList<>();
+        doAnswer(invocation -> {
+            writerThreads.add(Thread.currentThread().getName());
+            writing.countDown();
+            release.await(10, TimeUnit.SECONDS);
+            return invocation.callRealMethod();
+        }).when(catalogStreamService).writeProducts(any(), anyBoolean());
+
+        try {
+            CompletableFuture<ResponseEntity<String>> first = CompletableFuture.supplyAsync(this::streamProducts);
+            CompletableFuture<ResponseEntity<String>> second = CompletableFuture.supplyAsync(this::streamProducts);
+            assertThat(writing.await(5, TimeUnit.SECONDS)).isTrue();
+
+            // When
+            ResponseEntity<String> third = streamProducts();
+            release.countDown();
+
+            // Then
+            assertThat(third.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+            assertThat(first.get(10, TimeUnit.SECONDS).getStatusCode()).isEqualTo(HttpStatus.OK);
+            assertThat(second.get(10, TimeUnit.SECONDS).getStatusCode()).isEqualTo(HttpStatus.OK);
+            assertThat(writerThreads).hasSize(2).allMatch(name -> name.startsWith("catalog-stream-"));
+        } finally {
+            release.countDown();
+            reset(catalogStreamService);
+        }
+    }
+
+    private ResponseEntity<String> streamProducts() {
+        return restTemplate.getForEntity("/api/products/stream", String.class);
+    }
+}
@@ -0,0 +1,176 @@
+package com.shop.integration;
+
+import com.shop.dto.CategoryDto;
+import com.shop.dto.OrderDto;
+import com.shop.dto.OrderItemDto;
+import com.shop.dto.ProductDto;
+import com.shop.entity.Product;
+import com.shop.entity.User;
+import com.shop.repository.ProductRepository;
+import com.shop.repository.UserRepository;
+import com.shop.service.CategoryService;
+import com.shop.service.OrderService;
+import com.shop.service.ProductService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class ConflictRetryIntegrationTest {
+    
+    private static final int THREADS_PER_KIND = 2;
+    private static final int CALLS_PER_THREAD = 10;
+    
+    @Autowired
+    private OrderService orderService;
+    
+    @Autowired
+    private ProductService productService;
+    
+    @Autowired
+    private CategoryService categoryService;
+    
+    @Autowired
+    private ProductRepository productRepository;
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    private final ExecutorService executor = Executors.newFixedThreadPool(4 * THREADS_PER_KIND);
+    
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+    
+    @Test
+    void update_WhenProductChangesBeforeCommit_ShouldRetryAndSucceed() throws Exception {
+        // Given
+        ProductDto product = createProduct(100);
+        double recovered = recoveredUpdates();
+        CountDownLatch locked = new CountDownLatch(1);
+        Future<?> concurrentChange = executor.submit(() -> transactionTemplate.executeWithoutResult(status -> {
+            Product lockedProduct = productRepository.findByIdForUpdate(product.getId()).orElseThrow();
+            lockedProduct.increaseStock(1);
+            locked.countDown();
+            // Keeps the row locked until the update below has read the old version and waits for the lock
+            pause(500);
+        }));
+        locked.await();
+        
+        // When
+        ProductDto result = productService.update(product.getId(), edit("Edited during a stock change"));
+        
+        // Then
+        concurrentChange.get(10, TimeUnit.SECONDS);
+        assertThat(result.getDescription()).isEqualTo("Edited during a stock change");
+        assertThat(result.getStockQuantity()).isEqualTo(101);
+        assertThat(recoveredUpdates()).isEqualTo(recovered + 1);
+    }
+    
+    @Test
+    void checkoutAndStockAdjustments_UnderConcurrentUpdatesOfSameProduct_ShouldAllSucceed() throws Exception {
+        // Given
+        ProductDto product = createProduct(1000);
+        User user = createUser();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> calls = new ArrayList<>();
+        
+        // When
+        for (int thread = 0; thread < 4 * THREADS_PER_KIND; thread++) {
+            int kind = thread % 4;
+            calls.add(executor.submit(() -> {
+                start.await();
+                for (int call = 0; call < CALLS_PER_THREAD; call++) {
+                    switch (kind) {
+                        case 0 -> orderService.placeOrder(orderFor(user, product));
+                        case 1 -> productService.decreaseStock(product.getId(), 2);
+                        case 2 -> productService.increaseStock(product.getId(), 1);
+                        default -> {
+                            try {
+                                productService.update(product.getId(), edit("Edited " + call));
+                            } catch (OptimisticLockingFailureException e) {
+                                // Edits read without locking, so one can lose every attempt while checkouts queue on the row
+                            }
+                        }
+                    }
+                    pause(ThreadLocalRandom.current().nextLong(10, 30));
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> call : calls) {
+            call.get(60, TimeUnit.SECONDS);
+        }
+        
+        // Then
+        int callsPerKind = THREADS_PER_KIND * CALLS_PER_THREAD;
+        assertThat(productService.findById(product.getId()).getStockQuantity())
+                .isEqualTo(1000 - callsPerKind - 2 * callsPerKind + callsPerKind);
+        assertThat(orderService.countByUserId(user.getId())).isEqualTo(callsPerKind);
+    }
+    
+    private double recoveredUpdates() {
+        return meterRegistry.counter("service.retry.calls", "method", "ProductService.update", "outcome", "recovered").count();
+    }
+    
+    private ProductDto createProduct(int stock) {
+        ProductDto product = new ProductDto("Contended Product " + UUID.randomUUID(), "Contended", new BigDecimal("5.00"), stock);
+        product.setIsActive(true);
+        product.setCategoryId(categoryService.save(new CategoryDto("Contended " + UUID.randomUUID(), "Contention")).getId());
+        product.setSku("CONT-" + UUID.randomUUID().toString().substring(0, 8));
+        return productService.save(product);
+    }
+    
+    private User createUser() {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        return userRepository.save(new User("retry-" + suffix, "retry-" + suffix + "@example.com", "Retry", "Contention"));
+    }
+    
+    private static ProductDto edit(String description) {
+        ProductDto edit = new ProductDto();
+        edit.setDescription(description);
+        return edit;
+    }
+    
+    private static OrderDto orderFor(User user, ProductDto product) {
+        OrderDto order = new OrderDto();
+        order.setUserId(user.getId());
+        order.setOrderItems(List.of(new OrderItemDto(product.getId(), 1, product.getPrice())));
+        return order;
+    }
+    
+    private static void pause(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
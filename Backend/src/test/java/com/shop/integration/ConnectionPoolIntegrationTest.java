@@ -0,0 +1,123 @@
+package com.shop.integration;
+
+import com.shop.controller.ConnectionPoolEndpoint;
+import com.shop.dto.ConnectionPoolDto;
+import com.shop.service.ProductSalesService;
+import com.shop.support.PoolRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+
+@SpringBootTest(properties = "app.datasource.reporting.hikari.maximum-pool-size=3")
+@ActiveProfiles("test")
+class ConnectionPoolIntegrationTest {
+    
+    @Autowired
+    private DataSource dataSource;
+    
+    @Autowired
+    @Qualifier("reportingDataSource")
+    private DataSource reportingDataSource;
+    
+    @Autowired
+    private ConnectionPoolEndpoint connectionPoolEndpoint;
+    
+    @Autowired
+    private ProductSalesService productSalesService;
+    
+    @Autowired
+    @Qualifier("streamingExecutor")
+    private ThreadPoolTaskExecutor streamingExecutor;
+    
+    @SpyBean
+    private JdbcTemplate jdbcTemplate;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    @Test
+    void pools_ShouldBeSizedFromConfigurationOrDatabaseCores() throws SQLException {
+        // When
+        HikariDataSource oltp = dataSource.unwrap(HikariDataSource.class);
+        HikariDataSource reporting = reportingDataSource.unwrap(HikariDataSource.class);
+        
+        // Then
+        assertThat(oltp.getPoolName()).isEqualTo("oltp");
+        assertThat(oltp.getMaximumPoolSize()).isEqualTo(2 * 2 + 1);
+        assertThat(reporting.getPoolName()).isEqualTo("reporting");
+        assertThat(reporting.getMaximumPoolSize()).isEqualTo(3);
+    }
+    
+    @Test
+    void reportingWorkload_ShouldRunOnReportingPool() {
+        // Given
+        AtomicReference<PoolRoutingDataSource.Pool> poolDuringRebuild = new AtomicReference<>();
+        doAnswer(invocation -> {
+            poolDuringRebuild.set(PoolRoutingDataSource.currentPool());
+            return invocation.callRealMethod();
+        }).when(jdbcTemplate).update(anyString());
+        
+        // When
+        productSalesService.rebuild();
+        
+        // Then
+        assertThat(poolDuringRebuild.get()).isEqualTo(PoolRoutingDataSource.Pool.REPORTING);
+        assertThat(PoolRoutingDataSource.currentPool()).isEqualTo(PoolRoutingDataSource.Pool.OLTP);
+    }
+    
+    @Test
+    void catalogStreams_ShouldStayOnOltpPool() throws Exception {
+        // When
+        PoolRoutingDataSource.Pool pool = streamingExecutor.submit(PoolRoutingDataSource::currentPool).get(5, TimeUnit.SECONDS);
+        
+        // Then
+        assertThat(pool).isEqualTo(PoolRoutingDataSource.Pool.OLTP);
+    }
+    
+    @Test
+    void endpoint_ShouldReportLivePoolState() throws SQLException {
+        // Given
+        try (Connection connection = dataSource.getConnection()) {
+            
+            // When
+            ConnectionPoolDto oltp = connectionPoolEndpoint.pool("oltp");
+            
+            // Then
+            assertThat(connectionPoolEndpoint.pools()).extracting(ConnectionPoolDto::getName)
+                    .containsExactlyInAnyOrder("oltp", "reporting");
+            assertThat(oltp.isRunning()).isTrue();
+            assertThat(oltp.getActiveConnections()).isGreaterThanOrEqualTo(1);
+            assertThat(oltp.getMaximumPoolSize()).isEqualTo(5);
+        }
+    }
+    
+    @Test
+    void pools_ShouldPublishMetrics() throws SQLException {
+        // Given
+        try (Connection connection = reportingDataSource.getConnection()) {
+            
+            // Then
+            assertThat(meterRegistry.find("hikaricp.connections.active").tag("pool", "reporting").gauge()).isNotNull();
+            assertThat(meterRegistry.find("hikaricp.connections.pending").tag("pool", "oltp").gauge()).isNotNull();
+            assertThat(meterRegistry.find("hikaricp.connections.acquire").tag("pool", "reporting").timer()).isNotNull();
+            assertThat(meterRegistry.find("hikaricp.connections.timeout").tag("pool", "oltp").counter()).isNotNull();
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.shop.integration;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs on a real Tomcat, so the forwarded-header handling applies: requests
+ * arrive from the loopback address, which is a trusted internal proxy.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "app.rate-limit.enabled=true",
+        "app.rate-limit.capacity=2",
+        "app.rate-limit.refill-per-second=0.01"
+})
+@ActiveProfiles("test")
+class ForwardedClientAdmissionIntegrationTest {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Test
+    void clientsBehindProxy_ShouldHaveSeparateBuckets() {
+        // Given
+        getCategoriesFrom("203.0.113.10");
+        getCategoriesFrom("203.0.113.10");
+
+        // When
+        HttpStatusCode overBudget = getCategoriesFrom("203.0.113.10");
+        HttpStatusCode otherClient = getCategoriesFrom("203.0.113.11");
+
+        // Then
+        assertThat(overBudget).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+        assertThat(otherClient).isEqualTo(HttpStatus.OK);
+    }
+
+    private HttpStatusCode getCategoriesFrom(String clientAddress) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("X-Forwarded-For", clientAddress);
+        return restTemplate.exchange("/api/categories", HttpMethod.GET, new HttpEntity<>(headers), String.class)
+                .getStatusCode();
+    }
+}
@@ -0,0 +1,122 @@
+package com.shop.integration;
+
+import com.shop.dto.CategoryDto;
+import com.shop.dto.OrderDto;
+import com.shop.dto.ProductDto;
+import com.shop.entity.Order;
+import com.shop.entity.User;
+import com.shop.repository.UserRepository;
+import com.shop.service.CategoryService;
+import com.shop.service.OrderService;
+import com.shop.service.ProductService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.MockMvcPrint;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc(print = MockMvcPrint.NONE)
+@ActiveProfiles("test")
+class LiveUpdatesIntegrationTest {
+    
+    @Autowired
+    private MockMvc mockMvc;
+    
+    @Autowired
+    private OrderService orderService;
+    
+    @Autowired
+    private ProductService productService;
+    
+    @Autowired
+    private CategoryService categoryService;
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void orderStream_ShouldStartWithCurrentStatusAndPushChanges() throws Exception {
+        // Given
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        User user = userRepository.save(new User("live-" + suffix, "live-" + suffix + "@example.com", "Live", "Updates"));
+        OrderDto order = new OrderDto();
+        order.setUserId(user.getId());
+        Long orderId = orderService.createOrder(order).getId();
+        MvcResult stream = mockMvc.perform(get("/api/orders/" + orderId + "/events"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        assertThat(awaitContent(stream, "\"status\":\"PENDING\"")).contains("event:order-status");
+        
+        // When
+        orderService.updateOrderStatus(orderId, Order.OrderStatus.CONFIRMED);
+        orderService.cancelOrder(orderId);
+        
+        // Then
+        String body = awaitContent(stream, "\"status\":\"CANCELLED\"");
+        assertThat(body).contains("\"status\":\"CONFIRMED\"");
+        assertThat(body.indexOf("CONFIRMED")).isLessThan(body.indexOf("CANCELLED"));
+    }
+    
+    @Test
+    void stockStream_ShouldStartWithCurrentLevelAndPushChanges() throws Exception {
+        // Given
+        ProductDto product = new ProductDto("Live Product " + UUID.randomUUID(), "Live stock", new BigDecimal("3.00"), 40);
+        product.setIsActive(true);
+        product.setCategoryId(categoryService.save(new CategoryDto("Live " + UUID.randomUUID(), "Live updates")).getId());
+        product.setSku("LIVE-" + UUID.randomUUID().toString().substring(0, 8));
+        Long productId = productService.save(product).getId();
+        MvcResult stream = mockMvc.perform(get("/api/products/events").param("ids", productId.toString()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        awaitContent(stream, "\"stockQuantity\":40");
+        
+        // When
+        productService.decreaseStock(productId, 40);
+        
+        // Then
+        String body = awaitContent(stream, "\"stockQuantity\":0");
+        assertThat(body).contains("\"inStock\":false");
+    }
+    
+    @Test
+    void stockStream_WithTooManyProducts_ShouldReturnBadRequest() throws Exception {
+        // Given
+        String ids = String.join(",", LongStream.rangeClosed(1, 101).mapToObj(Long::toString).toList());
+        
+        // When & Then
+        mockMvc.perform(get("/api/products/events").param("ids", ids))
+                .andExpect(status().isBadRequest());
+    }
+    
+    @Test
+    void allOrdersStream_WithoutAdminRole_ShouldReturnUnauthorized() throws Exception {
+        mockMvc.perform(get("/api/orders/events"))
+                .andExpect(status().isUnauthorized());
+    }
+    
+    private static String awaitContent(MvcResult result, String expected) throws Exception {
+        long deadline = System.currentTimeMillis() + 5000;
+        String body = result.getResponse().getContentAsString();
+        while (!body.contains(expected) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+            body = result.getResponse().getContentAsString();
+        }
+        assertThat(body).contains(expected);
+        return body;
+    }
+}
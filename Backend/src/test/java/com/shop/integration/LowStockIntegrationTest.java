@@ -0,0 +1,196 @@
+package com.shop.integration;
+
+import com.shop.dto.CategoryDto;
+import com.shop.dto.LowStockAlertDto;
+import com.shop.dto.OrderDto;
+import com.shop.dto.OrderItemDto;
+import com.shop.dto.ProductDto;
+import com.shop.entity.Product;
+import com.shop.entity.User;
+import com.shop.repository.ProductRepository;
+import com.shop.repository.UserRepository;
+import com.shop.service.CategoryService;
+import com.shop.service.LiveUpdateService;
+import com.shop.service.LowStockMonitor;
+import com.shop.service.OrderService;
+import com.shop.service.ProductService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.MockMvcPrint;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc(print = MockMvcPrint.NONE)
+@ActiveProfiles("test")
+class LowStockIntegrationTest {
+    
+    @Autowired
+    private MockMvc mockMvc;
+    
+    @Autowired
+    private LowStockMonitor lowStockMonitor;
+    
+    @Autowired
+    private ProductService productService;
+    
+    @Autowired
+    private CategoryService categoryService;
+    
+    @Autowired
+    private OrderService orderService;
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Autowired
+    private ProductRepository productRepository;
+    
+    @SpyBean
+    private LiveUpdateService liveUpdateService;
+    
+    private String suffix;
+    private CategoryDto category;
+    
+    @BeforeEach
+    void setUp() {
+        suffix = UUID.randomUUID().toString().substring(0, 8);
+        category = categoryService.save(new CategoryDto("Low Stock " + suffix, "Low stock alerts"));
+    }
+    
+    @Test
+    void stockChanges_ShouldRaiseAndClearAlertAgainstProductThreshold() {
+        // Given
+        ProductDto product = createProduct(12, 5);
+        assertThat(alertFor(product.getId())).isEmpty();
+        
+        // When
+        productService.decreaseStock(product.getId(), 8);
+        
+        // Then
+        LowStockAlertDto alert = alertFor(product.getId()).orElseThrow();
+        assertThat(alert.getStockQuantity()).isEqualTo(4);
+        assertThat(alert.getThreshold()).isEqualTo(5);
+        
+        // When
+        productService.increaseStock(product.getId(), 10);
+        
+        // Then
+        assertThat(alertFor(product.getId())).isEmpty();
+    }
+    
+    @Test
+    void olderReading_AfterAlertWasCleared_ShouldBeIgnored() {
+        // Given
+        ProductDto product = createProduct(12, 5);
+        productService.decreaseStock(product.getId(), 8);
+        Product afterSale = productRepository.findById(product.getId()).orElseThrow();
+        productService.increaseStock(product.getId(), 46);
+        assertThat(alertFor(product.getId())).isEmpty();
+        clearInvocations(liveUpdateService);
+        
+        // When
+        lowStockMonitor.stockChanged(afterSale);
+        
+        // Then
+        assertThat(alertFor(product.getId())).isEmpty();
+        verify(liveUpdateService, never()).stockChanged(product.getId(), 4);
+    }
+    
+    @Test
+    void categoryThresholdChange_ShouldReevaluateItsProducts() {
+        // Given
+        CategoryDto update = new CategoryDto(category.getName(), category.getDescription());
+        update.setLowStockThreshold(20);
+        categoryService.update(category.getId(), update);
+        ProductDto product = createProduct(15, null);
+        assertThat(alertFor(product.getId())).map(LowStockAlertDto::getThreshold).contains(20);
+        
+        // When
+        update.setLowStockThreshold(10);
+        categoryService.update(category.getId(), update);
+        
+        // Then
+        assertThat(alertFor(product.getId())).isEmpty();
+    }
+    
+    @Test
+    void cancelledOrder_ShouldClearAlertWhenStockIsReleased() {
+        // Given
+        ProductDto product = createProduct(6, 5);
+        User user = userRepository.save(new User("lowstock-" + suffix, "lowstock-" + suffix + "@example.com", "Low", "Stock"));
+        OrderDto order = new OrderDto();
+        order.setUserId(user.getId());
+        order.setOrderItems(List.of(new OrderItemDto(product.getId(), 3, product.getPrice())));
+        OrderDto placed = orderService.placeOrder(order);
+        assertThat(alertFor(product.getId())).map(LowStockAlertDto::getStockQuantity).contains(3);
+        
+        // When
+        orderService.cancelOrder(placed.getId());
+        
+        // Then
+        assertThat(alertFor(product.getId())).isEmpty();
+    }
+    
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void alertEndpoints_ShouldServeCurrentAlerts() throws Exception {
+        // Given
+        ProductDto product = createProduct(1, null);
+        
+        // When & Then
+        mockMvc.perform(get("/api/products/low-stock/alerts"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[?(@.productId == " + product.getId() + ")].threshold").value(10));
+        
+        MvcResult stream = mockMvc.perform(get("/api/products/low-stock/stream"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String body = awaitContent(stream, "event:snapshot");
+        assertThat(body).contains("\"productId\":" + product.getId());
+    }
+    
+    private ProductDto createProduct(int stock, Integer threshold) {
+        ProductDto product = new ProductDto("Low Stock Product " + suffix, "Low stock product", new BigDecimal("4.00"), stock);
+        product.setCategoryId(category.getId());
+        product.setIsActive(true);
+        product.setLowStockThreshold(threshold);
+        return productService.save(product);
+    }
+    
+    private Optional<LowStockAlertDto> alertFor(Long productId) {
+        return lowStockMonitor.currentAlerts().stream()
+                .filter(alert -> alert.getProductId().equals(productId))
+                .findFirst();
+    }
+    
+    private static String awaitContent(MvcResult result, String expected) throws Exception {
+        long deadline = System.currentTimeMillis() + 5000;
+        String body = result.getResponse().getContentAsString();
+        while (!body.contains(expected) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+            body = result.getResponse().getContentAsString();
+        }
+        return body;
+    }
+}
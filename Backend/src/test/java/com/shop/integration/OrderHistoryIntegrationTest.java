@@ -0,0 +1,119 @@
+package com.shop.integration;
+
+import com.shop.dto.OrderDto;
+import com.shop.dto.OrderHistoryPage;
+import com.shop.dto.OrderItemDto;
+import com.shop.dto.OrderSummaryDto;
+import com.shop.entity.Order;
+import com.shop.entity.Product;
+import com.shop.entity.User;
+import com.shop.repository.CustomerOrderHistoryRepository;
+import com.shop.service.OrderService;
+import com.shop.support.OrderFixtures;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(OrderFixtures.class)
+class OrderHistoryIntegrationTest {
+    
+    @Autowired
+    private OrderService orderService;
+    
+    @Autowired
+    private CustomerOrderHistoryRepository orderHistoryRepository;
+    
+    @Autowired
+    private OrderFixtures orderFixtures;
+    
+    private User user;
+    private Product product;
+    
+    @BeforeEach
+    void setUp() {
+        OrderFixtures.Fixture fixture = orderFixtures.create("History", "7.50", 100);
+        user = fixture.user();
+        product = fixture.product();
+    }
+    
+    @Test
+    void findOrderHistory_ShouldPageNewestFirstWithCursor() {
+        // Given
+        List<Long> orderIds = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            orderIds.add(createOrder().getId());
+        }
+        
+        // When
+        OrderHistoryPage first = orderService.findOrderHistory(user.getId(), null, 2);
+        OrderHistoryPage second = orderService.findOrderHistory(user.getId(), first.getNextCursor(), 2);
+        OrderHistoryPage third = orderService.findOrderHistory(user.getId(), second.getNextCursor(), 2);
+        
+        // Then
+        List<Long> pagedIds = new ArrayList<>();
+        List.of(first, second, third).forEach(page -> page.getContent().forEach(order -> pagedIds.add(order.getId())));
+        Collections.reverse(orderIds);
+        assertThat(pagedIds).containsExactlyElementsOf(orderIds);
+        assertThat(first.isHasNext()).isTrue();
+        assertThat(second.isHasNext()).isTrue();
+        assertThat(third.isHasNext()).isFalse();
+        assertThat(third.getNextCursor()).isNull();
+    }
+    
+    @Test
+    void findOrderHistory_ShouldReflectItemsAndStatusChanges() {
+        // Given
+        Long orderId = createOrder().getId();
+        orderService.addOrderItem(orderId, new OrderItemDto(product.getId(), 2, product.getPrice()));
+        orderService.updateOrderStatus(orderId, Order.OrderStatus.CONFIRMED);
+        Long cancelledId = createOrder().getId();
+        orderService.cancelOrders(List.of(cancelledId));
+        
+        // When
+        List<OrderSummaryDto> history = orderService.findOrderHistory(user.getId(), null, 10).getContent();
+        
+        // Then
+        assertThat(history).hasSize(2);
+        assertThat(history.get(0).getId()).isEqualTo(cancelledId);
+        assertThat(history.get(0).getStatus()).isEqualTo(Order.OrderStatus.CANCELLED);
+        assertThat(history.get(1).getStatus()).isEqualTo(Order.OrderStatus.CONFIRMED);
+        assertThat(history.get(1).getTotalItems()).isEqualTo(2);
+        assertThat(history.get(1).getTotalAmount()).isEqualByComparingTo("15.00");
+    }
+    
+    @Test
+    void deleteById_ShouldRemoveHistoryRow() {
+        // Given
+        Long orderId = createOrder().getId();
+        
+        // When
+        orderService.deleteById(orderId);
+        
+        // Then
+        assertThat(orderHistoryRepository.existsById(orderId)).isFalse();
+    }
+    
+    @Test
+    void findOrderHistory_WithMalformedCursor_ShouldThrowException() {
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () -> orderService.findOrderHistory(user.getId(), "not-a-cursor", 10));
+    }
+    
+    private OrderDto createOrder() {
+        OrderDto order = new OrderDto();
+        order.setUserId(user.getId());
+        return orderService.createOrder(order);
+    }
+}
@@ -0,0 +1,171 @@
+package com.shop.integration;
+
+import com.shop.dto.OrderDto;
+import com.shop.dto.OrderItemDto;
+import com.shop.dto.OrderSummaryDto;
+import com.shop.entity.Category;
+import com.shop.entity.Order;
+import com.shop.entity.Product;
+import com.shop.entity.User;
+import com.shop.repository.CategoryRepository;
+import com.shop.repository.OrderRepository;
+import com.shop.repository.ProductRepository;
+import com.shop.repository.UserRepository;
+import com.shop.service.OrderService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static com.shop.support.SqlBudgetMatchers.maxQueries;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class OrderReadModelIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User user;
+    private Category category;
+    private Long pairOrderId;
+    private Long emptyOrderId;
+
+    @BeforeEach
+    void setUp() {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        user = userRepository.save(new User("reader-" + suffix, "reader-" + suffix + "@example.com", "Read", "Model"));
+        category = categoryRepository.save(new Category("Read " + suffix, "Order read model"));
+        Product pen = createProduct("Pen");
+        Product ink = createProduct("Ink");
+
+        pairOrderId = orderService.placeOrder(order(pen.getId(), 2, ink.getId(), 3)).getId();
+        emptyOrderId = orderRepository.save(new Order("ORD-EMPTY-" + suffix, user)).getId();
+    }
+
+    @Test
+    void findSummariesByUserId_ShouldSumItemQuantities() {
+        // When
+        Map<Long, OrderSummaryDto> summaries = byId(
+                orderRepository.findSummariesByUserId(user.getId(), PageRequest.of(0, 10)).getContent());
+
+        // Then
+        assertThat(summaries).containsOnlyKeys(pairOrderId, emptyOrderId);
+        assertThat(summaries.get(pairOrderId).getTotalItems()).isEqualTo(5);
+        assertThat(summaries.get(pairOrderId).getUserName()).isEqualTo(user.getUsername());
+        assertThat(summaries.get(emptyOrderId).getTotalItems()).isZero();
+    }
+
+    @Test
+    void findAllSummaries_ShouldCountEachOrderOnce() {
+        // When
+        Map<Long, OrderSummaryDto> summaries = byId(
+                orderRepository.findAllSummaries(PageRequest.of(0, 10_000)).getContent());
+
+        // Then
+        assertThat(summaries.get(pairOrderId).getTotalItems()).isEqualTo(5);
+        assertThat(summaries.get(emptyOrderId).getTotalItems()).isZero();
+        assertThat(orderRepository.findAllSummaries(PageRequest.of(0, 1)).getTotalElements())
+                .isEqualTo(orderRepository.count());
+    }
+
+    @Test
+    void findSummariesByStatus_ShouldOnlyReturnOrdersInStatus() {
+        // Given
+        orderService.updateOrderStatus(pairOrderId, Order.OrderStatus.CONFIRMED);
+
+        // When
+        List<OrderSummaryDto> confirmed = orderRepository
+                .findSummariesByStatus(Order.OrderStatus.CONFIRMED, PageRequest.of(0, 10_000)).getContent();
+
+        // Then
+        assertThat(confirmed).allMatch(summary -> summary.getStatus() == Order.OrderStatus.CONFIRMED);
+        assertThat(byId(confirmed).get(pairOrderId).getTotalItems()).isEqualTo(5);
+        assertThat(byId(confirmed)).doesNotContainKey(emptyOrderId);
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void getOrderSummariesByUser_ShouldReadPageWithoutLoadingItems() throws Exception {
+        mockMvc.perform(get("/api/orders/user/{userId}", user.getId()).param("view", "summary"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements").value(2))
+                .andExpect(maxQueries(2));
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void getOrderById_ShouldReturnItemsWithSingleQuery() throws Exception {
+        mockMvc.perform(get("/api/orders/{id}", pairOrderId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.userName").value(user.getUsername()))
+                .andExpect(jsonPath("$.orderItems.length()").value(2))
+                .andExpect(maxQueries(1));
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void addOrderItem_ShouldReturnExistingItemsWithoutLoadingEachProduct() throws Exception {
+        // Given
+        Product extra = createProduct("Paper");
+
+        // When / Then: one read of the order with its user, items and products, the product lock, and the writes
+        mockMvc.perform(post("/api/orders/{id}/items", pairOrderId)
+                        .contentType("application/json")
+                        .content("{\"productId\":" + extra.getId() + ",\"quantity\":1,\"unitPrice\":2.50}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.orderItems.length()").value(3))
+                .andExpect(jsonPath("$.orderItems[*].productName").isNotEmpty())
+                .andExpect(maxQueries(8));
+    }
+
+    private Product createProduct(String name) {
+        Product product = new Product(name, name + " for read model tests", new BigDecimal("2.50"), 100);
+        product.setCategory(category);
+        return productRepository.save(product);
+    }
+
+    private OrderDto order(Long firstProductId, int firstQuantity, Long secondProductId, int secondQuantity) {
+        OrderDto order = new OrderDto();
+        order.setUserId(user.getId());
+        order.setOrderItems(List.of(
+                new OrderItemDto(firstProductId, firstQuantity, new BigDecimal("2.50")),
+                new OrderItemDto(secondProductId, secondQuantity, new BigDecimal("2.50"))));
+        return order;
+    }
+
+    private static Map<Long, OrderSummaryDto> byId(List<OrderSummaryDto> summaries) {
+        return summaries.stream().collect(Collectors.toMap(OrderSummaryDto::getId, summary -> summary));
+    }
+}
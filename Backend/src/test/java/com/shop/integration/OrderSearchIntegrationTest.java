@@ -0,0 +1,91 @@
+package com.shop.integration;
+
+import com.shop.entity.Order;
+import com.shop.entity.User;
+import com.shop.repository.OrderRepository;
+import com.shop.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class OrderSearchIntegrationTest {
+    
+    @Autowired
+    private OrderRepository orderRepository;
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    private String suffix;
+    
+    @BeforeEach
+    void setUp() {
+        suffix = UUID.randomUUID().toString().substring(0, 8).toUpperCase();
+        User alice = userRepository.save(new User("alice_" + suffix, "alice." + suffix + "@example.com", "Alice", "Search"));
+        User bob = userRepository.save(new User("bob_" + suffix, "bob." + suffix + "@example.com", "Bob", "Search"));
+        for (int i = 0; i < 3; i++) {
+            saveOrder("ORD-" + suffix + "-A" + i, alice, i);
+        }
+        saveOrder("ORD-" + suffix + "-B0", bob, 10);
+    }
+    
+    @Test
+    void searchByKeyword_WithUsernameFragment_ShouldIgnoreCase() {
+        // When
+        Page<Order> result = orderRepository.searchByKeyword("ALICE_" + suffix, PageRequest.of(0, 10));
+        
+        // Then
+        assertThat(result.getTotalElements()).isEqualTo(3);
+        assertThat(result.getContent()).allMatch(order -> order.getUser().getUsername().equals("alice_" + suffix));
+    }
+    
+    @Test
+    void searchByKeyword_WithOrderNumberPrefix_ShouldMatchOrderNumbersOnly() {
+        // When
+        Page<Order> result = orderRepository.searchByKeyword("ord-" + suffix + "-b", PageRequest.of(0, 10));
+        
+        // Then
+        assertThat(result.getContent()).extracting(Order::getOrderNumber).containsExactly("ORD-" + suffix + "-B0");
+    }
+    
+    @Test
+    void searchByKeyword_ShouldPageInRequestedOrder() {
+        // When
+        Page<Order> result = orderRepository.searchByKeyword(suffix,
+                PageRequest.of(0, 2, Sort.by(Sort.Direction.DESC, "orderDate")));
+        
+        // Then
+        assertThat(result.getTotalElements()).isEqualTo(4);
+        assertThat(result.getContent()).extracting(Order::getOrderNumber)
+                .containsExactly("ORD-" + suffix + "-B0", "ORD-" + suffix + "-A2");
+    }
+    
+    @Test
+    void searchByKeyword_WithLikeWildcards_ShouldMatchLiterally() {
+        // When
+        Page<Order> result = orderRepository.searchByKeyword("%" + suffix, PageRequest.of(0, 10));
+        
+        // Then
+        assertThat(result.getContent()).isEmpty();
+    }
+    
+    private void saveOrder(String orderNumber, User user, int daysAgo) {
+        Order order = new Order(orderNumber, user);
+        order.setOrderDate(LocalDateTime.now().minusDays(10 - daysAgo));
+        orderRepository.save(order);
+    }
+}
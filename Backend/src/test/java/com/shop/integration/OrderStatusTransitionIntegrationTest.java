@@ -0,0 +1,156 @@
+package com.shop.integration;
+
+import com.shop.dto.OrderDto;
+import com.shop.entity.Order;
+import com.shop.entity.Product;
+import com.shop.exception.ResourceNotFoundException;
+import com.shop.repository.OrderRepository;
+import com.shop.repository.ProductRepository;
+import com.shop.service.LiveUpdateService;
+import com.shop.service.OrderService;
+import com.shop.support.OrderFixtures;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.verify;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(OrderFixtures.class)
+class OrderStatusTransitionIntegrationTest {
+    
+    @Autowired
+    private OrderService orderService;
+    
+    @Autowired
+    private OrderRepository orderRepository;
+    
+    @Autowired
+    private ProductRepository productRepository;
+    
+    @Autowired
+    private OrderFixtures orderFixtures;
+    
+    @SpyBean
+    private LiveUpdateService liveUpdateService;
+    
+    private OrderFixtures.Fixture fixture;
+    private Product product;
+    
+    @BeforeEach
+    void setUp() {
+        fixture = orderFixtures.create("Status", "4.00", 20);
+        product = fixture.product();
+    }
+    
+    @Test
+    void updateOrderStatus_WithAllowedTransition_ShouldUpdateStatus() {
+        // Given
+        Long orderId = fixture.createOrder(Order.OrderStatus.PENDING, 1).getId();
+        
+        // When
+        OrderDto order = orderService.updateOrderStatus(orderId, Order.OrderStatus.CONFIRMED);
+        
+        // Then
+        assertThat(order.getStatus()).isEqualTo(Order.OrderStatus.CONFIRMED);
+        assertThat(orderRepository.findById(orderId).orElseThrow().getStatus()).isEqualTo(Order.OrderStatus.CONFIRMED);
+    }
+    
+    @Test
+    void updateOrderStatus_WithSkippedStep_ShouldThrowException() {
+        // Given
+        Long orderId = fixture.createOrder(Order.OrderStatus.PENDING, 1).getId();
+        
+        // When & Then
+        assertThrows(IllegalArgumentException.class,
+                () -> orderService.updateOrderStatus(orderId, Order.OrderStatus.SHIPPED));
+        assertThat(orderRepository.findById(orderId).orElseThrow().getStatus()).isEqualTo(Order.OrderStatus.PENDING);
+    }
+    
+    @Test
+    void updateOrderStatus_WhenOrderNotFound_ShouldThrowException() {
+        // When & Then
+        assertThrows(ResourceNotFoundException.class,
+                () -> orderService.updateOrderStatus(-1L, Order.OrderStatus.CONFIRMED));
+    }
+    
+    @Test
+    void updateOrderStatus_ToCancelled_ShouldRestoreStock() {
+        // Given
+        Long orderId = fixture.createOrder(Order.OrderStatus.PROCESSING, 5).getId();
+        
+        // When
+        OrderDto order = orderService.updateOrderStatus(orderId, Order.OrderStatus.CANCELLED);
+        
+        // Then
+        assertThat(order.getStatus()).isEqualTo(Order.OrderStatus.CANCELLED);
+        assertThat(productRepository.findById(product.getId()).orElseThrow().getStockQuantity()).isEqualTo(25);
+    }
+    
+    @Test
+    void cancelOrder_WhenShipped_ShouldThrowException() {
+        // Given
+        Long orderId = fixture.createOrder(Order.OrderStatus.SHIPPED, 5).getId();
+        
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () -> orderService.cancelOrder(orderId));
+        assertThat(productRepository.findById(product.getId()).orElseThrow().getStockQuantity()).isEqualTo(20);
+    }
+    
+    @Test
+    void update_ShouldNotChangeStatusOrOtherServerOwnedFields() {
+        // Given
+        Order order = fixture.createOrder(Order.OrderStatus.PENDING, 5);
+        OrderDto changes = new OrderDto();
+        changes.setStatus(Order.OrderStatus.DELIVERED);
+        changes.setOrderNumber("FORGED-" + UUID.randomUUID());
+        changes.setTotalAmount(BigDecimal.ONE);
+        changes.setNotes("Leave at the door");
+        
+        // When
+        OrderDto updated = orderService.update(order.getId(), changes);
+        
+        // Then
+        Order stored = orderRepository.findById(order.getId()).orElseThrow();
+        assertThat(updated.getStatus()).isEqualTo(Order.OrderStatus.PENDING);
+        assertThat(stored.getStatus()).isEqualTo(Order.OrderStatus.PENDING);
+        assertThat(stored.getOrderNumber()).isEqualTo(order.getOrderNumber());
+        assertThat(stored.getTotalAmount()).isEqualByComparingTo(order.getTotalAmount());
+        assertThat(stored.getNotes()).isEqualTo("Leave at the door");
+    }
+    
+    @Test
+    void updateOrderStatuses_ShouldOnlyMoveOrdersAllowedToTransition() {
+        // Given
+        Long firstConfirmedId = fixture.createOrder(Order.OrderStatus.CONFIRMED, 1).getId();
+        Long secondConfirmedId = fixture.createOrder(Order.OrderStatus.CONFIRMED, 1).getId();
+        List<Long> orderIds = List.of(
+                firstConfirmedId,
+                secondConfirmedId,
+                fixture.createOrder(Order.OrderStatus.PENDING, 1).getId(),
+                fixture.createOrder(Order.OrderStatus.CANCELLED, 1).getId(),
+                fixture.createOrder(Order.OrderStatus.PROCESSING, 1).getId());
+        
+        // When
+        int updated = orderService.updateOrderStatuses(orderIds, Order.OrderStatus.PROCESSING);
+        
+        // Then
+        assertThat(updated).isEqualTo(2);
+        assertThat(orderRepository.findAllById(orderIds)).extracting(Order::getStatus).containsExactlyInAnyOrder(
+                Order.OrderStatus.PROCESSING, Order.OrderStatus.PROCESSING,
+                Order.OrderStatus.PENDING, Order.OrderStatus.CANCELLED, Order.OrderStatus.PROCESSING);
+        // The order that was already processing did not change and is not announced
+        verify(liveUpdateService).orderStatusChanged(List.of(firstConfirmedId, secondConfirmedId), Order.OrderStatus.PROCESSING);
+    }
+}
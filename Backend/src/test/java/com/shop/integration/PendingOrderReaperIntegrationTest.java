@@ -0,0 +1,88 @@
+package com.shop.integration;
+
+import com.shop.entity.Order;
+import com.shop.entity.Product;
+import com.shop.repository.OrderRepository;
+import com.shop.repository.ProductRepository;
+import com.shop.service.PendingOrderReaper;
+import com.shop.support.OrderFixtures;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {"app.order-reaper.pending-ttl=1h", "app.order-reaper.batch-size=2"})
+@ActiveProfiles("test")
+@Import(OrderFixtures.class)
+class PendingOrderReaperIntegrationTest {
+    
+    @Autowired
+    private PendingOrderReaper reaper;
+    
+    @Autowired
+    private OrderRepository orderRepository;
+    
+    @Autowired
+    private ProductRepository productRepository;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    @Autowired
+    private OrderFixtures orderFixtures;
+    
+    private OrderFixtures.Fixture fixture;
+    private Product product;
+    
+    @BeforeEach
+    void setUp() {
+        fixture = orderFixtures.create("Reaper", "3.00", 50);
+        product = fixture.product();
+    }
+    
+    @Test
+    void reap_ShouldCancelAbandonedPendingOrdersInBatchesAndReleaseStock() {
+        // Given
+        LocalDateTime abandoned = LocalDateTime.now().minusHours(3);
+        List<Long> abandonedIds = List.of(
+                fixture.createOrder(Order.OrderStatus.PENDING, abandoned, 2).getId(),
+                fixture.createOrder(Order.OrderStatus.PENDING, abandoned, 3).getId(),
+                fixture.createOrder(Order.OrderStatus.PENDING, abandoned, 4).getId());
+        Long recentId = fixture.createOrder(Order.OrderStatus.PENDING, LocalDateTime.now(), 5).getId();
+        Long confirmedId = fixture.createOrder(Order.OrderStatus.CONFIRMED, abandoned, 6).getId();
+        double releasedBefore = meterRegistry.summary("orders.reaper.stock.released").totalAmount();
+        
+        // When
+        int reaped = reaper.reap();
+        
+        // Then
+        assertThat(reaped).isEqualTo(3);
+        assertThat(orderRepository.findAllById(abandonedIds))
+                .allMatch(order -> order.getStatus() == Order.OrderStatus.CANCELLED);
+        assertThat(orderRepository.findById(recentId).orElseThrow().getStatus()).isEqualTo(Order.OrderStatus.PENDING);
+        assertThat(orderRepository.findById(confirmedId).orElseThrow().getStatus()).isEqualTo(Order.OrderStatus.CONFIRMED);
+        assertThat(productRepository.findById(product.getId()).orElseThrow().getStockQuantity()).isEqualTo(50 + 2 + 3 + 4);
+        assertThat(meterRegistry.summary("orders.reaper.stock.released").totalAmount() - releasedBefore).isEqualTo(9);
+    }
+    
+    @Test
+    void reap_WhenNothingAbandoned_ShouldCancelNothing() {
+        // Given
+        Long recentId = fixture.createOrder(Order.OrderStatus.PENDING, LocalDateTime.now(), 1).getId();
+        
+        // When
+        int reaped = reaper.reap();
+        
+        // Then
+        assertThat(reaped).isZero();
+        assertThat(orderRepository.findById(recentId).orElseThrow().getStatus()).isEqualTo(Order.OrderStatus.PENDING);
+    }
+}
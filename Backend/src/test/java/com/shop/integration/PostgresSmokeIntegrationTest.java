@@ -0,0 +1,65 @@
+package com.shop.integration;
+
+import com.shop.dto.CategoryDto;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Boots the application against a real PostgreSQL with the Flyway migrations
+ * and Hibernate schema validation of the default profile. Runs as the native
+ * smoke test under {@code mvn -PnativeTest test}; skipped when Docker is not
+ * available.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@Testcontainers(disabledWithoutDocker = true)
+class PostgresSmokeIntegrationTest {
+    
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15-alpine");
+    
+    @DynamicPropertySource
+    static void datasourceProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+    }
+    
+    @Autowired
+    private TestRestTemplate restTemplate;
+    
+    @Test
+    void health_ShouldBeUp() {
+        // When
+        ResponseEntity<Map<String, Object>> response = restTemplate.exchange(
+                "/actuator/health", HttpMethod.GET, null, new ParameterizedTypeReference<Map<String, Object>>() {});
+        
+        // Then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody()).containsEntry("status", "UP");
+    }
+    
+    @Test
+    void getAllCategories_ShouldReadMigratedSchema() {
+        // When
+        ResponseEntity<CategoryDto[]> response = restTemplate.getForEntity("/api/categories", CategoryDto[].class);
+        
+        // Then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody()).isNotNull();
+    }
+}
@@ -0,0 +1,178 @@
+package com.shop.integration;
+
+import com.shop.dto.OrderDto;
+import com.shop.dto.OrderItemDto;
+import com.shop.dto.ProductDto;
+import com.shop.entity.Category;
+import com.shop.entity.User;
+import com.shop.repository.CategoryRepository;
+import com.shop.repository.UserRepository;
+import com.shop.service.OrderService;
+import com.shop.service.ProductSalesService;
+import com.shop.service.ProductService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.reset;
+
+@SpringBootTest(properties = "app.sales-counters.flush-interval-ms=3600000")
+@ActiveProfiles("test")
+class ProductSalesCounterIntegrationTest {
+
+    @Autowired
+    private ProductSalesService productSalesService;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @SpyBean
+    private JdbcTemplate jdbcTemplate;
+
+    private User user;
+    private Long categoryId;
+
+    @BeforeEach
+    void setUp() {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        user = userRepository.save(new User("sales-" + suffix, "sales-" + suffix + "@example.com", "Sales", "Tester"));
+        categoryId = categoryRepository.save(new Category("Sales " + suffix, "Sales counters")).getId();
+    }
+
+    @Test
+    void flush_ShouldAddNetQuantityOfSalesAndCancellations() {
+        // Given
+        Long productId = createProduct();
+        orderService.placeOrder(order(productId, 5));
+        Long cancelledOrderId = orderService.placeOrder(order(productId, 3)).getId();
+        orderService.cancelOrder(cancelledOrderId);
+
+        // When
+        productSalesService.flush();
+
+        // Then
+        assertThat(productSalesService.getQuantitySold(productId)).isEqualTo(5);
+        assertThat(pendingDeltas(productId)).isZero();
+    }
+
+    @Test
+    void recordSale_WhenTransactionRollsBack_ShouldLeaveNoDelta() {
+        // Given
+        Long productId = createProduct();
+
+        // When
+        transactionTemplate.executeWithoutResult(status -> {
+            productSalesService.recordSale(productId, 4);
+            status.setRollbackOnly();
+        });
+        productSalesService.flush();
+
+        // Then
+        assertThat(productSalesService.getQuantitySold(productId)).isZero();
+    }
+
+    @Test
+    void flush_WhenBatchFails_ShouldApplyDeltasExactlyOnceOnNextRun() {
+        // Given
+        Long productId = createProduct();
+        orderService.placeOrder(order(productId, 6));
+        doThrow(new DataAccessResourceFailureException("connection lost"))
+                .when(jdbcTemplate).batchUpdate(startsWith("DELETE FROM product_sales_deltas"), anyList());
+
+        // When
+        try {
+            productSalesService.flush();
+        } finally {
+            reset(jdbcTemplate);
+        }
+        long afterFailedFlush = productSalesService.getQuantitySold(productId);
+        productSalesService.flush();
+
+        // Then
+        assertThat(afterFailedFlush).isZero();
+        assertThat(productSalesService.getQuantitySold(productId)).isEqualTo(6);
+    }
+
+    @Test
+    void rebuild_ShouldNotCountPendingDeltasTwice() {
+        // Given
+        Long productId = createProduct();
+        orderService.placeOrder(order(productId, 2));
+        productSalesService.flush();
+        orderService.placeOrder(order(productId, 7));
+
+        // When
+        productSalesService.rebuild();
+        productSalesService.flush();
+
+        // Then
+        assertThat(productSalesService.getQuantitySold(productId)).isEqualTo(9);
+        assertThat(pendingDeltas(productId)).isZero();
+    }
+
+    @Test
+    void findPopularProducts_ShouldOrderByUnitsSoldIncludingUnsoldProducts() {
+        // Given
+        Long unsold = createProduct();
+        Long bestSeller = createProduct();
+        Long runnerUp = createProduct();
+        orderService.placeOrder(order(runnerUp, 2));
+        orderService.placeOrder(order(bestSeller, 8));
+        productSalesService.flush();
+
+        // When
+        List<Long> ranking = productService.findPopularProducts(PageRequest.of(0, 1000)).stream()
+                .map(ProductDto::getId)
+                .filter(Set.of(unsold, bestSeller, runnerUp)::contains)
+                .toList();
+
+        // Then
+        assertThat(ranking).containsExactly(bestSeller, runnerUp, unsold);
+    }
+
+    private Long createProduct() {
+        ProductDto product = new ProductDto("Counted Product", "Sales counter product", new BigDecimal("3.00"), 50);
+        product.setCategoryId(categoryId);
+        product.setIsActive(true);
+        return productService.save(product).getId();
+    }
+
+    private OrderDto order(Long productId, int quantity) {
+        OrderDto order = new OrderDto();
+        order.setUserId(user.getId());
+        order.setOrderItems(List.of(new OrderItemDto(productId, quantity, new BigDecimal("3.00"))));
+        return order;
+    }
+
+    private long pendingDeltas(Long productId) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM product_sales_deltas WHERE product_id = ?", Long.class, productId);
+    }
+}
@@ -0,0 +1,95 @@
+package com.shop.integration;
+
+import com.shop.dto.ProductDto;
+import com.shop.entity.Category;
+import com.shop.entity.Product;
+import com.shop.repository.CategoryRepository;
+import com.shop.repository.ProductRepository;
+import com.shop.service.ReportingService;
+import com.shop.support.PoolRoutingDataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest(properties = {"app.reporting.parallelism=1", "app.reporting.queue-capacity=0"})
+@ActiveProfiles("test")
+class ReportingBulkheadIntegrationTest {
+    
+    @Autowired
+    private ReportingService reportingService;
+    
+    @Autowired
+    @Qualifier("reportingExecutor")
+    private ThreadPoolTaskExecutor reportingExecutor;
+    
+    @Autowired
+    private ProductRepository productRepository;
+    
+    @Autowired
+    private CategoryRepository categoryRepository;
+    
+    @Test
+    void findLowStockProducts_ShouldRunOnReportingExecutor() throws Exception {
+        // Given
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        Category category = categoryRepository.save(new Category("Report " + suffix, "Reports"));
+        Product product = new Product("Scarce " + suffix, "Almost gone", new BigDecimal("2.00"), 1);
+        product.setSku("RPT-" + suffix);
+        product.setCategory(category);
+        productRepository.save(product);
+        
+        // When
+        List<ProductDto> products = reportingService.findLowStockProducts(2).get(10, TimeUnit.SECONDS);
+        
+        // Then
+        assertThat(products).extracting(ProductDto::getSku).contains("RPT-" + suffix);
+    }
+    
+    @Test
+    void reportingExecutor_ShouldRouteToReportingPool() throws Exception {
+        // When
+        PoolRoutingDataSource.Pool pool = CompletableFuture
+                .supplyAsync(PoolRoutingDataSource::currentPool, reportingExecutor)
+                .get(10, TimeUnit.SECONDS);
+        
+        // Then
+        assertThat(pool).isEqualTo(PoolRoutingDataSource.Pool.REPORTING);
+    }
+    
+    @Test
+    void findAllOrders_WhenBulkheadSaturated_ShouldRejectImmediately() throws Exception {
+        // Given
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        reportingExecutor.execute(() -> {
+            started.countDown();
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        assertThat(started.await(10, TimeUnit.SECONDS)).isTrue();
+        
+        try {
+            // When & Then
+            assertThrows(TaskRejectedException.class, () -> reportingService.findAllOrders());
+        } finally {
+            release.countDown();
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package com.shop.integration;
+
+import com.shop.entity.Category;
+import com.shop.entity.Order;
+import com.shop.entity.OrderItem;
+import com.shop.entity.Product;
+import com.shop.entity.User;
+import com.shop.repository.CategoryRepository;
+import com.shop.repository.OrderRepository;
+import com.shop.repository.ProductRepository;
+import com.shop.repository.UserRepository;
+import com.shop.service.OrderService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class SecondLevelCacheIntegrationTest {
+    
+    @Autowired
+    private CategoryRepository categoryRepository;
+    
+    @Autowired
+    private ProductRepository productRepository;
+    
+    @Autowired
+    private OrderRepository orderRepository;
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Autowired
+    private OrderService orderService;
+    
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    
+    private Statistics statistics;
+    
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+    
+    @Test
+    void findCategoryById_WhenRepeated_ShouldNotExecuteSql() {
+        // Given
+        Category category = categoryRepository.save(new Category("L2 Category", "Cached category"));
+        categoryRepository.findById(category.getId());
+        statistics.clear();
+        
+        // When
+        categoryRepository.findById(category.getId());
+        categoryRepository.findById(category.getId());
+        
+        // Then
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        assertThat(statistics.getDomainDataRegionStatistics("categories").getHitCount()).isEqualTo(2);
+    }
+    
+    @Test
+    void findAllCategories_WhenRepeated_ShouldBeServedFromQueryCache() {
+        // Given
+        categoryRepository.save(new Category("L2 Query Category", "Cached query"));
+        categoryRepository.findAll();
+        statistics.clear();
+        
+        // When
+        categoryRepository.findAll();
+        
+        // Then
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        assertThat(statistics.getQueryCacheHitCount()).isEqualTo(1);
+    }
+    
+    @Test
+    void findProductByIdWithCategory_WhenRepeated_ShouldNotExecuteSql() {
+        // Given
+        Category category = categoryRepository.save(new Category("L2 Product Category", "Cached product category"));
+        Product product = new Product("L2 Product", "Cached product", new BigDecimal("9.99"), 5);
+        product.setSku("L2-PRODUCT");
+        product.setCategory(category);
+        product = productRepository.save(product);
+        productRepository.findByIdWithCategory(product.getId());
+        statistics.clear();
+        
+        // When
+        productRepository.findByIdWithCategory(product.getId());
+        
+        // Then
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+    }
+    
+    @Test
+    void findCategoryById_AfterUpdate_ShouldReturnFreshState() {
+        // Given
+        Category category = categoryRepository.save(new Category("L2 Updated Category", "Before"));
+        categoryRepository.findById(category.getId());
+        
+        // When
+        Category loaded = categoryRepository.findById(category.getId()).orElseThrow();
+        loaded.setDescription("After");
+        categoryRepository.save(loaded);
+        
+        // Then
+        assertThat(categoryRepository.findById(category.getId()).orElseThrow().getDescription()).isEqualTo("After");
+    }
+    
+    @Test
+    void cancelOrder_ShouldEvictOnlyTheRestockedProducts() {
+        // Given
+        Category category = categoryRepository.save(new Category("L2 Restock Category", "Restocked products"));
+        Product ordered = saveProduct("L2-RESTOCK-ORDERED", category);
+        Product untouched = saveProduct("L2-RESTOCK-UNTOUCHED", category);
+        User user = userRepository.save(new User("l2-restock", "l2-restock@example.com", "Cache", "Tester"));
+        Order order = new Order("L2-RESTOCK-ORDER", user);
+        order.addOrderItem(new OrderItem(ordered, 2, ordered.getPrice()));
+        order = orderRepository.save(order);
+        productRepository.findById(untouched.getId());
+        Cache cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+        
+        // When
+        orderService.cancelOrder(order.getId());
+        
+        // Then
+        assertThat(cache.containsEntity(Product.class, untouched.getId())).isTrue();
+        assertThat(productRepository.findById(ordered.getId()).orElseThrow().getStockQuantity()).isEqualTo(7);
+    }
+    
+    private Product saveProduct(String sku, Category category) {
+        Product product = new Product("L2 Restock Product", "Restocked product", new BigDecimal("2.50"), 5);
+        product.setSku(sku);
+        product.setCategory(category);
+        return productRepository.save(product);
+    }
+}
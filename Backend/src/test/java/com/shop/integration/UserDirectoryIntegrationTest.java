@@ -0,0 +1,111 @@
+package com.shop.integration;
+
+import com.shop.dto.CursorPage;
+import com.shop.dto.UserDto;
+import com.shop.entity.User;
+import com.shop.repository.UserRepository;
+import com.shop.service.UserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class UserDirectoryIntegrationTest {
+    
+    @Autowired
+    private UserService userService;
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    private String suffix;
+    
+    @BeforeEach
+    void setUp() {
+        suffix = UUID.randomUUID().toString().substring(0, 8);
+        for (int i = 0; i < 5; i++) {
+            userRepository.save(new User("dir" + i + "_" + suffix, "dir" + i + "." + suffix + "@example.com", "Dora" + suffix, "Directory"));
+        }
+    }
+    
+    @Test
+    void findByKeyword_ShouldMatchFirstNameIgnoringCase() {
+        // When
+        Page<UserDto> result = userService.findByKeyword("DORA" + suffix.toUpperCase(), PageRequest.of(0, 2));
+        
+        // Then
+        assertThat(result.getTotalElements()).isEqualTo(5);
+        assertThat(result.getContent()).hasSize(2);
+    }
+    
+    @Test
+    void findByKeyword_WithShortKeyword_ShouldThrowException() {
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () -> userService.findByKeyword("do", PageRequest.of(0, 20)));
+    }
+    
+    @Test
+    void scrollByKeyword_ShouldWalkAllMatchesByCursor() {
+        // Given
+        List<Long> seen = new ArrayList<>();
+        Long cursor = null;
+        
+        // When
+        do {
+            CursorPage<UserDto> page = userService.scrollByKeyword(suffix, cursor, 2);
+            page.getContent().forEach(user -> seen.add(user.getId()));
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+        
+        // Then
+        assertThat(seen).hasSize(5).isSorted().doesNotHaveDuplicates();
+    }
+    
+    @Test
+    void findByEmail_ShouldIgnoreCase() {
+        // When
+        UserDto user = userService.findByEmail("DIR0." + suffix.toUpperCase() + "@EXAMPLE.COM");
+        
+        // Then
+        assertThat(user.getUsername()).isEqualTo("dir0_" + suffix);
+        assertThat(userService.existsByUsername("DIR0_" + suffix.toUpperCase())).isTrue();
+    }
+    
+    @Test
+    void update_WhenOnlyChangingCaseOfOwnUsernameAndEmail_ShouldSucceed() {
+        // Given
+        User user = userRepository.findByUsername("dir1_" + suffix).orElseThrow();
+        UserDto changes = new UserDto("DIR1_" + suffix, "DIR1." + suffix + "@example.com", "Dora" + suffix, "Directory");
+        
+        // When
+        UserDto updated = userService.update(user.getId(), changes);
+        
+        // Then
+        assertThat(updated.getUsername()).isEqualTo("DIR1_" + suffix);
+        assertThat(updated.getEmail()).isEqualTo("DIR1." + suffix + "@example.com");
+    }
+    
+    @Test
+    void update_WhenTakingAnotherUsersNameInOtherCase_ShouldThrowException() {
+        // Given
+        User user = userRepository.findByUsername("dir1_" + suffix).orElseThrow();
+        UserDto changes = new UserDto("DIR2_" + suffix, "dir1." + suffix + "@example.com", "Dora" + suffix, "Directory");
+        
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () -> userService.update(user.getId(), changes));
+    }
+}
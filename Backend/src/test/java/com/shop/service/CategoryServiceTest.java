@@ -31,6 +31,9 @@ class CategoryServiceTest {
     @Mock
     private CategoryMapper categoryMapper;
     
+    @Mock
+    private LowStockMonitor lowStockMonitor;
+    
     @InjectMocks
     private CategoryService categoryService;
     
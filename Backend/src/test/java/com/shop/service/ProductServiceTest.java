@@ -35,6 +35,12 @@ class ProductServiceTest {
     @Mock
     private ProductMapper productMapper;
     
+    @Mock
+    private LowStockMonitor lowStockMonitor;
+    
+    @Mock
+    private ProductSalesService productSalesService;
+    
     @InjectMocks
     private ProductService productService;
     
@@ -154,7 +160,7 @@ class ProductServiceTest {
     @Test
     void increaseStock_WhenProductExists_ShouldIncreaseStock() {
         // Given
-        when(productRepository.findById(1L)).thenReturn(Optional.of(product));
+        when(productRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(product));
         when(productRepository.save(product)).thenReturn(product);
         when(productMapper.toDto(product)).thenReturn(productDto);
         
@@ -170,7 +176,7 @@ class ProductServiceTest {
     @Test
     void decreaseStock_WhenSufficientStock_ShouldDecreaseStock() {
         // Given
-        when(productRepository.findById(1L)).thenReturn(Optional.of(product));
+        when(productRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(product));
         when(productRepository.save(product)).thenReturn(product);
         when(productMapper.toDto(product)).thenReturn(productDto);
         
@@ -181,16 +187,18 @@ class ProductServiceTest {
         assertThat(result).isNotNull();
         assertThat(product.getStockQuantity()).isEqualTo(7); // 10 - 3
         verify(productRepository).save(product);
+        verify(lowStockMonitor).stockChanged(product);
     }
     
     @Test
     void decreaseStock_WhenInsufficientStock_ShouldThrowException() {
         // Given
-        when(productRepository.findById(1L)).thenReturn(Optional.of(product));
+        when(productRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(product));
         
         // When & Then
         assertThatThrownBy(() -> productService.decreaseStock(1L, 15))
                 .isInstanceOf(IllegalArgumentException.class)
                 .hasMessage("Insufficient stock");
+        verifyNoInteractions(lowStockMonitor);
     }
 }
\ No newline at end of file
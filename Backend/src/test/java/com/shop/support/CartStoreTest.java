@@ -0,0 +1,109 @@
+package com.shop.support;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.task.TaskRejectedException;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CartStoreTest {
+    
+    private final AtomicLong now = new AtomicLong(1_000_000L);
+    
+    private final CartStore store = new CartStore(4, Duration.ofMinutes(10), 1_000, now::get);
+    
+    @Test
+    void get_ShouldRefreshExpiryOnAccess() {
+        // Given
+        Cart cart = store.create();
+        
+        // When
+        now.addAndGet(Duration.ofMinutes(8).toMillis());
+        store.get(cart.getId());
+        now.addAndGet(Duration.ofMinutes(8).toMillis());
+        
+        // Then
+        assertThat(store.get(cart.getId())).isPresent();
+    }
+    
+    @Test
+    void evictExpired_ShouldRemoveIdleCarts() {
+        // Given
+        Cart idle = store.create();
+        now.addAndGet(Duration.ofMinutes(6).toMillis());
+        Cart active = store.create();
+        
+        // When
+        now.addAndGet(Duration.ofMinutes(6).toMillis());
+        int evicted = store.evictExpired();
+        
+        // Then
+        assertThat(evicted).isEqualTo(1);
+        assertThat(store.get(idle.getId())).isEmpty();
+        assertThat(store.get(active.getId())).isPresent();
+    }
+    
+    @Test
+    void take_ShouldHandOutCartOnceUntilRestored() {
+        // Given
+        Cart cart = store.create();
+        
+        // When
+        Optional<Cart> first = store.take(cart.getId());
+        Optional<Cart> second = store.take(cart.getId());
+        store.restore(first.orElseThrow());
+        
+        // Then
+        assertThat(first).containsSame(cart);
+        assertThat(second).isEmpty();
+        assertThat(store.get(cart.getId())).containsSame(cart);
+    }
+    
+    @Test
+    void create_WhenShardFull_ShouldRejectUntilCartsExpire() {
+        // Given
+        CartStore limited = new CartStore(1, Duration.ofMinutes(10), 2, now::get);
+        limited.create();
+        limited.create();
+        
+        // When / Then
+        assertThatThrownBy(limited::create).isInstanceOf(TaskRejectedException.class);
+        now.addAndGet(Duration.ofMinutes(11).toMillis());
+        assertThat(limited.create()).isNotNull();
+        assertThat(limited.size()).isEqualTo(1);
+    }
+    
+    @Test
+    void snapshot_ShouldRoundTripLiveCarts(@TempDir Path dir) throws IOException {
+        // Given
+        ObjectMapper objectMapper = new ObjectMapper();
+        Cart cart = store.create();
+        cart.setItem(7L, "Widget", new BigDecimal("9.99"), 3);
+        Path file = dir.resolve("carts.json");
+        
+        // When
+        int written = store.writeSnapshot(file, objectMapper);
+        CartStore restoredStore = new CartStore(2, Duration.ofMinutes(10), 1_000, now::get);
+        int restored = restoredStore.readSnapshot(file, objectMapper);
+        
+        // Then
+        assertThat(written).isEqualTo(1);
+        assertThat(restored).isEqualTo(1);
+        Cart restoredCart = restoredStore.get(cart.getId()).orElseThrow();
+        assertThat(restoredCart.snapshotItems()).singleElement()
+                .satisfies(item -> {
+                    assertThat(item.getProductName()).isEqualTo("Widget");
+                    assertThat(item.getUnitPrice()).isEqualByComparingTo("9.99");
+                    assertThat(item.getQuantity()).isEqualTo(3);
+                });
+    }
+}
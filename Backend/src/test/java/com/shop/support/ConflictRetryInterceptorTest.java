@@ -0,0 +1,121 @@
+package com.shop.support;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.dao.OptimisticLockingFailureException;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ConflictRetryInterceptorTest {
+    
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    
+    private final List<Long> pauses = new ArrayList<>();
+    
+    @Test
+    void invoke_WhenConflictsStop_ShouldReturnResultOfLaterAttempt() {
+        // Given
+        ConflictingService service = proxy(new ConflictingService(2));
+        
+        // When
+        String result = service.write();
+        
+        // Then
+        assertThat(result).isEqualTo("written on attempt 3");
+        assertThat(pauses).hasSize(2).allSatisfy(pause -> assertThat(pause).isBetween(0L, 50L));
+        assertThat(meterRegistry.counter("service.retry.attempts", "method", "ConflictingService.write").count()).isEqualTo(2);
+        assertThat(meterRegistry.counter("service.retry.calls", "method", "ConflictingService.write", "outcome", "recovered").count())
+                .isEqualTo(1);
+    }
+    
+    @Test
+    void invoke_WhenAttemptsRunOut_ShouldRethrowConflict() {
+        // Given
+        ConflictingService target = new ConflictingService(Integer.MAX_VALUE);
+        ConflictingService service = proxy(target);
+        
+        // When
+        assertThrows(OptimisticLockingFailureException.class, service::write);
+        
+        // Then
+        assertThat(target.attempts).isEqualTo(4);
+        assertThat(meterRegistry.counter("service.retry.calls", "method", "ConflictingService.write", "outcome", "exhausted").count())
+                .isEqualTo(1);
+    }
+    
+    @Test
+    void invoke_WhenBudgetIsUsedUp_ShouldFailWithoutFurtherRetries() {
+        // Given
+        ConflictingService target = new ConflictingService(Integer.MAX_VALUE);
+        ConflictingService service = proxy(target);
+        
+        // When
+        assertThrows(OptimisticLockingFailureException.class, service::writeWithSmallBudget);
+        assertThrows(OptimisticLockingFailureException.class, service::writeWithSmallBudget);
+        
+        // Then
+        assertThat(target.attempts).isEqualTo(4);
+        assertThat(meterRegistry.counter("service.retry.calls", "method", "ConflictingService.writeWithSmallBudget",
+                "outcome", "budget-exhausted").count()).isEqualTo(2);
+    }
+    
+    @Test
+    void invoke_WhenOtherFailure_ShouldNotRetry() {
+        // Given
+        ConflictingService target = new ConflictingService(0);
+        ConflictingService service = proxy(target);
+        
+        // When
+        assertThrows(IllegalArgumentException.class, service::reject);
+        
+        // Then
+        assertThat(target.attempts).isEqualTo(1);
+        assertThat(pauses).isEmpty();
+    }
+    
+    private ConflictingService proxy(ConflictingService target) {
+        ProxyFactory proxyFactory = new ProxyFactory(target);
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAdvisor(new DefaultPointcutAdvisor(AnnotationMatchingPointcut.forMethodAnnotation(RetryOnConflict.class),
+                new ConflictRetryInterceptor(() -> meterRegistry, pauses::add)));
+        return (ConflictingService) proxyFactory.getProxy();
+    }
+    
+    static class ConflictingService {
+        
+        private final int conflicts;
+        private int attempts;
+        
+        ConflictingService(int conflicts) {
+            this.conflicts = conflicts;
+        }
+        
+        @RetryOnConflict(backoffMillis = 20, maxBackoffMillis = 50)
+        public String write() {
+            attempts++;
+            if (attempts <= conflicts) {
+                throw new OptimisticLockingFailureException("Row was updated by another transaction");
+            }
+            return "written on attempt " + attempts;
+        }
+        
+        @RetryOnConflict(retriesPerSecond = 2)
+        public String writeWithSmallBudget() {
+            return write();
+        }
+        
+        @RetryOnConflict
+        public String reject() {
+            attempts++;
+            throw new IllegalArgumentException("Insufficient stock");
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.shop.support;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InvalidationBatcherTest {
+    
+    @Test
+    void drain_ShouldSendEachEntityOnceWithItsLatestVersion() {
+        // Given
+        InvalidationBatcher batcher = new InvalidationBatcher(100);
+        batcher.add(new Invalidation("product", 1L, 3L, false));
+        batcher.add(new Invalidation("product", 1L, 5L, false));
+        batcher.add(new Invalidation("product", 1L, 4L, false));
+        batcher.add(new Invalidation("category", 1L, 2L, false));
+        
+        // When
+        List<List<Invalidation>> batches = batcher.drain();
+        
+        // Then
+        assertThat(batches).containsExactly(List.of(
+                new Invalidation("product", 1L, 5L, false),
+                new Invalidation("category", 1L, 2L, false)));
+        assertThat(batcher.pendingCount()).isZero();
+    }
+    
+    @Test
+    void drain_ShouldKeepRemovalsAndUnversionedChanges() {
+        // Given
+        InvalidationBatcher batcher = new InvalidationBatcher(100);
+        batcher.add(new Invalidation("product", 1L, 3L, false));
+        batcher.add(new Invalidation("product", 1L, null, false));
+        batcher.add(new Invalidation("product", 2L, 7L, true));
+        batcher.add(new Invalidation("product", 2L, 8L, false));
+        
+        // When
+        List<List<Invalidation>> batches = batcher.drain();
+        
+        // Then
+        assertThat(batches).containsExactly(List.of(
+                new Invalidation("product", 1L, null, false),
+                new Invalidation("product", 2L, 8L, true)));
+    }
+    
+    @Test
+    void drain_ShouldSplitIntoBatchesOfMaxBatchSize() {
+        // Given
+        InvalidationBatcher batcher = new InvalidationBatcher(2);
+        for (long id = 1; id <= 5; id++) {
+            batcher.add(new Invalidation("product", id, 0L, false));
+        }
+        
+        // When
+        List<List<Invalidation>> batches = batcher.drain();
+        
+        // Then
+        assertThat(batches).extracting(List::size).containsExactly(2, 2, 1);
+        assertThat(batcher.drain()).isEmpty();
+    }
+}
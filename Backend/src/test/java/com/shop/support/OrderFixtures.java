@@ -0,0 +1,109 @@
+package com.shop.support;
+
+import com.shop.entity.Category;
+import com.shop.entity.Order;
+import com.shop.entity.OrderItem;
+import com.shop.entity.Product;
+import com.shop.entity.User;
+import com.shop.repository.CategoryRepository;
+import com.shop.repository.OrderRepository;
+import com.shop.repository.ProductRepository;
+import com.shop.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.TestComponent;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Locale;
+import java.util.UUID;
+
+/**
+ * Creates the user, category and product most order tests start from. Names
+ * carry a random suffix, so tests sharing an application context and its
+ * database never collide. Import it with {@code @Import(OrderFixtures.class)}.
+ */
+@TestComponent
+public class OrderFixtures {
+    
+    private final UserRepository userRepository;
+    private final CategoryRepository categoryRepository;
+    private final ProductRepository productRepository;
+    private final OrderRepository orderRepository;
+    
+    @Autowired
+    public OrderFixtures(UserRepository userRepository,
+                         CategoryRepository categoryRepository,
+                         ProductRepository productRepository,
+                         OrderRepository orderRepository) {
+        this.userRepository = userRepository;
+        this.categoryRepository = categoryRepository;
+        this.productRepository = productRepository;
+        this.orderRepository = orderRepository;
+    }
+    
+    /**
+     * @param name  names the user, category and product, e.g. "Bulk" gives the
+     *              user {@code bulk-<suffix>} and the SKU {@code BULK-<suffix>}
+     * @param price the product's price
+     * @param stock the product's stock quantity
+     */
+    public Fixture create(String name, String price, int stock) {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        String username = name.toLowerCase(Locale.ROOT) + "-" + suffix;
+        
+        User user = new User(username, username + "@example.com", name, "Tester");
+        user.setKeycloakId("kc-" + username);
+        user = userRepository.save(user);
+        
+        Category category = categoryRepository.save(new Category(name + " " + suffix, name + " tests"));
+        Product product = new Product(name + " Product", name + " product", new BigDecimal(price), stock);
+        product.setSku(name.toUpperCase(Locale.ROOT) + "-" + suffix);
+        product.setCategory(category);
+        product = productRepository.save(product);
+        
+        return new Fixture(name.toUpperCase(Locale.ROOT), user, category, product);
+    }
+    
+    public final class Fixture {
+        
+        private final String orderPrefix;
+        private final User user;
+        private final Category category;
+        private final Product product;
+        
+        private Fixture(String orderPrefix, User user, Category category, Product product) {
+            this.orderPrefix = orderPrefix;
+            this.user = user;
+            this.category = category;
+            this.product = product;
+        }
+        
+        public User user() {
+            return user;
+        }
+        
+        public Category category() {
+            return category;
+        }
+        
+        public Product product() {
+            return product;
+        }
+        
+        /**
+         * Saves an order of {@code quantity} units of the product straight to
+         * the repository, bypassing the stock checks of the order service.
+         */
+        public Order createOrder(Order.OrderStatus status, int quantity) {
+            return createOrder(status, LocalDateTime.now(), quantity);
+        }
+        
+        public Order createOrder(Order.OrderStatus status, LocalDateTime orderDate, int quantity) {
+            Order order = new Order(orderPrefix + "-" + UUID.randomUUID(), user);
+            order.setStatus(status);
+            order.setOrderDate(orderDate);
+            order.addOrderItem(new OrderItem(product, quantity, product.getPrice()));
+            return orderRepository.save(order);
+        }
+    }
+}
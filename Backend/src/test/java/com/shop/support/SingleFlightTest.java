@@ -0,0 +1,138 @@
+package com.shop.support;
+
+import com.shop.exception.ResourceNotFoundException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class SingleFlightTest {
+    
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    
+    private final ExecutorService executor = Executors.newFixedThreadPool(8);
+    
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+    
+    @Test
+    void execute_ShouldShareOneLoadBetweenConcurrentCallers() throws Exception {
+        // Given
+        SingleFlight<Long, String> singleFlight = new SingleFlight<>("test", Duration.ofSeconds(10), meterRegistry);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger loads = new AtomicInteger();
+        
+        // When
+        List<Future<String>> results = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            results.add(executor.submit(() -> singleFlight.execute(1L, () -> {
+                loads.incrementAndGet();
+                await(release);
+                return "product-1";
+            })));
+        }
+        awaitCount("coalesced", 7);
+        release.countDown();
+        
+        // Then
+        for (Future<String> result : results) {
+            assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo("product-1");
+        }
+        assertThat(loads).hasValue(1);
+        assertThat(count("leader")).isEqualTo(1);
+    }
+    
+    @Test
+    void execute_ShouldShareLoaderExceptionWithWaitingCallers() throws Exception {
+        // Given
+        SingleFlight<Long, String> singleFlight = new SingleFlight<>("test", Duration.ofSeconds(10), meterRegistry);
+        CountDownLatch release = new CountDownLatch(1);
+        
+        // When
+        Future<String> leader = executor.submit(() -> singleFlight.execute(1L, () -> {
+            await(release);
+            throw new ResourceNotFoundException("Product not found with id: 1");
+        }));
+        awaitCount("leader", 1);
+        Future<String> follower = executor.submit(() -> singleFlight.execute(1L, () -> "unused"));
+        awaitCount("coalesced", 1);
+        release.countDown();
+        
+        // Then
+        ExecutionException leaderError = assertThrows(ExecutionException.class, () -> leader.get(5, TimeUnit.SECONDS));
+        ExecutionException followerError = assertThrows(ExecutionException.class, () -> follower.get(5, TimeUnit.SECONDS));
+        assertThat(leaderError.getCause()).isInstanceOf(ResourceNotFoundException.class);
+        assertThat(followerError.getCause()).isSameAs(leaderError.getCause());
+    }
+    
+    @Test
+    void execute_WhenLeaderIsSlowerThanTimeout_ShouldLoadIndependently() throws Exception {
+        // Given
+        SingleFlight<Long, String> singleFlight = new SingleFlight<>("test", Duration.ofMillis(50), meterRegistry);
+        CountDownLatch release = new CountDownLatch(1);
+        executor.submit(() -> singleFlight.execute(1L, () -> {
+            await(release);
+            return "slow";
+        }));
+        awaitCount("leader", 1);
+        
+        // When
+        String result = singleFlight.execute(1L, () -> "fresh");
+        release.countDown();
+        
+        // Then
+        assertThat(result).isEqualTo("fresh");
+        assertThat(count("timeout")).isEqualTo(1);
+    }
+    
+    @Test
+    void execute_AfterLoadCompletes_ShouldLoadAgain() {
+        // Given
+        SingleFlight<Long, Integer> singleFlight = new SingleFlight<>("test", Duration.ofSeconds(1), meterRegistry);
+        AtomicInteger loads = new AtomicInteger();
+        
+        // When
+        singleFlight.execute(1L, loads::incrementAndGet);
+        Integer second = singleFlight.execute(1L, loads::incrementAndGet);
+        
+        // Then
+        assertThat(second).isEqualTo(2);
+        assertThat(count("leader")).isEqualTo(2);
+    }
+    
+    private double count(String outcome) {
+        return meterRegistry.counter("singleflight.calls", "name", "test", "outcome", outcome).count();
+    }
+    
+    private void awaitCount(String outcome, int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (count(outcome) < expected && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertThat(count(outcome)).isEqualTo(expected);
+    }
+    
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.shop.support;
+
+import com.shop.filter.SqlBudgetFilter;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultMatcher;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * MockMvc matchers asserting the SQL budget of an endpoint, e.g.
+ * {@code mockMvc.perform(get("/api/categories")).andExpect(maxQueries(1))}.
+ * Requires the {@link SqlBudgetFilter} in the MockMvc filter chain, which
+ * {@code @AutoConfigureMockMvc} provides. Only SQL run on the request thread
+ * is counted: reports on the reporting executor and streamed responses
+ * written on the streaming executor fall outside the budget, so these
+ * matchers cannot vouch for such endpoints.
+ */
+public final class SqlBudgetMatchers {
+    
+    private SqlBudgetMatchers() {}
+    
+    public static ResultMatcher maxQueries(int maxQueries) {
+        return result -> {
+            SqlStatistics statistics = statistics(result);
+            assertTrue(statistics.getQueryCount() <= maxQueries,
+                    () -> "Expected at most " + maxQueries + " SQL statements but got " + statistics);
+        };
+    }
+    
+    public static ResultMatcher maxSqlTime(Duration maxTime) {
+        return result -> {
+            SqlStatistics statistics = statistics(result);
+            assertTrue(statistics.getTotalTime().compareTo(maxTime) <= 0,
+                    () -> "Expected at most " + maxTime.toMillis() + " ms of SQL but got " + statistics);
+        };
+    }
+    
+    private static SqlStatistics statistics(MvcResult result) {
+        SqlStatistics statistics = (SqlStatistics) result.getRequest().getAttribute(SqlBudgetFilter.STATISTICS_ATTRIBUTE);
+        assertNotNull(statistics, "No SQL statistics recorded; is SqlBudgetFilter in the filter chain?");
+        return statistics;
+    }
+}
@@ -0,0 +1,145 @@
+package com.shop.support;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class SseHubTest {
+    
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    
+    // Collects delivery tasks without running them, like a client that stopped reading
+    private final List<Runnable> pendingDeliveries = new ArrayList<>();
+    private final Executor stalledExecutor = pendingDeliveries::add;
+    
+    @Test
+    void publish_WhenBufferIsFull_ShouldEvictOnlyTheSlowSubscriber() {
+        // Given
+        SseHub hub = newHub(2, 10);
+        hub.subscribe(List.of("order:1"), List::of);
+        hub.subscribe(List.of("order:2"), List::of);
+        
+        // When
+        for (int i = 0; i < 3; i++) {
+            hub.publish("order:1", "order-status", "CONFIRMED");
+        }
+        
+        // Then
+        assertThat(hub.subscriberCount()).isEqualTo(1);
+        assertThat(meterRegistry.counter("sse.evictions", "reason", "slow-consumer").count()).isEqualTo(1);
+    }
+    
+    @Test
+    void publish_WhenWriteStalls_ShouldEvictStalledSubscriberAndKeepDelivering() throws Exception {
+        // Given: one delivery thread, which a stalled write would otherwise block
+        ExecutorService deliveryExecutor = Executors.newSingleThreadExecutor();
+        ExecutorService sendExecutor = Executors.newCachedThreadPool();
+        CountDownLatch unblock = new CountDownLatch(1);
+        CountDownLatch delivered = new CountDownLatch(1);
+        SseEmitter[] stalled = new SseEmitter[1];
+        SseHub hub = new SseHub(deliveryExecutor, sendExecutor, Duration.ofMillis(100), new ObjectMapper(),
+                10, 10, Duration.ofMinutes(1), meterRegistry) {
+            @Override
+            void write(SseEmitter emitter, Event event) {
+                if (emitter == stalled[0]) {
+                    awaitQuietly(unblock);
+                } else {
+                    delivered.countDown();
+                }
+            }
+        };
+        stalled[0] = hub.subscribe(List.of("order:1"), List::of);
+        hub.subscribe(List.of("order:2"), List::of);
+        
+        try {
+            // When
+            hub.publish("order:1", "order-status", "CONFIRMED");
+            hub.publish("order:2", "order-status", "CONFIRMED");
+            
+            // Then
+            assertThat(delivered.await(5, TimeUnit.SECONDS)).isTrue();
+            assertThat(hub.subscriberCount()).isEqualTo(1);
+            assertThat(meterRegistry.counter("sse.evictions", "reason", "send-stalled").count()).isEqualTo(1);
+        } finally {
+            unblock.countDown();
+            deliveryExecutor.shutdownNow();
+            sendExecutor.shutdownNow();
+        }
+    }
+    
+    @Test
+    void publish_ShouldScheduleOneDeliveryPerSubscriberWithPendingEvents() {
+        // Given
+        SseHub hub = newHub(10, 10);
+        hub.subscribe(List.of("product:1", "products"), List::of);
+        hub.subscribe(List.of("products"), List::of);
+        
+        // When
+        hub.publish(List.of("product:1", "products"), "stock", 5);
+        hub.publish(List.of("product:1", "products"), "stock", 4);
+        
+        // Then
+        assertThat(pendingDeliveries).hasSize(2);
+    }
+    
+    @Test
+    void publish_WithoutSubscribers_ShouldNotSerializeEvent() {
+        // Given
+        SseHub hub = newHub(10, 10);
+        
+        // When & Then
+        assertDoesNotThrow(() -> hub.publish("order:1", "order-status", new Object()));
+    }
+    
+    @Test
+    void subscribe_BeyondMaxSubscribers_ShouldBeRejected() {
+        // Given
+        SseHub hub = newHub(10, 1);
+        hub.subscribe(List.of("orders"), List::of);
+        
+        // When & Then
+        assertThrows(TaskRejectedException.class, () -> hub.subscribe(List.of("orders"), List::of));
+        assertThat(hub.subscriberCount()).isEqualTo(1);
+    }
+    
+    @Test
+    void subscribe_WhenInitialEventsFail_ShouldNotKeepSubscriber() {
+        // Given
+        SseHub hub = newHub(10, 10);
+        
+        // When & Then
+        assertThrows(IllegalStateException.class, () -> hub.subscribe(List.of("order:1"), () -> {
+            throw new IllegalStateException("Order not found");
+        }));
+        assertThat(hub.subscriberCount()).isZero();
+    }
+    
+    private SseHub newHub(int bufferSize, int maxSubscribers) {
+        return new SseHub(stalledExecutor, Runnable::run, Duration.ofSeconds(1), new ObjectMapper(),
+                bufferSize, maxSubscribers, Duration.ofMinutes(1), meterRegistry);
+    }
+    
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.shop.support;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenBucketLimiterTest {
+    
+    private final AtomicLong now = new AtomicLong(1_000_000_000L);
+    
+    private final TokenBucketLimiter limiter = new TokenBucketLimiter(10, 2, now::get);
+    
+    @Test
+    void tryAcquire_ShouldAllowBurstUpToCapacity() {
+        // When
+        long first = limiter.tryAcquire("client", 6);
+        long second = limiter.tryAcquire("client", 4);
+        long third = limiter.tryAcquire("client", 1);
+        
+        // Then
+        assertThat(first).isZero();
+        assertThat(second).isZero();
+        assertThat(third).isEqualTo(500_000_000L);
+    }
+    
+    @Test
+    void tryAcquire_ShouldRefillOverTime() {
+        // Given
+        limiter.tryAcquire("client", 10);
+        
+        // When
+        now.addAndGet(1_000_000_000L);
+        
+        // Then
+        assertThat(limiter.tryAcquire("client", 2)).isZero();
+        assertThat(limiter.tryAcquire("client", 1)).isPositive();
+    }
+    
+    @Test
+    void tryAcquire_ShouldKeepClientsSeparate() {
+        // Given
+        limiter.tryAcquire("scraper", 10);
+        
+        // When & Then
+        assertThat(limiter.tryAcquire("scraper", 1)).isPositive();
+        assertThat(limiter.tryAcquire("customer", 1)).isZero();
+    }
+    
+    @Test
+    void evictIdle_ShouldDropFullBuckets() {
+        // Given
+        limiter.tryAcquire("idle", 1);
+        limiter.tryAcquire("busy", 10);
+        
+        // When
+        now.addAndGet(1_000_000_000L);
+        limiter.evictIdle();
+        
+        // Then
+        assertThat(limiter.size()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,66 @@
+package com.shop.support;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class VersionStampsTest {
+    
+    @Test
+    void advance_ShouldIgnoreOutOfOrderAndRepeatedVersions() {
+        // Given
+        VersionStamps stamps = new VersionStamps(100);
+        
+        // When
+        boolean newer = stamps.advance(new Invalidation("product", 1L, 5L, false));
+        boolean older = stamps.advance(new Invalidation("product", 1L, 4L, false));
+        boolean repeated = stamps.advance(new Invalidation("product", 1L, 5L, false));
+        boolean otherType = stamps.advance(new Invalidation("category", 1L, 1L, false));
+        
+        // Then
+        assertThat(newer).isTrue();
+        assertThat(older).isFalse();
+        assertThat(repeated).isFalse();
+        assertThat(otherType).isTrue();
+    }
+    
+    @Test
+    void advance_ShouldAlwaysApplyUnversionedChanges() {
+        // Given
+        VersionStamps stamps = new VersionStamps(100);
+        stamps.advance(new Invalidation("product", 1L, 5L, false));
+        
+        // When & Then
+        assertThat(stamps.advance(new Invalidation("product", 1L, null, false))).isTrue();
+        assertThat(stamps.advance(new Invalidation("product", 1L, null, false))).isTrue();
+    }
+    
+    @Test
+    void advance_ShouldIgnoreEverythingAfterRemoval() {
+        // Given
+        VersionStamps stamps = new VersionStamps(100);
+        
+        // When
+        boolean removed = stamps.advance(new Invalidation("product", 1L, 5L, true));
+        boolean lateUpdate = stamps.advance(new Invalidation("product", 1L, 6L, false));
+        boolean lateBulkUpdate = stamps.advance(new Invalidation("product", 1L, null, false));
+        
+        // Then
+        assertThat(removed).isTrue();
+        assertThat(lateUpdate).isFalse();
+        assertThat(lateBulkUpdate).isFalse();
+    }
+    
+    @Test
+    void advance_ShouldForgetLeastRecentlyStampedEntities() {
+        // Given
+        VersionStamps stamps = new VersionStamps(2);
+        stamps.advance(new Invalidation("product", 1L, 5L, false));
+        stamps.advance(new Invalidation("product", 2L, 5L, false));
+        stamps.advance(new Invalidation("product", 3L, 5L, false));
+        
+        // When & Then
+        assertThat(stamps.advance(new Invalidation("product", 1L, 5L, false))).isTrue();
+        assertThat(stamps.advance(new Invalidation("product", 3L, 5L, false))).isFalse();
+    }
+}